@@ -0,0 +1,101 @@
+package com.murauyou.pagination.benchmarks;
+
+import com.murauyou.pagination.KeysetRequest;
+import com.murauyou.pagination.PageTokenCodec;
+import com.murauyou.pagination.Pagination;
+import com.murauyou.pagination.Paginations;
+import com.murauyou.pagination.SortDirection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page token encoding and per-request parsing, compared to parsing plain page number and page size parameters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PageTokenBenchmark {
+    private PageTokenCodec codec;
+    private Pagination pagination;
+    private Pagination keysetPagination;
+    private String token;
+    private String keysetToken;
+    private String query;
+    private int tokenStart;
+    private ByteBuffer tokenBytes;
+    private ByteBuffer output;
+    private String plainQuery;
+
+    @Setup
+    public void setUp() {
+        codec = PageTokenCodec.ofKey(new byte[]{3, 1, 4, 1, 5, 9, 2, 6, 5, 3, 5, 8, 9, 7, 9, 3});
+        pagination = Paginations.ofOffsetAndLimit(1_250, 25);
+        keysetPagination = KeysetRequest.after(Arrays.asList("createdAt", "id"), SortDirection.DESCENDING,
+                Arrays.asList(1_760_000_000_000L, 1_234_567L), 1_250, 25);
+        token = codec.encode(pagination);
+        keysetToken = codec.encode(keysetPagination);
+        query = "sort=name&page=" + token;
+        tokenStart = query.indexOf("page=") + 5;
+        tokenBytes = ByteBuffer.wrap(token.getBytes(StandardCharsets.US_ASCII));
+        output = ByteBuffer.allocate(64);
+        plainQuery = "sort=name&page=51&size=25";
+    }
+
+    @Benchmark
+    public String encode() {
+        return codec.encode(pagination);
+    }
+
+    @Benchmark
+    public int encodeToBuffer() {
+        output.clear();
+        return codec.encode(pagination, output);
+    }
+
+    @Benchmark
+    public Pagination decode() {
+        return codec.decode(token);
+    }
+
+    @Benchmark
+    public Pagination decodeFromQuery() {
+        return codec.decode(query, tokenStart, query.length());
+    }
+
+    @Benchmark
+    public Pagination decodeFromBuffer() {
+        return codec.decode(tokenBytes);
+    }
+
+    @Benchmark
+    public Pagination decodeKeyset() {
+        return codec.decode(keysetToken);
+    }
+
+    /**
+     * Plain parameters parsed the usual way, substrings and Integer.parseInt, without any integrity check
+     */
+    @Benchmark
+    public Pagination parsePlainParameters() {
+        int page = plainQuery.indexOf("page=") + 5;
+        int size = plainQuery.indexOf("size=") + 5;
+        return Paginations.ofPageNumberAndPageSize(Integer.parseInt(plainQuery.substring(page, plainQuery.indexOf('&', page))),
+                Integer.parseInt(plainQuery.substring(size)));
+    }
+}
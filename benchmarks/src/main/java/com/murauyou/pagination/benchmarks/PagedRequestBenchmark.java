@@ -0,0 +1,74 @@
+package com.murauyou.pagination.benchmarks;
+
+import com.murauyou.pagination.Pagination;
+import com.murauyou.pagination.Paginations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pagination object factories, navigation and string conversion.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PagedRequestBenchmark {
+    private static final int PAGES = 100;
+
+    private int offset;
+    private int limit;
+    private int pageNumber;
+    private Pagination pagination;
+
+    @Setup
+    public void setUp() {
+        offset = 1_250;
+        limit = 25;
+        pageNumber = 51;
+        pagination = Paginations.ofOffsetAndLimit(offset, limit);
+    }
+
+    @Benchmark
+    public Pagination ofOffsetAndLimit() {
+        return Paginations.ofOffsetAndLimit(offset, limit);
+    }
+
+    @Benchmark
+    public Pagination ofPageNumberAndPageSize() {
+        return Paginations.ofPageNumberAndPageSize(pageNumber, limit);
+    }
+
+    /**
+     * Walks {@value #PAGES} pages forward, one allocation per step
+     */
+    @Benchmark
+    public Pagination getNextChurn() {
+        Pagination current = Paginations.fromStartWithLimit(limit);
+        for (int i = 0; i < PAGES; i++) {
+            current = current.getNext();
+        }
+        return current;
+    }
+
+    @Benchmark
+    public int getPageNumber() {
+        return pagination.getPageNumber();
+    }
+
+    @Benchmark
+    public String toStringConversion() {
+        return pagination.toString();
+    }
+}
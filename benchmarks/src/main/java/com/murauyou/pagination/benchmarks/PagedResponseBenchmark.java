@@ -0,0 +1,86 @@
+package com.murauyou.pagination.benchmarks;
+
+import com.murauyou.pagination.Pagination;
+import com.murauyou.pagination.Paginations;
+import com.murauyou.pagination.ResponsePage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response page construction over different source lists and offset translated element access.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PagedResponseBenchmark {
+    private static final int OFFSET = 10_000;
+    private static final int LIMIT = 50;
+
+    @Param({"ArrayList", "LinkedList"})
+    public String sourceType;
+
+    @Param({"50", "100000"})
+    public int sourceSize;
+
+    private List<String> source;
+    private Pagination pagination;
+    private ResponsePage<String> page;
+    private String lastElement;
+
+    @Setup
+    public void setUp() {
+        source = "LinkedList".equals(sourceType) ? new LinkedList<String>() : new ArrayList<String>(sourceSize);
+        for (int i = 0; i < sourceSize; i++) {
+            source.add("element-" + i);
+        }
+        pagination = Paginations.ofOffsetAndLimit(OFFSET, LIMIT);
+        page = Paginations.ofResponsePage(source, pagination);
+        lastElement = source.get(LIMIT - 1);
+    }
+
+    @Benchmark
+    public ResponsePage<String> constructCompact() {
+        return Paginations.ofResponsePage(source, pagination);
+    }
+
+    @Benchmark
+    public ResponsePage<String> constructView() {
+        return Paginations.ofResponsePageView(source, pagination);
+    }
+
+    @Benchmark
+    public int getAll() {
+        int hash = 0;
+        for (int index = OFFSET; index < OFFSET + page.size(); index++) {
+            hash += page.get(index).hashCode();
+        }
+        return hash;
+    }
+
+    @Benchmark
+    public int indexOf() {
+        return page.indexOf(lastElement);
+    }
+
+    @Benchmark
+    public List<String> subList() {
+        return page.subList(OFFSET + 10, OFFSET + 20);
+    }
+}
@@ -0,0 +1,178 @@
+package com.murauyou.pagination;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Iterator over pages of a page source adjusting the limit between pages to keep page fetch latency, and optionally
+ * page size in bytes, within a target. Limit is adjusted AIMD way: page over the target halves the next limit, or
+ * shrinks it to the projected fit when that is smaller, page within the target grows it by a quarter of the initial
+ * limit as long as the grown page is projected to stay within the target, limit always stays within min and max
+ * bounds. Pages are contiguous - next offset is the previous offset plus the previous limit - so no elements are
+ * skipped or repeated whatever the limits are. Pages are fetched sequentially in the calling thread, so each latency
+ * sample is the fetch alone. Iteration stops on an empty page, a page shorter than its limit or a page reaching
+ * total size. Keyset pagination from start keeps its sort keys and direction on every page. Iterator is not thread
+ * safe.
+ */
+public class AdaptivePageIterator<E> implements Iterator<ResponsePage<E>> {
+    private final PageSource<E> source;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int increment;
+    private final long targetLatencyNanos;
+    private final long maxPageBytes;
+    private final ToLongFunction<? super E> weigher;
+    private final LongSupplier clock;
+    private final Pagination first;
+    private Pagination next;
+    private ResponsePage<E> ready;
+
+    protected AdaptivePageIterator(PageSource<E> source, Pagination first, int minLimit, int maxLimit, long targetLatencyNanos,
+                                   long maxPageBytes, ToLongFunction<? super E> weigher, LongSupplier clock) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (first == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (first instanceof KeysetPagination && !((KeysetPagination) first).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Adaptive iterator can't seek by keyset");
+        }
+        if (minLimit < 1) {
+            throw new IllegalArgumentException("Min limit can't be less than 1.");
+        }
+        if (maxLimit < minLimit) {
+            throw new IllegalArgumentException("Max limit can't be less than min limit.");
+        }
+        if (targetLatencyNanos < 1) {
+            throw new IllegalArgumentException("Target latency can't be less than 1 nanosecond.");
+        }
+        if (weigher != null && maxPageBytes < 1) {
+            throw new IllegalArgumentException("Max page bytes can't be less than 1.");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+
+        int limit = Math.max(minLimit, Math.min(maxLimit, first.getLimit()));
+        this.source = source;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.increment = Math.max(1, limit / 4);
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.maxPageBytes = maxPageBytes;
+        this.weigher = weigher;
+        this.clock = clock;
+        this.first = first;
+        this.next = KeysetRequest.atOffset(first, first.getLongOffset(), limit);
+    }
+
+    /**
+     * Returns whether one more non-empty page is available. Fetches the page
+     *
+     * @return true when next page is available
+     * @throws PageFetchException when page fetch failed
+     */
+    @Override
+    public boolean hasNext() {
+        if (ready == null && next != null) {
+            Pagination pagination = next;
+            next = null;
+
+            long start = clock.getAsLong();
+            ResponsePage<E> page = source.fetch(pagination);
+            long latency = clock.getAsLong() - start;
+
+            if (!page.isEmpty()) {
+                ready = page;
+                if (!Paginations.isLastPage(page)) {
+                    int limit = adjust(pagination.getLimit(), latency, weight(page));
+                    next = KeysetRequest.atOffset(first, pagination.getLongOffset() + pagination.getLimit(), limit);
+                }
+            }
+        }
+
+        return ready != null;
+    }
+
+    @Override
+    public ResponsePage<E> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        ResponsePage<E> page = ready;
+        ready = null;
+        return page;
+    }
+
+    /**
+     * Returns limit the next page will be fetched with
+     *
+     * @return next page limit or 0 when iteration is over
+     */
+    public int getLimit() {
+        return next != null ? next.getLimit() : 0;
+    }
+
+    private int adjust(int limit, long latency, long bytes) {
+        if (latency > targetLatencyNanos || (weigher != null && bytes > maxPageBytes)) {
+            // Far overshoot shrinks the limit to what is projected to fit right away instead of halving repeatedly
+            double fit = Math.min((double) targetLatencyNanos / latency, weigher == null || bytes == 0 ? 1 : (double) maxPageBytes / bytes);
+            return (int) Math.max(minLimit, Math.min(limit / 2, (long) (limit * fit)));
+        }
+
+        int grown = (int) Math.min(maxLimit, (long) limit + increment);
+        // Cost is assumed to be linear in limit, growing stops short of the target instead of overshooting it
+        boolean latencyFits = (double) latency * grown / limit <= targetLatencyNanos;
+        boolean bytesFit = weigher == null || (double) bytes * grown / limit <= maxPageBytes;
+        return latencyFits && bytesFit ? grown : limit;
+    }
+
+    private long weight(ResponsePage<E> page) {
+        if (weigher == null) {
+            return 0;
+        }
+
+        long bytes = 0;
+        for (E element : page.getPage()) {
+            bytes += weigher.applyAsLong(element);
+        }
+        return bytes;
+    }
+
+    /**
+     * Iterates pages keeping page fetch latency within the target
+     *
+     * @param source page source
+     * @param first pagination of the first page, its limit is the initial limit
+     * @param minLimit min page limit
+     * @param maxLimit max page limit
+     * @param targetLatency target page fetch latency
+     * @param unit target latency unit
+     * @return adaptive page iterator
+     */
+    public static <E> AdaptivePageIterator<E> ofTargetLatency(PageSource<E> source, Pagination first, int minLimit, int maxLimit,
+                                                              long targetLatency, TimeUnit unit) {
+        return new AdaptivePageIterator<E>(source, first, minLimit, maxLimit, unit.toNanos(targetLatency), 0, null, NanoClock.SYSTEM);
+    }
+
+    /**
+     * Iterates pages keeping both page fetch latency and page size in bytes within the targets
+     *
+     * @param maxPageBytes max page size in bytes
+     * @param weigher function estimating element size in bytes
+     * @see #ofTargetLatency(PageSource, Pagination, int, int, long, TimeUnit)
+     */
+    public static <E> AdaptivePageIterator<E> ofTargetLatencyAndMaxPageBytes(PageSource<E> source, Pagination first, int minLimit, int maxLimit,
+                                                                             long targetLatency, TimeUnit unit,
+                                                                             long maxPageBytes, ToLongFunction<? super E> weigher) {
+        if (weigher == null) {
+            throw new IllegalArgumentException("Weigher cannot be null");
+        }
+        return new AdaptivePageIterator<E>(source, first, minLimit, maxLimit, unit.toNanos(targetLatency), maxPageBytes, weigher, NanoClock.SYSTEM);
+    }
+}
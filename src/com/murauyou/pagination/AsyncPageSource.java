@@ -0,0 +1,20 @@
+package com.murauyou.pagination;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link PageSource}: fetch returns right away and completes the stage once the page
+ * is available, so event loop threads aren't parked while pages are fetched.
+ */
+public interface AsyncPageSource<E> {
+
+    /**
+     * Starts fetching response page for the specified pagination
+     *
+     * @param pagination pagination of the page to fetch
+     * @return stage completed with response page or exceptionally with {@link PageFetchException} when page
+     * can't be fetched
+     */
+    CompletionStage<ResponsePage<E>> fetchAsync(Pagination pagination);
+
+}
@@ -0,0 +1,259 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Navigation, combinators and bridges to the blocking API for {@link AsyncPageSource}.
+ */
+public final class AsyncPageSources {
+
+    private AsyncPageSources() {
+    }
+
+    /**
+     * Adapts blocking page source running its fetches on the executor
+     *
+     * @param source blocking page source
+     * @param executor executor to block in
+     * @return asynchronous page source
+     */
+    public static <E> AsyncPageSource<E> fromBlocking(final PageSource<E> source, final Executor executor) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+
+        return new AsyncPageSource<E>() {
+            @Override
+            public CompletionStage<ResponsePage<E>> fetchAsync(Pagination pagination) {
+                return PageFutures.fetchAsync(source, pagination, executor);
+            }
+        };
+    }
+
+    public static <E> AsyncPageSource<E> fromBlocking(PageSource<E> source) {
+        return fromBlocking(source, PageExecutors.defaultExecutor());
+    }
+
+    /**
+     * Adapts asynchronous page source for blocking callers. Fetch waits for the page and rethrows fetch failure
+     *
+     * @param source asynchronous page source
+     * @return blocking page source
+     */
+    public static <E> PageSource<E> toBlocking(final AsyncPageSource<E> source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+
+        return new PageSource<E>() {
+            @Override
+            public ResponsePage<E> fetch(Pagination pagination) {
+                return PageFutures.await(source.fetchAsync(pagination).toCompletableFuture());
+            }
+        };
+    }
+
+    /**
+     * Fetches page following the specified one, keyset response pages seek the next page by keyset
+     *
+     * @param source asynchronous page source
+     * @param page current page
+     * @return stage of the next page
+     */
+    public static <E> CompletionStage<ResponsePage<E>> next(AsyncPageSource<E> source, ResponsePage<?> page) {
+        return source.fetchAsync(Paginations.nextOf(page));
+    }
+
+    /**
+     * Fetches page preceding the specified one, keyset response pages seek the previous page by keyset
+     *
+     * @param source asynchronous page source
+     * @param page current page
+     * @return stage of the previous page, completed exceptionally with {@link NoPageAvailableException}
+     * when the page is the first one
+     */
+    public static <E> CompletionStage<ResponsePage<E>> previous(AsyncPageSource<E> source, ResponsePage<?> page) {
+        Pagination previous;
+        try {
+            previous = page instanceof KeysetResponsePage
+                    ? ((KeysetResponsePage<?>) page).getPrevious()
+                    : page.getPagination().getPrevious();
+        } catch (NoPageAvailableException ex) {
+            CompletableFuture<ResponsePage<E>> failed = new CompletableFuture<ResponsePage<E>>();
+            failed.completeExceptionally(ex);
+            return failed;
+        }
+        return source.fetchAsync(previous);
+    }
+
+    /**
+     * Chains fetch of the next page to the stage of the current one
+     *
+     * @param page stage of the current page
+     * @param source asynchronous page source
+     * @return stage of the next page
+     */
+    public static <E> CompletionStage<ResponsePage<E>> thenNext(CompletionStage<? extends ResponsePage<?>> page, final AsyncPageSource<E> source) {
+        return page.thenCompose(new Function<ResponsePage<?>, CompletionStage<ResponsePage<E>>>() {
+            @Override
+            public CompletionStage<ResponsePage<E>> apply(ResponsePage<?> current) {
+                return next(source, current);
+            }
+        });
+    }
+
+    /**
+     * Returns page source with elements mapped by the function. Pagination and total size of pages are kept,
+     * lazy total size stays lazy. Keyset response pages become plain pages, navigate by the source pages then
+     *
+     * @param source asynchronous page source
+     * @param mapper element mapping function
+     * @return asynchronous page source of mapped elements
+     */
+    public static <E, R> AsyncPageSource<R> map(final AsyncPageSource<E> source, final Function<? super E, ? extends R> mapper) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (mapper == null) {
+            throw new IllegalArgumentException("Mapper cannot be null");
+        }
+
+        return new AsyncPageSource<R>() {
+            @Override
+            public CompletionStage<ResponsePage<R>> fetchAsync(Pagination pagination) {
+                return source.fetchAsync(pagination).thenApply(new Function<ResponsePage<E>, ResponsePage<R>>() {
+                    @Override
+                    public ResponsePage<R> apply(ResponsePage<E> page) {
+                        return mapPage(page, mapper);
+                    }
+                });
+            }
+        };
+    }
+
+    /**
+     * Walks pages starting with the specified one until the last page, fetching the next page once action
+     * stage of the current one completes. Synchronously completed stages don't grow the stack
+     *
+     * @param source asynchronous page source
+     * @param first pagination of the first page
+     * @param action page action returning stage of its completion
+     * @return stage completed after the last page or exceptionally on the first failure
+     */
+    public static <E> CompletionStage<Void> forEachPage(AsyncPageSource<E> source, Pagination first,
+                                                       Function<? super ResponsePage<E>, ? extends CompletionStage<?>> action) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (first == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (action == null) {
+            throw new IllegalArgumentException("Page action cannot be null");
+        }
+
+        PageWalk<E> walk = new PageWalk<E>(source, action);
+        walk.fetch(first);
+        return walk.done;
+    }
+
+    static <E, R> ResponsePage<R> mapPage(ResponsePage<E> page, Function<? super E, ? extends R> mapper) {
+        List<E> elements = page.getPage();
+        Object[] mapped = new Object[elements.size()];
+        for (int i = 0; i < mapped.length; i++) {
+            mapped[i] = mapper.apply(elements.get(i));
+        }
+        List<R> source = CompactPageList.wrap(mapped);
+
+        if (!(page instanceof TotalAwareResponsePage)) {
+            return PagedResponse.ofResponsePage(source, page.getPagination());
+        }
+
+        final TotalAwareResponsePage<E> totalAwarePage = (TotalAwareResponsePage<E>) page;
+        if (totalAwarePage.isTotalSizeComputed()) {
+            return totalAwarePage.isTotalSizeExact()
+                    ? TotalAwarePagedResponse.ofResponseAndSizeAndPagination(source, page.getPagination(), totalAwarePage.getLongTotalSize())
+                    : TotalAwarePagedResponse.ofResponseAndEstimatedSizeAndPagination(source, page.getPagination(), totalAwarePage.getLongTotalSize());
+        }
+
+        LongSupplier totalSize = new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return totalAwarePage.getLongTotalSize();
+            }
+        };
+        return totalAwarePage.isTotalSizeExact()
+                ? TotalAwarePagedResponse.ofResponseAndLazySizeAndPagination(source, page.getPagination(), totalSize)
+                : TotalAwarePagedResponse.ofResponseAndLazyEstimatedSizeAndPagination(source, page.getPagination(), totalSize);
+    }
+
+    /**
+     * Sequential asynchronous page traversal. Fetches are issued from a drain loop, so pages completing on the
+     * calling thread continue the loop instead of nesting calls
+     */
+    private static final class PageWalk<E> implements BiConsumer<ResponsePage<E>, Throwable> {
+        private final AsyncPageSource<E> source;
+        private final Function<? super ResponsePage<E>, ? extends CompletionStage<?>> action;
+        private final CompletableFuture<Void> done = new CompletableFuture<Void>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final List<Pagination> queue = new ArrayList<Pagination>(1);
+
+        private PageWalk(AsyncPageSource<E> source, Function<? super ResponsePage<E>, ? extends CompletionStage<?>> action) {
+            this.source = source;
+            this.action = action;
+        }
+
+        private void fetch(Pagination pagination) {
+            synchronized (queue) {
+                queue.add(pagination);
+            }
+            if (pending.getAndIncrement() != 0) {
+                return;
+            }
+
+            do {
+                Pagination next;
+                synchronized (queue) {
+                    next = queue.remove(0);
+                }
+                try {
+                    source.fetchAsync(next).thenCompose(new Function<ResponsePage<E>, CompletionStage<ResponsePage<E>>>() {
+                        @Override
+                        public CompletionStage<ResponsePage<E>> apply(final ResponsePage<E> page) {
+                            return action.apply(page).thenApply(new Function<Object, ResponsePage<E>>() {
+                                @Override
+                                public ResponsePage<E> apply(Object ignored) {
+                                    return page;
+                                }
+                            });
+                        }
+                    }).whenComplete(this);
+                } catch (RuntimeException ex) {
+                    done.completeExceptionally(ex);
+                }
+            } while (pending.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void accept(ResponsePage<E> page, Throwable failure) {
+            if (failure != null) {
+                done.completeExceptionally(failure);
+            } else if (page.isEmpty() || Paginations.isLastPage(page)) {
+                done.complete(null);
+            } else if (!done.isDone()) {
+                fetch(Paginations.nextOf(page));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.murauyou.pagination;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Reader of the binary page format written by {@link BinaryPageWriter}. Reads straight from the buffer without
+ * copying it: byte fields are returned as slices of the buffer, only strings and element objects are materialized.
+ * Reader consumes its own view of the buffer, position of the buffer passed in is not changed. Reader is not
+ * thread safe.
+ */
+public class BinaryPageReader {
+    private final ByteBuffer buffer;
+
+    protected BinaryPageReader(ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+
+        this.buffer = buffer.duplicate();
+    }
+
+    /**
+     * Reads the next page
+     *
+     * @param codec element codec
+     * @return response page, total aware one when page was written total aware
+     * @throws IllegalArgumentException when page is malformed
+     */
+    public <E> ResponsePage<E> readPage(ElementCodec<? extends E> codec) {
+        if (codec == null) {
+            throw new IllegalArgumentException("Element codec cannot be null");
+        }
+
+        try {
+            byte version = buffer.get();
+            if (version != BinaryPageWriter.FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported page format version " + version);
+            }
+            int flags = buffer.get();
+            long offset = readVarLong();
+            int limit = readVarInt();
+            Pagination pagination;
+            try {
+                pagination = Paginations.ofOffsetAndLimit(offset, limit);
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException("Malformed page: offset " + offset + " + limit " + limit + " overflows", ex);
+            }
+            long totalSize = (flags & BinaryPageWriter.TOTAL_AWARE) != 0 ? readVarLong() : -1;
+
+            int size = readVarInt();
+            if (size < 0 || size > buffer.remaining()) {
+                // Every element takes at least a byte
+                throw new IllegalArgumentException("Malformed page: element count " + size + " exceeds remaining bytes");
+            }
+            Object[] elements = new Object[size];
+            for (int i = 0; i < size; i++) {
+                elements[i] = codec.readBinary(this);
+            }
+
+            List<E> source = CompactPageList.wrap(elements);
+            if (totalSize < 0) {
+                return PagedResponse.ofResponsePage(source, pagination);
+            }
+            return (flags & BinaryPageWriter.TOTAL_SIZE_EXACT) != 0
+                    ? TotalAwarePagedResponse.ofResponseAndSizeAndPagination(source, pagination, totalSize)
+                    : TotalAwarePagedResponse.ofResponseAndEstimatedSizeAndPagination(source, pagination, totalSize);
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Malformed page: unexpected end of buffer", ex);
+        }
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    public long readZigZagLong() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    public double readDouble() {
+        return buffer.getDouble();
+    }
+
+    public String readString() {
+        int length = length();
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            value = StandardCharsets.UTF_8.decode(slice(length)).toString();
+        }
+        return value;
+    }
+
+    /**
+     * Reads byte field as read-only slice of the underlying buffer
+     *
+     * @return slice sharing content with the buffer
+     */
+    public ByteBuffer readBytes() {
+        return slice(length()).asReadOnlyBuffer();
+    }
+
+    public boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    private int length() {
+        int length = readVarInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Malformed page: length " + length + " exceeds remaining bytes");
+        }
+        return length;
+    }
+
+    private ByteBuffer slice(int length) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    public static BinaryPageReader ofByteBuffer(ByteBuffer buffer) {
+        return new BinaryPageReader(buffer);
+    }
+}
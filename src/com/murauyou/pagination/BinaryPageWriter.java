@@ -0,0 +1,131 @@
+package com.murauyou.pagination;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+
+/**
+ * Streaming writer of the compact binary page format read by {@link BinaryPageReader}. Page is written as version
+ * byte, flags byte (total aware, total size exact), varint offset and limit, varint total size of total aware pages,
+ * varint element count and the elements written by the element codec. Integers are written as LEB128 varints, so
+ * small offsets, limits and lengths take a byte or two. Writer can be reused for any number of pages, it is not
+ * thread safe.
+ */
+public class BinaryPageWriter extends BufferedPageWriter {
+    static final byte FORMAT_VERSION = 1;
+    static final int TOTAL_AWARE = 1;
+    static final int TOTAL_SIZE_EXACT = 2;
+
+    protected BinaryPageWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    /**
+     * Writes the page and flushes the writer
+     *
+     * @param page response page
+     * @param codec element codec
+     * @throws IOException when output fails
+     */
+    public <E> void writePage(ResponsePage<E> page, ElementCodec<? super E> codec) throws IOException {
+        if (page == null) {
+            throw new IllegalArgumentException("Page cannot be null");
+        }
+        if (codec == null) {
+            throw new IllegalArgumentException("Element codec cannot be null");
+        }
+
+        TotalAwareResponsePage<E> totalAwarePage = page instanceof TotalAwareResponsePage ? (TotalAwareResponsePage<E>) page : null;
+        int flags = 0;
+        if (totalAwarePage != null) {
+            flags = TOTAL_AWARE | (totalAwarePage.isTotalSizeExact() ? TOTAL_SIZE_EXACT : 0);
+        }
+
+        put(FORMAT_VERSION);
+        put((byte) flags);
+        writeVarLong(page.getPagination().getLongOffset());
+        writeVarInt(page.getPagination().getLimit());
+        if (totalAwarePage != null) {
+            writeVarLong(totalAwarePage.getLongTotalSize());
+        }
+
+        List<E> elements = page.getPage();
+        writeVarInt(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            codec.writeBinary(elements.get(i), this);
+        }
+        flush();
+    }
+
+    /**
+     * Writes non-negative int as varint, negative values take 5 bytes
+     */
+    public void writeVarInt(int value) throws IOException {
+        ensure(5);
+        while ((value & ~0x7f) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes non-negative long as varint, negative values take 10 bytes
+     */
+    public void writeVarLong(long value) throws IOException {
+        ensure(10);
+        while ((value & ~0x7fL) != 0) {
+            buffer.put((byte) ((value & 0x7f) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Writes signed long as zigzag varint, so small negative values stay short
+     */
+    public void writeZigZagLong(long value) throws IOException {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeBoolean(boolean value) throws IOException {
+        put((byte) (value ? 1 : 0));
+    }
+
+    public void writeDouble(double value) throws IOException {
+        ensure(8);
+        buffer.putDouble(value);
+    }
+
+    /**
+     * Writes string as varint UTF-8 length and UTF-8 bytes encoded straight into the buffer. Lone surrogates are
+     * written as '?'
+     */
+    public void writeString(CharSequence value) throws IOException {
+        writeVarInt(Utf8.length(value));
+        putUtf8(value, 0, value.length());
+    }
+
+    /**
+     * Writes remaining bytes of the buffer as varint length and the bytes, buffer position is not changed
+     */
+    public void writeBytes(ByteBuffer value) throws IOException {
+        writeVarInt(value.remaining());
+        put(value);
+    }
+
+    public void writeBytes(byte[] value) throws IOException {
+        writeVarInt(value.length);
+        put(value, 0, value.length);
+    }
+
+    public static BinaryPageWriter ofOutputStream(OutputStream output) {
+        return new BinaryPageWriter(channelOf(output), DEFAULT_BUFFER_SIZE);
+    }
+
+    public static BinaryPageWriter ofChannel(WritableByteChannel channel) {
+        return new BinaryPageWriter(channel, DEFAULT_BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,114 @@
+package com.murauyou.pagination;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Base of page writers encoding into a reusable buffer which is drained into the channel whenever it fills up,
+ * so output of any size is written with a fixed amount of memory.
+ */
+abstract class BufferedPageWriter {
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final WritableByteChannel channel;
+    final ByteBuffer buffer;
+
+    BufferedPageWriter(WritableByteChannel channel, int bufferSize) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("Buffer size can't be less than 16.");
+        }
+
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+    }
+
+    static WritableByteChannel channelOf(OutputStream output) {
+        if (output == null) {
+            throw new IllegalArgumentException("Output stream cannot be null");
+        }
+        return Channels.newChannel(output);
+    }
+
+    /**
+     * Makes sure the buffer has room for the specified number of bytes, which must not exceed the buffer capacity
+     */
+    final void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            drain();
+        }
+    }
+
+    final void put(byte value) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put(value);
+    }
+
+    final void put(byte[] source, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(length, buffer.remaining());
+            buffer.put(source, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    final void put(ByteBuffer source) throws IOException {
+        ByteBuffer remaining = source.duplicate();
+        while (remaining.hasRemaining()) {
+            if (!buffer.hasRemaining()) {
+                drain();
+            }
+            int chunk = Math.min(remaining.remaining(), buffer.remaining());
+            ByteBuffer slice = remaining.slice();
+            slice.limit(chunk);
+            buffer.put(slice);
+            remaining.position(remaining.position() + chunk);
+        }
+    }
+
+    /**
+     * Encodes the chars as UTF-8 straight into the buffer, draining it whenever it fills up
+     *
+     * @param value char sequence
+     * @param from low endpoint (inclusive) of the chars
+     * @param to high endpoint (exclusive) of the chars
+     * @throws IOException when channel write fails
+     */
+    final void putUtf8(CharSequence value, int from, int to) throws IOException {
+        while (from < to) {
+            ensure(2 * Utf8.MAX_BYTES_PER_CHAR);
+            int end = Utf8.chunkEnd(value, from, to, buffer.remaining() / Utf8.MAX_BYTES_PER_CHAR);
+            int position = Utf8.encode(value, from, end, buffer.array(), buffer.arrayOffset() + buffer.position());
+            buffer.position(position - buffer.arrayOffset());
+            from = end;
+        }
+    }
+
+    /**
+     * Writes buffered bytes to the channel
+     *
+     * @throws IOException when channel write fails
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
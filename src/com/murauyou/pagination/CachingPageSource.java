@@ -0,0 +1,257 @@
+package com.murauyou.pagination;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Page source decorator caching pages of the underlying source in fixed size blocks aligned to block size.
+ * Any pagination is served from cached blocks, only missing blocks are fetched and adjacent missing blocks
+ * are fetched by a single upstream call. Blocks are evicted in least recently used order once cache exceeds
+ * max blocks and expire after time to live. Keyset pagination is passed through, its pages depend on the sort keys
+ * and direction and pages after a keyset can't be aligned.
+ */
+public class CachingPageSource<E> implements PageSource<E> {
+    private final PageSource<E> source;
+    private final int blockSize;
+    private final int maxBlocks;
+    private final long timeToLiveNanos;
+    private final LongSupplier clock;
+    private final Map<Long, Block<E>> blocks;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    protected CachingPageSource(PageSource<E> source, int blockSize, int maxBlocks, long timeToLiveNanos, LongSupplier clock) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size can't be less than 1.");
+        }
+        if (maxBlocks < 1) {
+            throw new IllegalArgumentException("Max blocks can't be less than 1.");
+        }
+        if (timeToLiveNanos < 0) {
+            throw new IllegalArgumentException("Time to live can't be less than 0.");
+        }
+
+        this.source = source;
+        this.blockSize = blockSize;
+        this.maxBlocks = maxBlocks;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.clock = clock;
+        this.blocks = new LinkedHashMap<Long, Block<E>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Block<E>> eldest) {
+                if (size() > CachingPageSource.this.maxBlocks) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public ResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination) {
+            return source.fetch(pagination);
+        }
+        if (pagination.getLimit() == 0) {
+            return PagedResponse.ofResponsePage(Collections.<E>emptyList(), pagination);
+        }
+
+        long offset = pagination.getLongOffset();
+        long firstBlock = offset / blockSize;
+        long lastBlock = (offset + pagination.getLimit() - 1) / blockSize;
+        Block<E>[] found = newBlocks((int) (lastBlock - firstBlock + 1));
+
+        lookup(firstBlock, found);
+        for (int i = 0; i < found.length; ) {
+            if (found[i] != null) {
+                if (found[i].isLast(blockSize)) {
+                    break;
+                }
+                i++;
+                continue;
+            }
+
+            int runEnd = i;
+            while (runEnd + 1 < found.length && found[runEnd + 1] == null) {
+                runEnd++;
+            }
+            if (!load(firstBlock + i, runEnd - i + 1, found, i)) {
+                break;
+            }
+            i = runEnd + 1;
+        }
+
+        return assemble(pagination, firstBlock, found);
+    }
+
+    /**
+     * Returns snapshot of cache statistics
+     *
+     * @return cache statistics
+     */
+    public PageCacheStats getStats() {
+        return new PageCacheStats(hits.sum(), misses.sum(), loads.sum(), evictions.sum());
+    }
+
+    /**
+     * Drops all cached blocks
+     */
+    public void invalidateAll() {
+        synchronized (blocks) {
+            blocks.clear();
+        }
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    private void lookup(long firstBlock, Block<E>[] found) {
+        long now = clock.getAsLong();
+        synchronized (blocks) {
+            for (int i = 0; i < found.length; i++) {
+                Long key = firstBlock + i;
+                Block<E> block = blocks.get(key);
+                if (block != null && timeToLiveNanos > 0 && now - block.loadedAt >= timeToLiveNanos) {
+                    blocks.remove(key);
+                    evictions.increment();
+                    block = null;
+                }
+                if (block == null) {
+                    misses.increment();
+                } else {
+                    hits.increment();
+                    found[i] = block;
+                    if (block.isLast(blockSize)) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads consecutive blocks by a single upstream fetch
+     *
+     * @return false when end of the result list was reached within loaded blocks
+     */
+    private boolean load(long startBlock, int blockCount, Block<E>[] found, int index) {
+        Pagination upstream = Paginations.ofOffsetAndLimit(startBlock * blockSize, Math.multiplyExact(blockCount, blockSize));
+        ResponsePage<E> page = source.fetch(upstream);
+        loads.increment();
+
+        List<E> elements = page.getPage();
+        long totalSize = -1;
+        if (page instanceof TotalAwareResponsePage) {
+            TotalAwareResponsePage<E> totalAwarePage = (TotalAwareResponsePage<E>) page;
+            if (totalAwarePage.isTotalSizeExact() && totalAwarePage.isTotalSizeComputed()) {
+                totalSize = totalAwarePage.getLongTotalSize();
+            }
+        }
+        long now = clock.getAsLong();
+
+        synchronized (blocks) {
+            for (int i = 0; i < blockCount; i++) {
+                int from = Math.min(i * blockSize, elements.size());
+                int to = Math.min(from + blockSize, elements.size());
+
+                Block<E> block = new Block<E>(CompactPageList.copyOf(elements.subList(from, to), blockSize), totalSize, now);
+                blocks.put(startBlock + i, block);
+                found[index + i] = block;
+                if (block.isLast(blockSize)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private ResponsePage<E> assemble(Pagination pagination, long firstBlock, Block<E>[] found) {
+        long offset = pagination.getLongOffset();
+        long end = offset + pagination.getLimit();
+        long totalSize = -1;
+        long totalLoadedAt = 0;
+
+        int size = 0;
+        int blockCount = 0;
+        while (blockCount < found.length && found[blockCount] != null) {
+            Block<E> block = found[blockCount];
+            size += Math.max(0, sliceTo(block, firstBlock + blockCount, end) - sliceFrom(firstBlock + blockCount, offset));
+            if (block.totalSize >= 0 && (totalSize < 0 || block.loadedAt - totalLoadedAt > 0)) {
+                totalSize = block.totalSize;
+                totalLoadedAt = block.loadedAt;
+            }
+            blockCount++;
+            if (block.isLast(blockSize)) {
+                break;
+            }
+        }
+
+        Object[] elements = new Object[size];
+        int position = 0;
+        for (int i = 0; i < blockCount; i++) {
+            int from = sliceFrom(firstBlock + i, offset);
+            int to = sliceTo(found[i], firstBlock + i, end);
+            for (int j = from; j < to; j++) {
+                elements[position++] = found[i].elements.get(j);
+            }
+        }
+
+        List<E> page = CompactPageList.wrap(elements);
+        if (totalSize >= 0) {
+            return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(page, pagination, totalSize);
+        }
+        return PagedResponse.ofResponsePage(page, pagination);
+    }
+
+    private int sliceFrom(long blockIndex, long offset) {
+        return (int) Math.max(offset - blockIndex * blockSize, 0);
+    }
+
+    private int sliceTo(Block<E> block, long blockIndex, long end) {
+        return (int) Math.min(end - blockIndex * blockSize, block.elements.size());
+    }
+
+    public static <E> CachingPageSource<E> ofPageSource(PageSource<E> source, int blockSize, int maxBlocks) {
+        return new CachingPageSource<E>(source, blockSize, maxBlocks, 0, NanoClock.SYSTEM);
+    }
+
+    public static <E> CachingPageSource<E> ofPageSource(PageSource<E> source, int blockSize, int maxBlocks, long timeToLive, TimeUnit unit) {
+        return new CachingPageSource<E>(source, blockSize, maxBlocks, unit.toNanos(timeToLive), NanoClock.SYSTEM);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Block<E>[] newBlocks(int length) {
+        return (Block<E>[]) new Block<?>[length];
+    }
+
+    private static final class Block<E> {
+        private final List<E> elements;
+        private final long totalSize;
+        private final long loadedAt;
+
+        private Block(List<E> elements, long totalSize, long loadedAt) {
+            this.elements = elements;
+            this.totalSize = totalSize;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isLast(int blockSize) {
+            return elements.size() < blockSize;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.murauyou.pagination;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list backed by an array of exactly its size. Used to store compact page elements.
+ */
+final class CompactPageList<E> extends AbstractList<E> implements RandomAccess {
+    private static final CompactPageList<Object> EMPTY = new CompactPageList<Object>(new Object[0]);
+
+    private final Object[] elements;
+
+    private CompactPageList(Object[] elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) elements[index];
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < elements.length; i++) {
+            if (o == null ? elements[i] == null : o.equals(elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = elements.length - 1; i >= 0; i--) {
+            if (o == null ? elements[i] == null : o.equals(elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    /**
+     * Copies up to 'maxSize' first elements of the source list. Compact list fitting max size is returned as is
+     *
+     * @param source source list
+     * @param maxSize max number of elements to copy
+     * @return compact copy of the source list
+     */
+    @SuppressWarnings("unchecked")
+    static <E> List<E> copyOf(List<? extends E> source, int maxSize) {
+        int size = Math.min(source.size(), maxSize);
+        if (source instanceof CompactPageList && size == source.size()) {
+            return (List<E>) source;
+        }
+        if (size == 0) {
+            return (List<E>) EMPTY;
+        }
+
+        Object[] elements = (size == source.size() ? source : source.subList(0, size)).toArray();
+        if (elements.length != size || elements.getClass() != Object[].class) {
+            elements = Arrays.copyOf(elements, size, Object[].class);
+        }
+        return new CompactPageList<E>(elements);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> List<E> wrap(Object[] elements) {
+        return elements.length == 0 ? (List<E>) EMPTY : new CompactPageList<E>(elements);
+    }
+}
@@ -0,0 +1,435 @@
+package com.murauyou.pagination;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed bitmap of non-negative ints split into chunks of 65536 values by high 16 bits. Sparse chunks
+ * are kept as sorted arrays of low 16 bits, dense ones as 8KB bit sets. Keeps prefix cardinality per chunk, so
+ * select (n-th set value) is a binary search over chunks plus a scan within one chunk. Bitmaps are built by
+ * {@link Builder} appending values in ascending order.
+ */
+final class CompressedBitmap {
+    private static final int MAX_ARRAY_SIZE = 4096;
+    private static final int WORDS = 1024;
+    private static final CompressedBitmap EMPTY = new CompressedBitmap(new char[0], new Container[0], 0);
+
+    private final char[] keys;
+    private final Container[] containers;
+    private final long[] prefixCardinality;
+
+    private CompressedBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+        this.containers = size == containers.length ? containers : Arrays.copyOf(containers, size);
+        this.prefixCardinality = new long[size + 1];
+        for (int i = 0; i < size; i++) {
+            prefixCardinality[i + 1] = prefixCardinality[i] + this.containers[i].cardinality();
+        }
+    }
+
+    long cardinality() {
+        return prefixCardinality[containers.length];
+    }
+
+    boolean contains(int value) {
+        int index = Arrays.binarySearch(keys, (char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Returns number of set values less than the value
+     */
+    long rank(int value) {
+        int index = Arrays.binarySearch(keys, (char) (value >>> 16));
+        if (index < 0) {
+            return prefixCardinality[-index - 1];
+        }
+        return prefixCardinality[index] + containers[index].rank((char) value);
+    }
+
+    /**
+     * Copies up to 'count' set values starting with the value of the rank
+     *
+     * @param rank zero-based rank of the first value
+     * @param count max number of values
+     * @return set values in ascending order
+     */
+    int[] select(long rank, int count) {
+        long cardinality = cardinality();
+        if (rank >= cardinality || count == 0) {
+            return new int[0];
+        }
+
+        int[] values = new int[(int) Math.min(count, cardinality - rank)];
+        int index = chunkOf(rank);
+        int position = 0;
+        int rankInChunk = (int) (rank - prefixCardinality[index]);
+        while (position < values.length) {
+            position += containers[index].copy(rankInChunk, keys[index] << 16, values, position);
+            rankInChunk = 0;
+            index++;
+        }
+        return values;
+    }
+
+    CompressedBitmap and(CompressedBitmap other) {
+        char[] resultKeys = new char[Math.min(keys.length, other.keys.length)];
+        Container[] resultContainers = new Container[resultKeys.length];
+        int size = 0;
+        for (int i = 0, j = 0; i < keys.length && j < other.keys.length; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    resultKeys[size] = keys[i];
+                    resultContainers[size++] = container;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new CompressedBitmap(resultKeys, resultContainers, size);
+    }
+
+    CompressedBitmap or(CompressedBitmap other) {
+        char[] resultKeys = new char[keys.length + other.keys.length];
+        Container[] resultContainers = new Container[resultKeys.length];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || i < keys.length && keys[i] < other.keys[j]) {
+                resultKeys[size] = keys[i];
+                resultContainers[size++] = containers[i++];
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                resultKeys[size] = other.keys[j];
+                resultContainers[size++] = other.containers[j++];
+            } else {
+                resultKeys[size] = keys[i];
+                resultContainers[size++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        return new CompressedBitmap(resultKeys, resultContainers, size);
+    }
+
+    static CompressedBitmap empty() {
+        return EMPTY;
+    }
+
+    private int chunkOf(long rank) {
+        int low = 0;
+        int high = containers.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (prefixCardinality[middle] <= rank) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Builds bitmap of values appended in ascending order
+     */
+    static final class Builder {
+        private char[] keys = new char[4];
+        private Container[] containers = new Container[4];
+        private int size;
+        private int last = -1;
+
+        void add(int value) {
+            if (value <= last) {
+                throw new IllegalArgumentException("Values should be added in ascending order");
+            }
+            last = value;
+
+            char key = (char) (value >>> 16);
+            if (size == 0 || keys[size - 1] != key) {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                    containers = Arrays.copyOf(containers, size * 2);
+                }
+                keys[size] = key;
+                containers[size++] = new ArrayContainer(new char[4], 0);
+            }
+            containers[size - 1] = containers[size - 1].append((char) value);
+        }
+
+        CompressedBitmap build() {
+            for (int i = 0; i < size; i++) {
+                containers[i] = containers[i].trim();
+            }
+            return new CompressedBitmap(keys, containers, size);
+        }
+    }
+
+    private abstract static class Container {
+
+        abstract int cardinality();
+
+        abstract boolean contains(char value);
+
+        /**
+         * Returns number of set values less than the value
+         */
+        abstract int rank(char value);
+
+        /**
+         * Copies set values starting with the value of the rank as long as they fit into the target array
+         *
+         * @return number of copied values
+         */
+        abstract int copy(int rank, int high, int[] target, int position);
+
+        /**
+         * Appends value greater than all values of the container
+         */
+        abstract Container append(char value);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container trim();
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int size;
+
+        private ArrayContainer(char[] values, int size) {
+            this.values = values;
+            this.size = size;
+        }
+
+        @Override
+        int cardinality() {
+            return size;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, size, value) >= 0;
+        }
+
+        @Override
+        int rank(char value) {
+            int index = Arrays.binarySearch(values, 0, size, value);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        @Override
+        int copy(int rank, int high, int[] target, int position) {
+            int count = Math.min(size - rank, target.length - position);
+            for (int i = 0; i < count; i++) {
+                target[position + i] = high | values[rank + i];
+            }
+            return count;
+        }
+
+        @Override
+        Container append(char value) {
+            if (size == MAX_ARRAY_SIZE) {
+                return toBitmap().append(value);
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(size * 2, MAX_ARRAY_SIZE));
+            }
+            values[size++] = value;
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[Math.min(size, other.cardinality())];
+            int count = 0;
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0, j = 0; i < size && j < array.size; ) {
+                    if (values[i] < array.values[j]) {
+                        i++;
+                    } else if (values[i] > array.values[j]) {
+                        j++;
+                    } else {
+                        result[count++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (other.contains(values[i])) {
+                        result[count++] = values[i];
+                    }
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[size + array.size];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size || j < array.size) {
+                if (j == array.size || i < size && values[i] < array.values[j]) {
+                    result[count++] = values[i++];
+                } else if (i == size || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i++];
+                    j++;
+                }
+            }
+            ArrayContainer container = new ArrayContainer(result, count);
+            return count > MAX_ARRAY_SIZE ? container.toBitmap() : container;
+        }
+
+        @Override
+        Container trim() {
+            if (values.length != size) {
+                values = Arrays.copyOf(values, size);
+            }
+            return this;
+        }
+
+        private BitmapContainer toBitmap() {
+            long[] words = new long[WORDS];
+            for (int i = 0; i < size; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return new BitmapContainer(words, size);
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        int rank(char value) {
+            int rank = 0;
+            int word = value >>> 6;
+            for (int i = 0; i < word; i++) {
+                rank += Long.bitCount(words[i]);
+            }
+            return rank + Long.bitCount(words[word] & ((1L << value) - 1));
+        }
+
+        @Override
+        int copy(int rank, int high, int[] target, int position) {
+            int word = 0;
+            int skipped = 0;
+            while (skipped + Long.bitCount(words[word]) <= rank) {
+                skipped += Long.bitCount(words[word++]);
+            }
+
+            long bits = words[word];
+            for (int i = skipped; i < rank; i++) {
+                bits &= bits - 1;
+            }
+
+            int count = 0;
+            while (position + count < target.length) {
+                while (bits == 0) {
+                    if (++word == WORDS) {
+                        return count;
+                    }
+                    bits = words[word];
+                }
+                target[position + count++] = high | word << 6 | Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+            return count;
+        }
+
+        @Override
+        Container append(char value) {
+            words[value >>> 6] |= 1L << value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+
+            long[] otherWords = ((BitmapContainer) other).words;
+            long[] result = new long[WORDS];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result[i] = words[i] & otherWords[i];
+                count += Long.bitCount(result[i]);
+            }
+            BitmapContainer container = new BitmapContainer(result, count);
+            return count <= MAX_ARRAY_SIZE ? container.toArray() : container;
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] result = words.clone();
+            if (other instanceof ArrayContainer) {
+                ArrayContainer array = (ArrayContainer) other;
+                for (int i = 0; i < array.size; i++) {
+                    result[array.values[i] >>> 6] |= 1L << array.values[i];
+                }
+            } else {
+                long[] otherWords = ((BitmapContainer) other).words;
+                for (int i = 0; i < WORDS; i++) {
+                    result[i] |= otherWords[i];
+                }
+            }
+
+            int count = 0;
+            for (long word : result) {
+                count += Long.bitCount(word);
+            }
+            return new BitmapContainer(result, count);
+        }
+
+        @Override
+        Container trim() {
+            return this;
+        }
+
+        private ArrayContainer toArray() {
+            char[] values = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < WORDS; i++) {
+                long bits = words[i];
+                while (bits != 0) {
+                    values[count++] = (char) (i << 6 | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+    }
+}
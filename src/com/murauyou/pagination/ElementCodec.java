@@ -0,0 +1,38 @@
+package com.murauyou.pagination;
+
+import java.io.IOException;
+
+/**
+ * Writes page elements with {@link JsonPageWriter} and {@link BinaryPageWriter} and reads them back with
+ * {@link BinaryPageReader}. Implementations write element fields straight into the writer buffer, so no intermediate
+ * tree or string is built per element.
+ */
+public interface ElementCodec<E> {
+
+    /**
+     * Writes element as a single JSON value
+     *
+     * @param element page element
+     * @param writer JSON writer positioned at the value
+     * @throws IOException when writer output fails
+     */
+    void writeJson(E element, JsonPageWriter writer) throws IOException;
+
+    /**
+     * Writes element in binary format
+     *
+     * @param element page element
+     * @param writer binary writer
+     * @throws IOException when writer output fails
+     */
+    void writeBinary(E element, BinaryPageWriter writer) throws IOException;
+
+    /**
+     * Reads element written by {@link #writeBinary(Object, BinaryPageWriter)}
+     *
+     * @param reader binary reader positioned at the element
+     * @return page element
+     */
+    E readBinary(BinaryPageReader reader);
+
+}
@@ -0,0 +1,89 @@
+package com.murauyou.pagination;
+
+import java.io.IOException;
+
+/**
+ * Commonly used element codecs.
+ */
+public final class ElementCodecs {
+    private static final ElementCodec<String> STRINGS = new ElementCodec<String>() {
+        @Override
+        public void writeJson(String element, JsonPageWriter writer) throws IOException {
+            writer.value(element);
+        }
+
+        @Override
+        public void writeBinary(String element, BinaryPageWriter writer) throws IOException {
+            writer.writeString(element);
+        }
+
+        @Override
+        public String readBinary(BinaryPageReader reader) {
+            return reader.readString();
+        }
+    };
+
+    private static final ElementCodec<Long> LONGS = new ElementCodec<Long>() {
+        @Override
+        public void writeJson(Long element, JsonPageWriter writer) throws IOException {
+            writer.value(element);
+        }
+
+        @Override
+        public void writeBinary(Long element, BinaryPageWriter writer) throws IOException {
+            writer.writeZigZagLong(element);
+        }
+
+        @Override
+        public Long readBinary(BinaryPageReader reader) {
+            return reader.readZigZagLong();
+        }
+    };
+
+    private static final ElementCodec<Integer> INTEGERS = new ElementCodec<Integer>() {
+        @Override
+        public void writeJson(Integer element, JsonPageWriter writer) throws IOException {
+            writer.value(element);
+        }
+
+        @Override
+        public void writeBinary(Integer element, BinaryPageWriter writer) throws IOException {
+            writer.writeZigZagLong(element);
+        }
+
+        @Override
+        public Integer readBinary(BinaryPageReader reader) {
+            return Math.toIntExact(reader.readZigZagLong());
+        }
+    };
+
+    private ElementCodecs() {
+    }
+
+    /**
+     * Returns codec of non-null strings, written as UTF-8
+     *
+     * @return string codec
+     */
+    public static ElementCodec<String> strings() {
+        return STRINGS;
+    }
+
+    /**
+     * Returns codec of non-null longs, written as zigzag varints
+     *
+     * @return long codec
+     */
+    public static ElementCodec<Long> longs() {
+        return LONGS;
+    }
+
+    /**
+     * Returns codec of non-null integers, written as zigzag varints
+     *
+     * @return integer codec
+     */
+    public static ElementCodec<Integer> integers() {
+        return INTEGERS;
+    }
+}
@@ -0,0 +1,81 @@
+package com.murauyou.pagination;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Immutable filter of a {@link FacetIndex}: element matches when, for every facet of the filter, its facet value
+ * is one of the accepted values.
+ */
+public final class FacetFilter {
+    private static final FacetFilter ALL = new FacetFilter(Collections.<String, Set<Object>>emptyMap());
+
+    private final Map<String, Set<Object>> facets;
+
+    private FacetFilter(Map<String, Set<Object>> facets) {
+        this.facets = facets;
+    }
+
+    /**
+     * Returns filter additionally requiring facet value to be one of the specified values
+     *
+     * @param facet facet name
+     * @param values accepted facet values
+     * @return new filter
+     */
+    public FacetFilter and(String facet, Object... values) {
+        if (facet == null) {
+            throw new IllegalArgumentException("Facet cannot be null");
+        }
+        if (values == null || values.length == 0) {
+            throw new IllegalArgumentException("Facet values cannot be null or empty");
+        }
+        if (facets.containsKey(facet)) {
+            throw new IllegalArgumentException("Facet " + facet + " is already filtered");
+        }
+
+        Map<String, Set<Object>> result = new TreeMap<String, Set<Object>>(facets);
+        result.put(facet, Collections.unmodifiableSet(new LinkedHashSet<Object>(Arrays.asList(values))));
+        return new FacetFilter(Collections.unmodifiableMap(result));
+    }
+
+    public Map<String, Set<Object>> getFacets() {
+        return facets;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        FacetFilter that = (FacetFilter) o;
+        return facets.equals(that.facets);
+    }
+
+    @Override
+    public int hashCode() {
+        return facets.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "FacetFilter { " +
+                "facets = " + facets +
+                " }";
+    }
+
+    /**
+     * Returns filter matching all elements
+     */
+    public static FacetFilter all() {
+        return ALL;
+    }
+
+    public static FacetFilter of(String facet, Object... values) {
+        return ALL.and(facet, values);
+    }
+}
@@ -0,0 +1,206 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Immutable index of an in-memory dataset serving facet filtered pages without materializing the filtered list.
+ * Keeps a compressed bitmap of element positions per facet value. Filter result is the intersection of facet
+ * bitmaps (union of accepted values within a facet), its cardinality is the exact filtered count and the page
+ * positions are selected by rank straight from the offset, so a page costs about the page size plus the bitmap
+ * operations, which work on 64K position chunks rather than on elements. Recent filter results are cached.
+ * Pages keep dataset order.
+ */
+public class FacetIndex<E> {
+    private static final int DEFAULT_MAX_CACHED_FILTERS = 256;
+
+    private final Object[] elements;
+    private final Map<String, Map<Object, CompressedBitmap>> facets;
+    private final Map<FacetFilter, CompressedBitmap> results;
+
+    protected FacetIndex(List<? extends E> elements, Map<String, ? extends Function<? super E, ?>> extractors, final int maxCachedFilters) {
+        if (elements == null) {
+            throw new IllegalArgumentException("Elements cannot be null");
+        }
+        if (extractors == null) {
+            throw new IllegalArgumentException("Facet extractors cannot be null");
+        }
+        if (maxCachedFilters < 0) {
+            throw new IllegalArgumentException("Max cached filters can't be less than 0.");
+        }
+
+        this.elements = elements.toArray();
+        this.facets = new HashMap<String, Map<Object, CompressedBitmap>>();
+        for (Map.Entry<String, ? extends Function<? super E, ?>> extractor : extractors.entrySet()) {
+            facets.put(extractor.getKey(), index(extractor.getValue()));
+        }
+        this.results = new LinkedHashMap<FacetFilter, CompressedBitmap>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<FacetFilter, CompressedBitmap> eldest) {
+                return size() > maxCachedFilters;
+            }
+        };
+    }
+
+    /**
+     * Returns page of elements matching the filter
+     *
+     * @param filter facet filter
+     * @param pagination offset + limit pagination
+     * @return total aware page with exact filtered count as total size
+     */
+    public TotalAwareResponsePage<E> fetch(FacetFilter filter, Pagination pagination) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Facet filter cannot be null");
+        }
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Facet index can't seek by keyset");
+        }
+
+        long offset = pagination.getLongOffset();
+        Object[] page;
+        long totalSize;
+        if (filter.getFacets().isEmpty()) {
+            int from = (int) Math.min(offset, elements.length);
+            int to = (int) Math.min((long) from + pagination.getLimit(), elements.length);
+            page = Arrays.copyOfRange(elements, from, to);
+            totalSize = elements.length;
+        } else {
+            CompressedBitmap matching = resolve(filter);
+            int[] positions = matching.select(offset, pagination.getLimit());
+            page = new Object[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                page[i] = elements[positions[i]];
+            }
+            totalSize = matching.cardinality();
+        }
+
+        List<E> source = CompactPageList.wrap(page);
+        return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(source, pagination, totalSize);
+    }
+
+    /**
+     * Returns number of elements matching the filter
+     *
+     * @param filter facet filter
+     * @return exact filtered count
+     */
+    public long count(FacetFilter filter) {
+        return filter.getFacets().isEmpty() ? elements.length : resolve(filter).cardinality();
+    }
+
+    /**
+     * Returns page source serving pages of elements matching the filter
+     *
+     * @param filter facet filter
+     * @return page source of the filtered dataset
+     */
+    public PageSource<E> pageSource(final FacetFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Facet filter cannot be null");
+        }
+
+        return new PageSource<E>() {
+            @Override
+            public ResponsePage<E> fetch(Pagination pagination) {
+                return FacetIndex.this.fetch(filter, pagination);
+            }
+        };
+    }
+
+    /**
+     * Returns distinct values of the facet
+     *
+     * @param facet facet name
+     * @return facet values
+     */
+    public Set<Object> getFacetValues(String facet) {
+        return Collections.unmodifiableSet(facet(facet).keySet());
+    }
+
+    public int size() {
+        return elements.length;
+    }
+
+    private CompressedBitmap resolve(FacetFilter filter) {
+        synchronized (results) {
+            CompressedBitmap cached = results.get(filter);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<CompressedBitmap> unions = new ArrayList<CompressedBitmap>();
+        for (Map.Entry<String, Set<Object>> entry : filter.getFacets().entrySet()) {
+            Map<Object, CompressedBitmap> values = facet(entry.getKey());
+            CompressedBitmap union = CompressedBitmap.empty();
+            for (Object value : entry.getValue()) {
+                CompressedBitmap bitmap = values.get(value);
+                if (bitmap != null) {
+                    union = union.cardinality() == 0 ? bitmap : union.or(bitmap);
+                }
+            }
+            unions.add(union);
+        }
+
+        // Intersecting from the smallest bitmap keeps intermediate results small
+        unions.sort(new Comparator<CompressedBitmap>() {
+            @Override
+            public int compare(CompressedBitmap left, CompressedBitmap right) {
+                return Long.compare(left.cardinality(), right.cardinality());
+            }
+        });
+        CompressedBitmap result = unions.get(0);
+        for (int i = 1; i < unions.size() && result.cardinality() > 0; i++) {
+            result = result.and(unions.get(i));
+        }
+
+        synchronized (results) {
+            results.put(filter, result);
+        }
+        return result;
+    }
+
+    private Map<Object, CompressedBitmap> facet(String facet) {
+        Map<Object, CompressedBitmap> values = facets.get(facet);
+        if (values == null) {
+            throw new IllegalArgumentException("Facet " + facet + " is not indexed");
+        }
+        return values;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, CompressedBitmap> index(Function<? super E, ?> extractor) {
+        Map<Object, CompressedBitmap.Builder> builders = new HashMap<Object, CompressedBitmap.Builder>();
+        for (int i = 0; i < elements.length; i++) {
+            Object value = extractor.apply((E) elements[i]);
+            CompressedBitmap.Builder builder = builders.get(value);
+            if (builder == null) {
+                builder = new CompressedBitmap.Builder();
+                builders.put(value, builder);
+            }
+            builder.add(i);
+        }
+
+        Map<Object, CompressedBitmap> bitmaps = new HashMap<Object, CompressedBitmap>();
+        for (Map.Entry<Object, CompressedBitmap.Builder> entry : builders.entrySet()) {
+            bitmaps.put(entry.getKey(), entry.getValue().build());
+        }
+        return bitmaps;
+    }
+
+    public static <E> FacetIndex<E> ofList(List<? extends E> elements, Map<String, ? extends Function<? super E, ?>> extractors) {
+        return new FacetIndex<E>(elements, extractors, DEFAULT_MAX_CACHED_FILTERS);
+    }
+}
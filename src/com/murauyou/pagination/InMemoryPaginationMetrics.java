@@ -0,0 +1,81 @@
+package com.murauyou.pagination;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Pagination metrics kept in memory as per source histograms, for tests and for exporting by a periodic reporter.
+ * Source metrics are created on first record and never removed, {@link #reset()} only zeroes them, so source names
+ * should be a bounded set (endpoint or query names, not query parameters).
+ */
+public class InMemoryPaginationMetrics implements PaginationMetrics {
+    private final ConcurrentMap<String, PageSourceMetrics> sources = new ConcurrentHashMap<String, PageSourceMetrics>();
+
+    protected InMemoryPaginationMetrics() {
+    }
+
+    @Override
+    public void recordPage(String source, long offset, int limit, int size) {
+        metricsOf(source).recordPage(offset, limit, size);
+    }
+
+    @Override
+    public void recordFetchLatency(String source, long latencyNanos) {
+        metricsOf(source).recordFetchLatency(latencyNanos);
+    }
+
+    @Override
+    public void recordTotalSizeLatency(String source, long latencyNanos) {
+        metricsOf(source).recordTotalSizeLatency(latencyNanos);
+    }
+
+    /**
+     * Returns metrics of the source
+     *
+     * @param source page source name
+     * @return source metrics, null when nothing was recorded for the source
+     */
+    public PageSourceMetrics getSourceMetrics(String source) {
+        return sources.get(source);
+    }
+
+    public Set<String> getSourceNames() {
+        return Collections.unmodifiableSet(sources.keySet());
+    }
+
+    /**
+     * Zeroes metrics of all sources, sources stay registered and metrics obtained earlier stay live.
+     * Records made concurrently with reset may be partially kept
+     */
+    public void reset() {
+        for (PageSourceMetrics metrics : sources.values()) {
+            metrics.reset();
+        }
+    }
+
+    private PageSourceMetrics metricsOf(String source) {
+        PageSourceMetrics metrics = sources.get(source);
+        if (metrics == null) {
+            // get first, computeIfAbsent locks the bin even when the key is present
+            PageSourceMetrics created = new PageSourceMetrics();
+            metrics = sources.putIfAbsent(source, created);
+            if (metrics == null) {
+                metrics = created;
+            }
+        }
+        return metrics;
+    }
+
+    public static InMemoryPaginationMetrics create() {
+        return new InMemoryPaginationMetrics();
+    }
+
+    @Override
+    public String toString() {
+        return "InMemoryPaginationMetrics { " +
+                "sources = " + sources +
+                " }";
+    }
+}
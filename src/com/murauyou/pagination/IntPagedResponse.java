@@ -0,0 +1,160 @@
+package com.murauyou.pagination;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Int response page backed by an int array range. Sub lists and sub pages share the backing array.
+ */
+public class IntPagedResponse extends PrimitivePagedResponse implements IntResponsePage {
+    private final int[] source;
+
+    protected IntPagedResponse(int[] source, int from, int size, Pagination pagination) {
+        super(checkSource(source).length, from, size, pagination);
+
+        this.source = source;
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOfRange(source, from, from + size);
+    }
+
+    @Override
+    public boolean contains(int value) {
+        return indexOfReal(value) != -1;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < from + size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next >= from + size) {
+                    throw new NoSuchElementException();
+                }
+                return source[next++];
+            }
+        };
+    }
+
+    @Override
+    public IntStream stream() {
+        return Arrays.stream(source, from, from + size);
+    }
+
+    @Override
+    public int get(int index) {
+        return get((long) index);
+    }
+
+    @Override
+    public int get(long index) {
+        return source[arrayIndex(index)];
+    }
+
+    @Override
+    public int indexOf(int value) {
+        return Math.toIntExact(longIndexOf(value));
+    }
+
+    @Override
+    public long longIndexOf(int value) {
+        return elementIndex(indexOfReal(value));
+    }
+
+    @Override
+    public int lastIndexOf(int value) {
+        return Math.toIntExact(longLastIndexOf(value));
+    }
+
+    @Override
+    public long longLastIndexOf(int value) {
+        for (int i = from + size - 1; i >= from; i--) {
+            if (source[i] == value) {
+                return elementIndex(i);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public IntBuffer subList(int fromIndex, int toIndex) {
+        return subList((long) fromIndex, (long) toIndex);
+    }
+
+    @Override
+    public IntBuffer subList(long fromIndex, long toIndex) {
+        return IntBuffer.wrap(source, arrayIndex(fromIndex, toIndex), (int) (toIndex - fromIndex)).slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public IntResponsePage subPage(long fromIndex, long toIndex) {
+        int length = (int) (toIndex - fromIndex);
+        return new IntPagedResponse(source, arrayIndex(fromIndex, toIndex), length, PagedRequest.ofLongOffsetAndLimit(fromIndex, length));
+    }
+
+    private int indexOfReal(int value) {
+        for (int i = from; i < from + size; i++) {
+            if (source[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] checkSource(int[] source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source array cannot be null");
+        }
+        return source;
+    }
+
+    /**
+     * Creates int response page keeping a right-sized copy of up to 'limit' source array values
+     *
+     * @param source source array
+     * @param pagination pagination of the page
+     * @return new int response page
+     */
+    public static IntPagedResponse ofResponsePage(int[] source, Pagination pagination) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source array cannot be null");
+        }
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        int size = Math.min(source.length, pagination.getLimit());
+        return new IntPagedResponse(Arrays.copyOf(source, size), 0, size, pagination);
+    }
+
+    /**
+     * Creates int response page over the source array without copying. Page reflects changes of the source array
+     * and retains it, so it should only be used for short-lived pages or arrays owned by the page
+     *
+     * @param source source array
+     * @param pagination pagination of the page
+     * @return new int response page
+     */
+    public static IntPagedResponse ofResponsePageView(int[] source, Pagination pagination) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source array cannot be null");
+        }
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        return new IntPagedResponse(source, 0, Math.min(source.length, pagination.getLimit()), pagination);
+    }
+}
@@ -0,0 +1,60 @@
+package com.murauyou.pagination;
+
+import java.nio.IntBuffer;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+
+/**
+ * Response page of int values (ids, ordinals) kept without boxing. Element index is translated by pagination
+ * offset the same way {@link ResponsePage} does.
+ */
+public interface IntResponsePage {
+
+    Pagination getPagination();
+
+    int[] toArray();
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(int value);
+
+    PrimitiveIterator.OfInt iterator();
+
+    IntStream stream();
+
+    int get(int index);
+
+    int get(long index);
+
+    int indexOf(int value);
+
+    long longIndexOf(int value);
+
+    int lastIndexOf(int value);
+
+    long longLastIndexOf(int value);
+
+    /**
+     * Returns read-only view of the values between element indexes. View is indexed from 0, the same way
+     * as the list returned by {@link ResponsePage#subList(int, int)}
+     *
+     * @param fromIndex low endpoint (inclusive) element index
+     * @param toIndex high endpoint (exclusive) element index
+     * @return values view indexed from 0
+     */
+    IntBuffer subList(int fromIndex, int toIndex);
+
+    IntBuffer subList(long fromIndex, long toIndex);
+
+    /**
+     * Returns page of the values between element indexes, which keeps element indexes of this page
+     *
+     * @param fromIndex low endpoint (inclusive) element index
+     * @param toIndex high endpoint (exclusive) element index
+     * @return sub page with offset 'fromIndex'
+     */
+    IntResponsePage subPage(long fromIndex, long toIndex);
+
+}
@@ -0,0 +1,388 @@
+package com.murauyou.pagination;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Page source fetching pages of a SQL query. Pagination is rendered as the dialect row limiting clause with bound
+ * offset and limit, so every page of the query executes the same prepared statement; statements are cached per SQL
+ * shape. Keyset query is wrapped to seek by its sort key columns: keyset pagination with a keyset is rewritten into
+ * a WHERE condition on the boundary key values, and keyset response pages are returned. Fetch size is set to the page
+ * limit and rows are mapped straight into the page array. Count query runs only when total size of a page fetched
+ * by {@link #fetchWithTotalSize(Pagination)} is asked for. Connection is owned by the caller, closing the source
+ * closes its cached statements only. Fetches are serialized since JDBC connections are not thread safe.
+ */
+public class JdbcPageSource<E> implements PageSource<E>, AutoCloseable {
+    private static final int DEFAULT_MAX_CACHED_STATEMENTS = 16;
+    private static final int MAX_INITIAL_PAGE_CAPACITY = 1024;
+    private static final Pattern COLUMN_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final Connection connection;
+    private final SqlDialect dialect;
+    private final String query;
+    private final String countQuery;
+    private final List<String> sortKeys;
+    private final RowMapper<? extends E> mapper;
+    private final Object[] parameters;
+    private final Map<String, PreparedStatement> statements;
+
+    protected JdbcPageSource(Connection connection, SqlDialect dialect, String query, String countQuery, List<String> sortKeys,
+                             RowMapper<? extends E> mapper, Object[] parameters, final int maxCachedStatements) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        if (dialect == null) {
+            throw new IllegalArgumentException("SQL dialect cannot be null");
+        }
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (mapper == null) {
+            throw new IllegalArgumentException("Row mapper cannot be null");
+        }
+        if (sortKeys != null) {
+            if (sortKeys.isEmpty()) {
+                throw new IllegalArgumentException("Sort keys cannot be empty");
+            }
+            for (String sortKey : sortKeys) {
+                if (sortKey == null || !COLUMN_NAME.matcher(sortKey).matches()) {
+                    throw new IllegalArgumentException("Sort key " + sortKey + " is not a valid column name");
+                }
+            }
+        }
+        if (maxCachedStatements < 1) {
+            throw new IllegalArgumentException("Max cached statements can't be less than 1.");
+        }
+
+        this.connection = connection;
+        this.dialect = dialect;
+        this.query = query;
+        this.countQuery = countQuery != null ? countQuery : "SELECT COUNT(*) FROM (" + query + ") count_source";
+        this.sortKeys = sortKeys != null ? Collections.unmodifiableList(new ArrayList<String>(sortKeys)) : null;
+        this.mapper = mapper;
+        this.parameters = parameters != null ? parameters.clone() : new Object[0];
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= maxCachedStatements) {
+                    return false;
+                }
+                closeQuietly(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Fetches the page. Keyset pagination of keyset query returns {@link KeysetResponsePage}
+     *
+     * @throws PageFetchException when query fails
+     */
+    @Override
+    public ResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        KeysetPagination keysetPagination = null;
+        if (pagination instanceof KeysetPagination) {
+            keysetPagination = (KeysetPagination) pagination;
+            if (sortKeys == null) {
+                if (!keysetPagination.getKeyset().isEmpty()) {
+                    throw new IllegalArgumentException("Query without sort keys can't seek by keyset");
+                }
+                keysetPagination = null;
+            } else if (!sortKeys.equals(keysetPagination.getSortKeys())) {
+                throw new IllegalArgumentException("Sort keys " + keysetPagination.getSortKeys() + " don't match query sort keys " + sortKeys);
+            } else if (!keysetPagination.getKeyset().isEmpty() && keysetPagination.getKeyset().size() != sortKeys.size()) {
+                throw new IllegalArgumentException("Keyset " + keysetPagination.getKeyset() + " doesn't match query sort keys " + sortKeys);
+            }
+        }
+
+        Page page = pagination.getLimit() == 0 ? Page.EMPTY : query(pagination, keysetPagination);
+        List<E> source = CompactPageList.wrap(page.rows);
+        if (keysetPagination != null) {
+            return new KeysetPagedResponse<E>(source, keysetPagination, page.firstKeyset, page.lastKeyset);
+        }
+        return PagedResponse.ofResponsePage(source, pagination);
+    }
+
+    /**
+     * Fetches the page with total size counted by the count query on first access. Keyset pagination of keyset query
+     * returns page which is a {@link KeysetResponsePage} as well
+     *
+     * @param pagination page to fetch
+     * @return total aware page with lazy exact total size
+     * @throws PageFetchException when query fails
+     */
+    public TotalAwareResponsePage<E> fetchWithTotalSize(Pagination pagination) {
+        ResponsePage<E> page = fetch(pagination);
+        LongSupplier totalSize = new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return count();
+            }
+        };
+        if (page instanceof KeysetResponsePage) {
+            KeysetResponsePage<E> keysetPage = (KeysetResponsePage<E>) page;
+            return new TotalAwareKeysetPage<E>(keysetPage.getPage(), keysetPage.getPagination(),
+                    keysetPage.getFirstKeyset(), keysetPage.getLastKeyset(), totalSize);
+        }
+        return TotalAwarePagedResponse.ofResponseAndLazySizeAndPagination(page.getPage(), pagination, totalSize);
+    }
+
+    /**
+     * Runs the count query
+     *
+     * @return number of rows of the query
+     * @throws PageFetchException when query fails
+     */
+    public synchronized long count() {
+        try {
+            PreparedStatement statement = statement(countQuery);
+            bindParameters(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        } catch (SQLException ex) {
+            throw new PageFetchException("Count query failed", ex);
+        }
+    }
+
+    public synchronized int getCachedStatementCount() {
+        return statements.size();
+    }
+
+    /**
+     * Closes cached statements. Connection stays open
+     */
+    @Override
+    public synchronized void close() {
+        for (Iterator<PreparedStatement> iterator = statements.values().iterator(); iterator.hasNext(); ) {
+            closeQuietly(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private synchronized Page query(Pagination pagination, KeysetPagination keysetPagination) {
+        boolean seek = keysetPagination != null && !keysetPagination.getKeyset().isEmpty();
+        boolean backward = seek && keysetPagination.isBackward();
+        // Backward page is read in reverse order from the keyset and reversed back in memory
+        boolean ascending = (keysetPagination == null || keysetPagination.getDirection() == SortDirection.ASCENDING) != backward;
+        long offset = seek ? 0 : pagination.getLongOffset();
+        int limit = pagination.getLimit();
+
+        try {
+            PreparedStatement statement = statement(sql(seek, ascending));
+            int index = bindParameters(statement);
+            if (seek) {
+                List<Object> keyset = keysetPagination.getKeyset();
+                for (int i = 0; i < keyset.size(); i++) {
+                    for (int j = 0; j <= i; j++) {
+                        statement.setObject(index++, keyset.get(j));
+                    }
+                }
+            }
+            dialect.bindLimit(statement, index, offset, limit);
+            statement.setFetchSize(limit);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return read(resultSet, limit, keysetPagination != null, backward);
+            }
+        } catch (SQLException ex) {
+            throw new PageFetchException("Page query failed", ex);
+        }
+    }
+
+    private Page read(ResultSet resultSet, int limit, boolean keyset, boolean backward) throws SQLException {
+        Object[] rows = new Object[Math.min(limit, MAX_INITIAL_PAGE_CAPACITY)];
+        List<Object> firstKeyset = Collections.emptyList();
+        List<Object> lastKeyset = Collections.emptyList();
+        int size = 0;
+        while (size < limit && resultSet.next()) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, (int) Math.min((long) rows.length * 2, limit));
+            }
+            rows[size++] = mapper.mapRow(resultSet);
+            if (keyset) {
+                lastKeyset = keyset(resultSet);
+                if (size == 1) {
+                    firstKeyset = lastKeyset;
+                }
+            }
+        }
+        if (size != rows.length) {
+            rows = Arrays.copyOf(rows, size);
+        }
+
+        if (backward) {
+            Collections.reverse(Arrays.asList(rows));
+            return new Page(rows, lastKeyset, firstKeyset);
+        }
+        return new Page(rows, firstKeyset, lastKeyset);
+    }
+
+    private List<Object> keyset(ResultSet resultSet) throws SQLException {
+        Object[] keyset = new Object[sortKeys.size()];
+        for (int i = 0; i < keyset.length; i++) {
+            keyset[i] = resultSet.getObject(sortKeys.get(i));
+        }
+        return Collections.unmodifiableList(Arrays.asList(keyset));
+    }
+
+    /**
+     * Renders page query. Keyset query is wrapped, so its own parameters stay first and the seek condition
+     * (k1 > ?) OR (k1 = ? AND k2 > ?) ... can be applied to its sort key columns
+     */
+    private String sql(boolean seek, boolean ascending) {
+        if (sortKeys == null) {
+            return dialect.limit(query);
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM (").append(query).append(") keyset_page");
+        if (seek) {
+            sql.append(" WHERE ");
+            for (int i = 0; i < sortKeys.size(); i++) {
+                sql.append(i == 0 ? "(" : " OR (");
+                for (int j = 0; j < i; j++) {
+                    sql.append(sortKeys.get(j)).append(" = ? AND ");
+                }
+                sql.append(sortKeys.get(i)).append(ascending ? " > ?)" : " < ?)");
+            }
+        }
+        sql.append(" ORDER BY ");
+        for (int i = 0; i < sortKeys.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(sortKeys.get(i)).append(ascending ? " ASC" : " DESC");
+        }
+        return dialect.limit(sql.toString());
+    }
+
+    private int bindParameters(PreparedStatement statement) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            statement.setObject(i + 1, parameters[i]);
+        }
+        return parameters.length + 1;
+    }
+
+    private PreparedStatement statement(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        }
+        return statement;
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            // Not tracked
+        }
+    }
+
+    /**
+     * Pages an ordered query
+     *
+     * @param connection connection owned by the caller
+     * @param dialect SQL dialect of the database
+     * @param query query with ORDER BY clause making element order deterministic
+     * @param mapper row mapper
+     * @param parameters query parameters, bound to the count query as well
+     * @return page source of the query
+     */
+    public static <E> JdbcPageSource<E> ofQuery(Connection connection, SqlDialect dialect, String query, RowMapper<? extends E> mapper, Object... parameters) {
+        return new JdbcPageSource<E>(connection, dialect, query, null, null, mapper, parameters, DEFAULT_MAX_CACHED_STATEMENTS);
+    }
+
+    public static <E> JdbcPageSource<E> ofQueryAndCountQuery(Connection connection, SqlDialect dialect, String query, String countQuery,
+                                                             RowMapper<? extends E> mapper, Object... parameters) {
+        if (countQuery == null) {
+            throw new IllegalArgumentException("Count query cannot be null");
+        }
+        return new JdbcPageSource<E>(connection, dialect, query, countQuery, null, mapper, parameters, DEFAULT_MAX_CACHED_STATEMENTS);
+    }
+
+    /**
+     * Pages a query by its sort key columns. Query must not be ordered, it is ordered by the sort keys of pagination
+     *
+     * @param connection connection owned by the caller
+     * @param dialect SQL dialect of the database
+     * @param query unordered query selecting sort key columns
+     * @param sortKeys column names identifying a row uniquely
+     * @param mapper row mapper
+     * @param parameters query parameters, bound to the count query as well
+     * @return page source of the query seeking keyset paginations
+     */
+    public static <E> JdbcPageSource<E> ofKeysetQuery(Connection connection, SqlDialect dialect, String query, List<String> sortKeys,
+                                                      RowMapper<? extends E> mapper, Object... parameters) {
+        if (sortKeys == null) {
+            throw new IllegalArgumentException("Sort keys cannot be null");
+        }
+        return new JdbcPageSource<E>(connection, dialect, query, null, sortKeys, mapper, parameters, DEFAULT_MAX_CACHED_STATEMENTS);
+    }
+
+    /**
+     * Keyset response page with exact total size computed on first access
+     */
+    private static final class TotalAwareKeysetPage<E> extends KeysetPagedResponse<E> implements TotalAwareResponsePage<E> {
+        private LongSupplier totalSizeSupplier;
+        private long totalSize;
+        private volatile boolean totalSizeComputed;
+
+        private TotalAwareKeysetPage(List<E> source, KeysetPagination pagination, List<?> firstKeyset, List<?> lastKeyset,
+                                     LongSupplier totalSizeSupplier) {
+            super(source, pagination, firstKeyset, lastKeyset);
+            this.totalSizeSupplier = totalSizeSupplier;
+        }
+
+        @Override
+        public int getTotalSize() {
+            return Math.toIntExact(getLongTotalSize());
+        }
+
+        @Override
+        public long getLongTotalSize() {
+            if (!totalSizeComputed) {
+                synchronized (this) {
+                    if (!totalSizeComputed) {
+                        totalSize = totalSizeSupplier.getAsLong();
+                        totalSizeSupplier = null;
+                        totalSizeComputed = true;
+                    }
+                }
+            }
+            return totalSize;
+        }
+
+        @Override
+        public boolean isTotalSizeComputed() {
+            return totalSizeComputed;
+        }
+    }
+
+    private static final class Page {
+        private static final Page EMPTY = new Page(new Object[0], Collections.emptyList(), Collections.emptyList());
+
+        private final Object[] rows;
+        private final List<Object> firstKeyset;
+        private final List<Object> lastKeyset;
+
+        private Page(Object[] rows, List<Object> firstKeyset, List<Object> lastKeyset) {
+            this.rows = rows;
+            this.firstKeyset = firstKeyset;
+            this.lastKeyset = lastKeyset;
+        }
+    }
+}
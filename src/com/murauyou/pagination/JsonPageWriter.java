@@ -0,0 +1,255 @@
+package com.murauyou.pagination;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streaming UTF-8 JSON writer of response pages. Page is written as
+ * {"offset":0,"limit":10,"pageNumber":1,"totalSize":25,"totalSizeExact":true,"items":[...]}, total size fields are
+ * written for total aware pages only. Elements are written one by one by the element codec through the value methods
+ * of the writer, numbers and strings are encoded straight into the reusable buffer. Writer can be reused for any
+ * number of pages, it is not thread safe.
+ */
+public class JsonPageWriter extends BufferedPageWriter {
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] digits = new byte[20];
+    private boolean[] first = new boolean[8];
+    private int depth;
+    private boolean afterName;
+
+    protected JsonPageWriter(WritableByteChannel channel, int bufferSize) {
+        super(channel, bufferSize);
+    }
+
+    /**
+     * Writes the page and flushes the writer
+     *
+     * @param page response page
+     * @param codec element codec
+     * @throws IOException when output fails
+     */
+    public <E> void writePage(ResponsePage<E> page, ElementCodec<? super E> codec) throws IOException {
+        if (page == null) {
+            throw new IllegalArgumentException("Page cannot be null");
+        }
+        if (codec == null) {
+            throw new IllegalArgumentException("Element codec cannot be null");
+        }
+
+        // Page aborted by a failure may have left objects open
+        depth = 0;
+        afterName = false;
+        Arrays.fill(first, false);
+
+        Pagination pagination = page.getPagination();
+        long offset = pagination.getLongOffset();
+        int limit = pagination.getLimit();
+
+        beginObject();
+        name("offset");
+        value(offset);
+        name("limit");
+        value(limit);
+        name("pageNumber");
+        value(limit == 0 ? 1 : offset / limit + 1);
+        if (page instanceof TotalAwareResponsePage) {
+            TotalAwareResponsePage<E> totalAwarePage = (TotalAwareResponsePage<E>) page;
+            name("totalSize");
+            value(totalAwarePage.getLongTotalSize());
+            name("totalSizeExact");
+            value(totalAwarePage.isTotalSizeExact());
+        }
+        name("items");
+        beginArray();
+        List<E> elements = page.getPage();
+        for (int i = 0; i < elements.size(); i++) {
+            codec.writeJson(elements.get(i), this);
+        }
+        endArray();
+        endObject();
+        flush();
+    }
+
+    public void beginObject() throws IOException {
+        open((byte) '{');
+    }
+
+    public void endObject() throws IOException {
+        close((byte) '}');
+    }
+
+    public void beginArray() throws IOException {
+        open((byte) '[');
+    }
+
+    public void endArray() throws IOException {
+        close((byte) ']');
+    }
+
+    /**
+     * Writes object member name, the member value is written next
+     *
+     * @param name member name
+     * @throws IOException when output fails
+     */
+    public void name(CharSequence name) throws IOException {
+        separate();
+        string(name);
+        put((byte) ':');
+        afterName = true;
+    }
+
+    public void value(CharSequence value) throws IOException {
+        if (value == null) {
+            nullValue();
+            return;
+        }
+        separate();
+        string(value);
+    }
+
+    public void value(long value) throws IOException {
+        separate();
+        number(value);
+    }
+
+    /**
+     * Writes finite number, NaN and infinities are written as null since JSON has no literals for them
+     */
+    public void value(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            nullValue();
+            return;
+        }
+        separate();
+        if (value == (long) value && Math.abs(value) < 1e15) {
+            number((long) value);
+        } else {
+            ascii(Double.toString(value));
+        }
+    }
+
+    public void value(boolean value) throws IOException {
+        separate();
+        ascii(value ? "true" : "false");
+    }
+
+    public void nullValue() throws IOException {
+        separate();
+        ascii("null");
+    }
+
+    private void open(byte bracket) throws IOException {
+        separate();
+        put(bracket);
+        if (++depth == first.length) {
+            first = Arrays.copyOf(first, depth * 2);
+        }
+        first[depth] = true;
+    }
+
+    private void close(byte bracket) throws IOException {
+        if (depth == 0) {
+            throw new IllegalStateException("No object or array to close");
+        }
+        depth--;
+        put(bracket);
+    }
+
+    private void separate() throws IOException {
+        if (afterName) {
+            afterName = false;
+        } else if (depth > 0 && first[depth]) {
+            first[depth] = false;
+        } else if (depth > 0) {
+            put((byte) ',');
+        }
+    }
+
+    private void number(long value) throws IOException {
+        ensure(digits.length + 1);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                ascii("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+
+        int position = digits.length;
+        do {
+            digits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, position, digits.length - position);
+    }
+
+    private void ascii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            put((byte) value.charAt(i));
+        }
+    }
+
+    private void string(CharSequence value) throws IOException {
+        put((byte) '"');
+        int length = value.length();
+        int run = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\' || c < 0x20 || Utf8.isLoneSurrogate(value, i)) {
+                // Characters up to the one to escape are encoded as they are
+                putUtf8(value, run, i);
+                if (c == '"' || c == '\\') {
+                    ensure(2);
+                    buffer.put((byte) '\\').put((byte) c);
+                } else {
+                    // Lone surrogate can't be encoded in UTF-8, escaping keeps it in the string
+                    escape(c);
+                }
+                run = i + 1;
+            } else if (Character.isHighSurrogate(c)) {
+                i++;
+            }
+        }
+        putUtf8(value, run, length);
+        put((byte) '"');
+    }
+
+    private void escape(char c) throws IOException {
+        ensure(6);
+        buffer.put((byte) '\\');
+        switch (c) {
+            case '\n':
+                buffer.put((byte) 'n');
+                break;
+            case '\r':
+                buffer.put((byte) 'r');
+                break;
+            case '\t':
+                buffer.put((byte) 't');
+                break;
+            case '\b':
+                buffer.put((byte) 'b');
+                break;
+            case '\f':
+                buffer.put((byte) 'f');
+                break;
+            default:
+                buffer.put((byte) 'u').put(HEX[c >> 12]).put(HEX[(c >> 8) & 0xf]).put(HEX[(c >> 4) & 0xf]).put(HEX[c & 0xf]);
+        }
+    }
+
+    public static JsonPageWriter ofOutputStream(OutputStream output) {
+        return new JsonPageWriter(channelOf(output), DEFAULT_BUFFER_SIZE);
+    }
+
+    public static JsonPageWriter ofChannel(WritableByteChannel channel) {
+        return new JsonPageWriter(channel, DEFAULT_BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,94 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+public class KeysetPagedResponse<E> extends PagedResponse<E> implements KeysetResponsePage<E> {
+    private final KeysetPagination pagination;
+    private final List<Object> firstKeyset;
+    private final List<Object> lastKeyset;
+
+    protected KeysetPagedResponse(List<E> source, KeysetPagination pagination, List<?> firstKeyset, List<?> lastKeyset) {
+        super(source, pagination);
+        if (firstKeyset == null || lastKeyset == null) {
+            throw new IllegalArgumentException("Boundary keysets cannot be null");
+        }
+        if (!isEmpty() && (firstKeyset.size() != pagination.getSortKeys().size()
+                || lastKeyset.size() != pagination.getSortKeys().size())) {
+            throw new IllegalArgumentException("Boundary keysets should have a value per sort key");
+        }
+
+        this.pagination = pagination;
+        this.firstKeyset = Collections.unmodifiableList(new ArrayList<Object>(firstKeyset));
+        this.lastKeyset = Collections.unmodifiableList(new ArrayList<Object>(lastKeyset));
+    }
+
+    @Override
+    public KeysetPagination getPagination() {
+        return pagination;
+    }
+
+    @Override
+    public List<Object> getFirstKeyset() {
+        return firstKeyset;
+    }
+
+    @Override
+    public List<Object> getLastKeyset() {
+        return lastKeyset;
+    }
+
+    @Override
+    public KeysetPagination getNext() {
+        if (isEmpty()) {
+            return pagination.getNext();
+        }
+
+        return KeysetRequest.after(pagination.getSortKeys(), pagination.getDirection(), lastKeyset,
+                Math.addExact(pagination.getOffset(), pagination.getLimit()), pagination.getLimit());
+    }
+
+    @Override
+    public KeysetPagination getPrevious() throws NoPageAvailableException {
+        if (isEmpty()) {
+            return pagination.getPrevious();
+        }
+        if (pagination.getOffset() == 0) {
+            throw new NoPageAvailableException();
+        }
+
+        return KeysetRequest.before(pagination.getSortKeys(), pagination.getDirection(), firstKeyset,
+                Math.max(0, pagination.getOffset() - pagination.getLimit()), pagination.getLimit());
+    }
+
+    /**
+     * Creates a keyset response page extracting boundary keysets from the first and the last page elements
+     *
+     * @param source page elements in sort direction order
+     * @param pagination keyset pagination the elements were fetched with
+     * @param keysetExtractor function returning sort key values of an element, one per sort key
+     * @return new keyset response page
+     */
+    public static <E> KeysetPagedResponse<E> ofKeysetResponsePage(List<E> source, KeysetPagination pagination,
+                                                                  Function<? super E, ? extends List<?>> keysetExtractor) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source list cannot be null");
+        }
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (keysetExtractor == null) {
+            throw new IllegalArgumentException("Keyset extractor cannot be null");
+        }
+
+        int size = Math.min(source.size(), pagination.getLimit());
+        if (size == 0) {
+            return new KeysetPagedResponse<E>(source, pagination, Collections.emptyList(), Collections.emptyList());
+        }
+
+        return new KeysetPagedResponse<E>(source, pagination,
+                keysetExtractor.apply(source.get(0)), keysetExtractor.apply(source.get(size - 1)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.murauyou.pagination;
+
+import java.util.List;
+
+/**
+ * Pagination object driven by sort keys + boundary key values (keyset, also known as seek method).
+ * Instead of skipping 'offset' elements the page is located by the keyset of the last (or first) element
+ * seen on the neighbouring page, so fetching a deep page costs the same as fetching the first one.
+ * Offset is still tracked, but only as a logical position of the page used for page number computation.
+ */
+public interface KeysetPagination extends Pagination {
+
+    /**
+     * Returns names of the keys the elements are sorted by. Keys must identify an element uniquely
+     *
+     * @return sort key names, never empty
+     */
+    List<String> getSortKeys();
+
+    /**
+     * Returns direction the elements are sorted by sort keys
+     *
+     * @return sort direction
+     */
+    SortDirection getDirection();
+
+    /**
+     * Returns boundary key values, one per sort key. Empty keyset means no seek - page starts at offset
+     *
+     * @return boundary key values
+     */
+    List<Object> getKeyset();
+
+    /**
+     * Returns whether page elements are located before the keyset (previous page) instead of after it (next page).
+     * Elements of a backward page are still expected to be returned in sort direction order
+     *
+     * @return true when page is located before the keyset
+     */
+    boolean isBackward();
+
+    @Override
+    KeysetPagination getNext();
+
+    @Override
+    KeysetPagination getPrevious() throws NoPageAvailableException;
+
+}
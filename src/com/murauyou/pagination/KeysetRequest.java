@@ -0,0 +1,239 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keyset pagination implementation. Request without keyset behaves like an offset + limit request ordered by sort keys,
+ * request with keyset seeks elements after (or before, when backward) the keyset and uses offset only as a logical
+ * page position.
+ */
+public class KeysetRequest implements KeysetPagination {
+    private final List<String> sortKeys;
+    private final SortDirection direction;
+    private final List<Object> keyset;
+    private final boolean backward;
+    private final int offset;
+    private final int limit;
+
+    private KeysetRequest(List<String> sortKeys, SortDirection direction, List<?> keyset, boolean backward, int offset, int limit) {
+        if (sortKeys == null || sortKeys.isEmpty()) {
+            throw new IllegalArgumentException("Keyset pagination sort keys can't be empty.");
+        }
+        if (direction == null) {
+            throw new IllegalArgumentException("Keyset pagination direction can't be null.");
+        }
+        if (keyset == null) {
+            throw new IllegalArgumentException("Keyset pagination keyset can't be null.");
+        }
+        if (!keyset.isEmpty() && keyset.size() != sortKeys.size()) {
+            throw new IllegalArgumentException("Keyset pagination keyset should have a value per sort key.");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Pagination offset can't be less than 0.");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Pagination limit can't be less than 0.");
+        }
+        if ((long) offset + limit - 1 > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Pagination offset + limit overflows int.");
+        }
+
+        this.sortKeys = Collections.unmodifiableList(new ArrayList<String>(sortKeys));
+        this.direction = direction;
+        this.keyset = Collections.unmodifiableList(new ArrayList<Object>(keyset));
+        this.backward = backward && !keyset.isEmpty();
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    public List<String> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public SortDirection getDirection() {
+        return direction;
+    }
+
+    @Override
+    public List<Object> getKeyset() {
+        return keyset;
+    }
+
+    @Override
+    public boolean isBackward() {
+        return backward;
+    }
+
+    @Override
+    public int getFirst() {
+        return offset;
+    }
+
+    @Override
+    public int getLast() {
+        return ((offset + limit) - 1);
+    }
+
+    @Override
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public long getLongOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getPageNumber() {
+        // Zero limit page doesn't advance, it is always on the first page
+        return limit == 0 ? 1 : (offset / limit) + 1;
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    /**
+     * Creates a new pagination object representing the next page. Request doesn't know the keyset of its last element,
+     * so the next page is located by offset. Use {@link KeysetResponsePage#getNext()} to seek the next page by keyset
+     *
+     * @return new keyset pagination object without keyset and offset shifted by offset+limit
+     */
+    @Override
+    public KeysetPagination getNext() {
+        return new KeysetRequest(sortKeys, direction, Collections.emptyList(), false, Math.addExact(offset, limit), limit);
+    }
+
+    /**
+     * Creates a new pagination object representing the previous page. Request doesn't know the keyset of its first
+     * element, so the previous page is located by offset. Use {@link KeysetResponsePage#getPrevious()} to seek
+     * the previous page by keyset
+     *
+     * @return new keyset pagination object without keyset and offset shifted by offset-limit, but not below 0
+     * @throws NoPageAvailableException when the page is the very first result list page
+     */
+    @Override
+    public KeysetPagination getPrevious() throws NoPageAvailableException {
+        if (offset == 0) {
+            throw new NoPageAvailableException();
+        }
+
+        return new KeysetRequest(sortKeys, direction, Collections.emptyList(), false, Math.max(0, offset - limit), limit);
+    }
+
+    /**
+     * Creates a new keyset pagination object of the very first page with specified limit
+     *
+     * @param sortKeys names of the keys elements are sorted by
+     * @param direction sort direction
+     * @param limit pagination limit
+     * @return new keyset pagination object without keyset, offset = 0 and limit = 'limit'
+     */
+    public static KeysetPagination fromStartWithLimit(List<String> sortKeys, SortDirection direction, int limit) {
+        return new KeysetRequest(sortKeys, direction, Collections.emptyList(), false, 0, limit);
+    }
+
+    /**
+     * Creates a new keyset pagination object of the page following the specified keyset
+     *
+     * @param sortKeys names of the keys elements are sorted by
+     * @param direction sort direction
+     * @param keyset sort key values of the last element seen
+     * @param offset logical offset of the page
+     * @param limit pagination limit
+     * @return new keyset pagination object seeking elements after 'keyset'
+     */
+    public static KeysetPagination after(List<String> sortKeys, SortDirection direction, List<?> keyset, int offset, int limit) {
+        return new KeysetRequest(sortKeys, direction, keyset, false, offset, limit);
+    }
+
+    /**
+     * Creates a new keyset pagination object of the page preceding the specified keyset
+     *
+     * @param sortKeys names of the keys elements are sorted by
+     * @param direction sort direction
+     * @param keyset sort key values of the first element seen
+     * @param offset logical offset of the page
+     * @param limit pagination limit
+     * @return new keyset pagination object seeking elements before 'keyset'
+     */
+    public static KeysetPagination before(List<String> sortKeys, SortDirection direction, List<?> keyset, int offset, int limit) {
+        return new KeysetRequest(sortKeys, direction, keyset, true, offset, limit);
+    }
+
+    /**
+     * Creates pagination of the template kind at the specified offset. Keyset pagination keeps its sort keys and
+     * direction and is positioned by offset without keyset, the same way keyset from start is. Keyset requests keep
+     * int offsets, so walks positioned by offset are limited to int range for keyset pagination, seek by keyset
+     * to go past it
+     *
+     * @param template pagination whose kind, sort keys and direction are kept
+     * @param offset pagination offset
+     * @param limit pagination limit
+     * @return new pagination object at 'offset'
+     * @throws ArithmeticException when template is keyset pagination and offset + limit overflows int
+     */
+    static Pagination atOffset(Pagination template, long offset, int limit) {
+        if (!(template instanceof KeysetPagination)) {
+            return Paginations.ofOffsetAndLimit(offset, limit);
+        }
+        if (offset + limit - 1 > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Keyset pagination offset + limit overflows int, seek by keyset instead.");
+        }
+
+        KeysetPagination keysetPagination = (KeysetPagination) template;
+        return new KeysetRequest(keysetPagination.getSortKeys(), keysetPagination.getDirection(), Collections.emptyList(),
+                false, (int) offset, limit);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        KeysetRequest that = (KeysetRequest) o;
+
+        if (limit != that.limit) return false;
+        if (offset != that.offset) return false;
+        if (backward != that.backward) return false;
+        if (direction != that.direction) return false;
+        if (!sortKeys.equals(that.sortKeys)) return false;
+        if (!keyset.equals(that.keyset)) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = offset;
+        result = 31 * result + limit;
+        result = 31 * result + sortKeys.hashCode();
+        result = 31 * result + direction.hashCode();
+        result = 31 * result + keyset.hashCode();
+        result = 31 * result + (backward ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetRequest { " +
+                "sort keys = " + sortKeys + " " + direction +
+                (keyset.isEmpty() ? "" : ", " + (backward ? "before" : "after") + " keyset = " + keyset) +
+                " / " +
+                "offset = " + getOffset() + ", limit = " + getLimit() +
+                " / " +
+                "page number = " + getPageNumber() + ", page size = " + getPageSize() +
+                " }";
+    }
+}
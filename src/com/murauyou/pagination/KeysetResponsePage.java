@@ -0,0 +1,43 @@
+package com.murauyou.pagination;
+
+import java.util.List;
+
+/**
+ * Response page of keyset pagination which knows boundary keys of its elements,
+ * so neighbouring pages can be requested by seek instead of offset.
+ */
+public interface KeysetResponsePage<E> extends ResponsePage<E> {
+
+    @Override
+    KeysetPagination getPagination();
+
+    /**
+     * Returns sort key values of the first page element
+     *
+     * @return first element keyset or empty list when page is empty
+     */
+    List<Object> getFirstKeyset();
+
+    /**
+     * Returns sort key values of the last page element
+     *
+     * @return last element keyset or empty list when page is empty
+     */
+    List<Object> getLastKeyset();
+
+    /**
+     * Creates a new pagination object seeking the page right after the last element of this page
+     *
+     * @return new keyset pagination object with offset shifted by offset+limit
+     */
+    KeysetPagination getNext();
+
+    /**
+     * Creates a new pagination object seeking the page right before the first element of this page
+     *
+     * @return new keyset pagination object with offset shifted by offset-limit
+     * @throws NoPageAvailableException when traversing back came to the very first result list page
+     */
+    KeysetPagination getPrevious() throws NoPageAvailableException;
+
+}
@@ -0,0 +1,268 @@
+package com.murauyou.pagination;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Sparse index of line start positions of a newline-delimited file: keeps the start of every 'interval'-th line.
+ * Index is extended on demand up to the requested line and can be saved to / loaded from an index file which
+ * is valid as long as size and modification time of the indexed file don't change.
+ */
+final class LineOffsetIndex {
+    private static final int MAGIC = 0x4C494458;
+    private static final int FORMAT_VERSION = 1;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int interval;
+    private final int windowSize;
+    private long[] checkpoints;
+    private int checkpointCount;
+    private long scannedLines;
+    private long scannedPosition;
+    private boolean modified;
+
+    LineOffsetIndex(FileChannel channel, long fileSize, int interval, int windowSize) {
+        this(channel, fileSize, interval, windowSize, new long[16], 1, 0, 0);
+        this.modified = true;
+    }
+
+    private LineOffsetIndex(FileChannel channel, long fileSize, int interval, int windowSize, long[] checkpoints,
+                            int checkpointCount, long scannedLines, long scannedPosition) {
+        this.channel = channel;
+        this.fileSize = fileSize;
+        this.interval = interval;
+        this.windowSize = windowSize;
+        this.checkpoints = checkpoints;
+        this.checkpointCount = checkpointCount;
+        this.scannedLines = scannedLines;
+        this.scannedPosition = scannedPosition;
+    }
+
+    /**
+     * Returns number of lines of the file once whole file was indexed
+     *
+     * @return number of lines or -1 when end of the file wasn't reached yet
+     */
+    synchronized long getLineCount() {
+        return scannedPosition >= fileSize ? scannedLines : -1;
+    }
+
+    /**
+     * Returns start position of the line extending index up to it when needed. Costs at most 'interval' lines scan
+     * once the line is indexed
+     *
+     * @param line zero-based line number
+     * @return start position of the line or -1 when file has fewer lines
+     */
+    long positionOf(long line) throws IOException {
+        long position;
+        long skip;
+        synchronized (this) {
+            extendTo(line);
+            if (line > scannedLines || line == scannedLines && scannedPosition >= fileSize) {
+                return -1;
+            }
+            if (line == scannedLines) {
+                return scannedPosition;
+            }
+
+            int checkpoint = (int) (line / interval);
+            position = checkpoints[checkpoint];
+            skip = line - (long) checkpoint * interval;
+        }
+
+        Scanner scanner = new Scanner();
+        for (long i = 0; i < skip; i++) {
+            position = scanner.indexOfNewline(position) + 1;
+        }
+        return position;
+    }
+
+    /**
+     * Reads boundaries of up to 'maxCount' lines starting at the position. Line terminators ("\n" or "\r\n")
+     * are excluded from line bounds
+     *
+     * @param position start position of the first line
+     * @param maxCount max number of lines
+     * @return bounds of read lines relative to the position
+     */
+    LineRange readLines(long position, int maxCount) throws IOException {
+        int[] starts = new int[Math.min(maxCount, 1024)];
+        int[] ends = new int[starts.length];
+        int count = 0;
+
+        Scanner scanner = new Scanner();
+        long current = position;
+        while (count < maxCount && current < fileSize) {
+            long newline = scanner.indexOfNewline(current);
+            long end = newline < 0 ? fileSize : newline;
+            long next = newline < 0 ? fileSize : newline + 1;
+            if (end > current && scanner.byteAt(end - 1) == '\r') {
+                end--;
+            }
+            if (next - position > Integer.MAX_VALUE) {
+                throw new IOException("Page doesn't fit into a single mapped region");
+            }
+
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, Math.min(count * 2, maxCount));
+                ends = Arrays.copyOf(ends, starts.length);
+            }
+            starts[count] = (int) (current - position);
+            ends[count] = (int) (end - position);
+            count++;
+            current = next;
+        }
+
+        return new LineRange(position, current, starts, ends, count);
+    }
+
+    synchronized void save(Path indexFile, long lastModified) throws IOException {
+        if (!modified) {
+            return;
+        }
+
+        Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(lastModified);
+            out.writeInt(interval);
+            out.writeLong(scannedLines);
+            out.writeLong(scannedPosition);
+            out.writeInt(checkpointCount);
+            for (int i = 0; i < checkpointCount; i++) {
+                out.writeLong(checkpoints[i]);
+            }
+        }
+
+        try {
+            Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        modified = false;
+    }
+
+    /**
+     * Loads index saved for the file
+     *
+     * @return loaded index or null when index file is missing, corrupted or was built for another version of the file
+     */
+    static LineOffsetIndex load(Path indexFile, FileChannel channel, long fileSize, long lastModified, int interval,
+                                int windowSize) {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || in.readLong() != fileSize
+                    || in.readLong() != lastModified || in.readInt() != interval) {
+                return null;
+            }
+
+            long scannedLines = in.readLong();
+            long scannedPosition = in.readLong();
+            int checkpointCount = in.readInt();
+            if (scannedLines < 0 || scannedPosition < 0 || scannedPosition > fileSize || checkpointCount < 1
+                    || checkpointCount - 1 > scannedLines / interval) {
+                return null;
+            }
+
+            long[] checkpoints = new long[Math.max(checkpointCount, 16)];
+            for (int i = 0; i < checkpointCount; i++) {
+                checkpoints[i] = in.readLong();
+            }
+            return new LineOffsetIndex(channel, fileSize, interval, windowSize, checkpoints, checkpointCount,
+                    scannedLines, scannedPosition);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private void extendTo(long line) throws IOException {
+        if (scannedLines >= line || scannedPosition >= fileSize) {
+            return;
+        }
+
+        Scanner scanner = new Scanner();
+        while (scannedLines < line && scannedPosition < fileSize) {
+            long newline = scanner.indexOfNewline(scannedPosition);
+            scannedPosition = newline < 0 ? fileSize : newline + 1;
+            scannedLines++;
+            if (scannedLines % interval == 0 && scannedPosition < fileSize) {
+                if (checkpointCount == checkpoints.length) {
+                    checkpoints = Arrays.copyOf(checkpoints, checkpointCount * 2);
+                }
+                checkpoints[checkpointCount++] = scannedPosition;
+            }
+        }
+        modified = true;
+    }
+
+    /**
+     * Bounds of consecutive lines of the file
+     */
+    static final class LineRange {
+        final long start;
+        final long end;
+        final int[] starts;
+        final int[] ends;
+        final int count;
+
+        private LineRange(long start, long end, int[] starts, int[] ends, int count) {
+            this.start = start;
+            this.end = end;
+            this.starts = starts;
+            this.ends = ends;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Reads the file through a sliding mapped window
+     */
+    private final class Scanner {
+        private MappedByteBuffer window;
+        private long windowStart;
+
+        private byte byteAt(long position) throws IOException {
+            moveTo(position);
+            return window.get((int) (position - windowStart));
+        }
+
+        private long indexOfNewline(long from) throws IOException {
+            long position = from;
+            while (position < fileSize) {
+                moveTo(position);
+                int limit = window.limit();
+                for (int i = (int) (position - windowStart); i < limit; i++) {
+                    if (window.get(i) == '\n') {
+                        return windowStart + i;
+                    }
+                }
+                position = windowStart + limit;
+            }
+            return -1;
+        }
+
+        private void moveTo(long position) throws IOException {
+            if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+                windowStart = position;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, fileSize - position));
+            }
+        }
+    }
+}
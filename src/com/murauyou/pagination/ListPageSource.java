@@ -0,0 +1,40 @@
+package com.murauyou.pagination;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page source serving total aware pages of an in-memory list. Supports offset + limit pagination only.
+ */
+public class ListPageSource<E> implements PageSource<E> {
+    private final List<E> source;
+
+    protected ListPageSource(List<E> source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source list cannot be null");
+        }
+
+        this.source = source;
+    }
+
+    @Override
+    public TotalAwareResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("List page source can't seek by keyset");
+        }
+
+        int size = source.size();
+        long from = Math.min(pagination.getLongOffset(), size);
+        long to = Math.min(from + pagination.getLimit(), size);
+
+        List<E> page = from == to ? Collections.<E>emptyList() : source.subList((int) from, (int) to);
+        return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(page, pagination, (long) size);
+    }
+
+    public static <E> ListPageSource<E> ofList(List<E> source) {
+        return new ListPageSource<E>(source);
+    }
+}
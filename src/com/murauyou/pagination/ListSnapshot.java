@@ -0,0 +1,65 @@
+package com.murauyou.pagination;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable version of a {@link VersionedList}. Taking a snapshot is O(1) as it shares structure with the list,
+ * all pages of a snapshot are consistent with each other no matter how the list changes meanwhile.
+ */
+public class ListSnapshot<E> extends AbstractList<E> implements RandomAccess, PageSource<E> {
+    private final PersistentRankTree<E> tree;
+    private final long version;
+
+    ListSnapshot(PersistentRankTree<E> tree, long version) {
+        this.tree = tree;
+        this.version = version;
+    }
+
+    @Override
+    public VersionedResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("List snapshot can't seek by keyset");
+        }
+
+        int size = tree.size();
+        int from = (int) Math.min(pagination.getLongOffset(), size);
+        int to = (int) Math.min((long) from + pagination.getLimit(), size);
+
+        List<E> page = CompactPageList.wrap(tree.toArray(from, to));
+        return VersionedPagedResponse.ofResponseAndSizeAndVersion(page, pagination, size, version);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    @Override
+    public E get(int index) {
+        return tree.get(index);
+    }
+
+    @Override
+    public int size() {
+        return tree.size();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return tree.iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return tree.toArray(0, tree.size());
+    }
+
+    PersistentRankTree<E> getTree() {
+        return tree;
+    }
+}
@@ -0,0 +1,122 @@
+package com.murauyou.pagination;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Lock-free histogram of non-negative values with power of two buckets: bucket 0 counts zeros, bucket n counts
+ * values in [2^(n-1), 2^n). Buckets are striped counters, so concurrent recording doesn't contend on a single
+ * cache line. Percentiles are resolved to the bucket upper bound, which is precise enough to tell page 2 from
+ * page 20000. Negative values are recorded as zeros.
+ */
+public final class Log2Histogram {
+    public static final int BUCKET_COUNT = 65;
+
+    private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+        @Override
+        public long applyAsLong(long left, long right) {
+            return Math.max(left, right);
+        }
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BUCKET_COUNT];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(MAX, 0);
+
+    Log2Histogram() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        value = Math.max(value, 0);
+        buckets[bucketOf(value)].increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns mean of the recorded values. Returns 0.0 when nothing was recorded yet
+     *
+     * @return mean value
+     */
+    public double getMean() {
+        long count = getCount();
+        return count == 0 ? 0.0 : (double) getSum() / count;
+    }
+
+    public long getBucketCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    /**
+     * Returns upper bound of the bucket the percentile falls into, never greater than the max recorded value.
+     * Returns 0 when nothing was recorded yet
+     *
+     * @param percentile percentile in range [0.0, 1.0]
+     * @return percentile value estimate
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 1.0) {
+            throw new IllegalArgumentException("Percentile should be in range [0.0, 1.0].");
+        }
+
+        long[] counts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMax());
+            }
+        }
+        return 0;
+    }
+
+    void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    static int bucketOf(long value) {
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    static long upperBoundOf(int bucket) {
+        return bucket == 64 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "Log2Histogram { " +
+                "count = " + getCount() + ", mean = " + getMean() +
+                ", p50 = " + getPercentile(0.5) + ", p99 = " + getPercentile(0.99) + ", max = " + getMax() +
+                " }";
+    }
+}
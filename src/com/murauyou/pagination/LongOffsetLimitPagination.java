@@ -0,0 +1,22 @@
+package com.murauyou.pagination;
+
+/**
+ * Pagination object driven by 64-bit offset + limit pair. Used for result lists exceeding int index range.
+ */
+public interface LongOffsetLimitPagination {
+
+    /**
+     * Returns pagination offset. Offset starts from 0 and includes the first element
+     *
+     * @return pagination offset
+     */
+    long getLongOffset();
+
+    /**
+     * Returns pagination limit. Limit is always greater than 0 - used to return number of elements
+     *
+     * @return pagination limit
+     */
+    int getLimit();
+
+}
@@ -0,0 +1,174 @@
+package com.murauyou.pagination;
+
+/**
+ * Pagination implementation with 64-bit offset for result lists exceeding int index range.
+ * Int based accessors ({@link #getOffset()}, {@link #getFirst()}, {@link #getLast()}, {@link #getPageNumber()})
+ * throw {@link ArithmeticException} when the value doesn't fit int, use long based accessors instead.
+ */
+public class LongPagedRequest implements Pagination {
+    private final long offset;
+    private final int limit;
+
+    private LongPagedRequest(long offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Pagination offset can't be less than 0.");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Pagination limit can't be less than 0.");
+        }
+        if (limit > 0 && offset > Long.MAX_VALUE - (limit - 1)) {
+            throw new ArithmeticException("Pagination offset + limit overflows long.");
+        }
+
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    public int getFirst() {
+        return Math.toIntExact(getLongFirst());
+    }
+
+    @Override
+    public int getLast() {
+        return Math.toIntExact(getLongLast());
+    }
+
+    @Override
+    public int getOffset() {
+        return Math.toIntExact(offset);
+    }
+
+    @Override
+    public long getLongOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return Math.toIntExact(getLongPageNumber());
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    /**
+     * Returns first element index. Elements index starts from 0
+     *
+     * @return first element index
+     */
+    public long getLongFirst() {
+        return offset;
+    }
+
+    /**
+     * Returns last included in page element index. Elements index starts from 0
+     *
+     * @return last element index in page
+     */
+    public long getLongLast() {
+        return ((offset + limit) - 1);
+    }
+
+    /**
+     * Returns pagination page number. Page number starts from 1
+     *
+     * @return pagination page number
+     */
+    public long getLongPageNumber() {
+        return limit == 0 ? 1 : (offset / limit) + 1;
+    }
+
+    /**
+     * Creates a new pagination object representing the next page
+     *
+     * @return new pagination object with offset shifted by offset+limit
+     * @throws ArithmeticException when next page offset overflows long
+     */
+    @Override
+    public Pagination getNext() {
+        return new LongPagedRequest(Math.addExact(offset, limit), limit);
+    }
+
+    /**
+     * Creates a new pagination object representing the previous page
+     *
+     * @return new pagination object with offset shifted by offset-limit, int based one when previous page fits
+     * int index range
+     * @throws NoPageAvailableException when traversing back came to the very first result list page
+     */
+    @Override
+    public Pagination getPrevious() throws NoPageAvailableException {
+        if (limit >= offset) {
+            throw new NoPageAvailableException();
+        } else {
+            return PagedRequest.ofLongOffsetAndLimit(offset - limit, limit);
+        }
+    }
+
+    /**
+     * Creates a new pagination object of the specified offset and limit
+     *
+     * @param offset pagination offset
+     * @param limit pagination limit
+     * @return new pagination object with offset = 'offset' and limit = 'limit'
+     */
+    public static LongPagedRequest ofOffsetAndLimit(long offset, int limit) {
+        return new LongPagedRequest(offset, limit);
+    }
+
+    /**
+     * Creates a new pagination object of the specified page number and page size
+     *
+     * @param pageNumber pagination page number
+     * @param pageSize pagination page size
+     * @return new pagination object with page number = 'pageNumber' and page size = 'pageSize'
+     * @throws ArithmeticException when page offset overflows long
+     */
+    public static LongPagedRequest ofPageNumberAndPageSize(long pageNumber, int pageSize) {
+        if (pageNumber < 1) {
+            throw new IllegalArgumentException("Pagination page number can't be less than 1.");
+        }
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Pagination page size can't be less than 0.");
+        }
+
+        return new LongPagedRequest(Math.multiplyExact(pageNumber - 1, (long) pageSize), pageSize);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        LongPagedRequest that = (LongPagedRequest) o;
+
+        if (limit != that.limit) return false;
+        if (offset != that.offset) return false;
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (offset ^ (offset >>> 32));
+        result = 31 * result + limit;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "LongPagedRequest { " +
+                "offset = " + getLongOffset() + ", limit = " + getLimit() +
+                " / " +
+                "page number = " + getLongPageNumber() + ", page size = " + getPageSize() +
+                " }";
+    }
+}
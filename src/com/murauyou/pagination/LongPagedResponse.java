@@ -0,0 +1,160 @@
+package com.murauyou.pagination;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * Long response page backed by a long array range. Sub lists and sub pages share the backing array.
+ */
+public class LongPagedResponse extends PrimitivePagedResponse implements LongResponsePage {
+    private final long[] source;
+
+    protected LongPagedResponse(long[] source, int from, int size, Pagination pagination) {
+        super(checkSource(source).length, from, size, pagination);
+
+        this.source = source;
+    }
+
+    @Override
+    public long[] toArray() {
+        return Arrays.copyOfRange(source, from, from + size);
+    }
+
+    @Override
+    public boolean contains(long value) {
+        return indexOfReal(value) != -1;
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < from + size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (next >= from + size) {
+                    throw new NoSuchElementException();
+                }
+                return source[next++];
+            }
+        };
+    }
+
+    @Override
+    public LongStream stream() {
+        return Arrays.stream(source, from, from + size);
+    }
+
+    @Override
+    public long get(int index) {
+        return get((long) index);
+    }
+
+    @Override
+    public long get(long index) {
+        return source[arrayIndex(index)];
+    }
+
+    @Override
+    public int indexOf(long value) {
+        return Math.toIntExact(longIndexOf(value));
+    }
+
+    @Override
+    public long longIndexOf(long value) {
+        return elementIndex(indexOfReal(value));
+    }
+
+    @Override
+    public int lastIndexOf(long value) {
+        return Math.toIntExact(longLastIndexOf(value));
+    }
+
+    @Override
+    public long longLastIndexOf(long value) {
+        for (int i = from + size - 1; i >= from; i--) {
+            if (source[i] == value) {
+                return elementIndex(i);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public LongBuffer subList(int fromIndex, int toIndex) {
+        return subList((long) fromIndex, (long) toIndex);
+    }
+
+    @Override
+    public LongBuffer subList(long fromIndex, long toIndex) {
+        return LongBuffer.wrap(source, arrayIndex(fromIndex, toIndex), (int) (toIndex - fromIndex)).slice().asReadOnlyBuffer();
+    }
+
+    @Override
+    public LongResponsePage subPage(long fromIndex, long toIndex) {
+        int length = (int) (toIndex - fromIndex);
+        return new LongPagedResponse(source, arrayIndex(fromIndex, toIndex), length, PagedRequest.ofLongOffsetAndLimit(fromIndex, length));
+    }
+
+    private int indexOfReal(long value) {
+        for (int i = from; i < from + size; i++) {
+            if (source[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long[] checkSource(long[] source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source array cannot be null");
+        }
+        return source;
+    }
+
+    /**
+     * Creates long response page keeping a right-sized copy of up to 'limit' source array values
+     *
+     * @param source source array
+     * @param pagination pagination of the page
+     * @return new long response page
+     */
+    public static LongPagedResponse ofResponsePage(long[] source, Pagination pagination) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source array cannot be null");
+        }
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        int size = Math.min(source.length, pagination.getLimit());
+        return new LongPagedResponse(Arrays.copyOf(source, size), 0, size, pagination);
+    }
+
+    /**
+     * Creates long response page over the source array without copying. Page reflects changes of the source array
+     * and retains it, so it should only be used for short-lived pages or arrays owned by the page
+     *
+     * @param source source array
+     * @param pagination pagination of the page
+     * @return new long response page
+     */
+    public static LongPagedResponse ofResponsePageView(long[] source, Pagination pagination) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source array cannot be null");
+        }
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        return new LongPagedResponse(source, 0, Math.min(source.length, pagination.getLimit()), pagination);
+    }
+}
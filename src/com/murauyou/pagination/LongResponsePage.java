@@ -0,0 +1,60 @@
+package com.murauyou.pagination;
+
+import java.nio.LongBuffer;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+/**
+ * Response page of long values (ids, timestamps) kept without boxing. Element index is translated by pagination
+ * offset the same way {@link ResponsePage} does.
+ */
+public interface LongResponsePage {
+
+    Pagination getPagination();
+
+    long[] toArray();
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean contains(long value);
+
+    PrimitiveIterator.OfLong iterator();
+
+    LongStream stream();
+
+    long get(int index);
+
+    long get(long index);
+
+    int indexOf(long value);
+
+    long longIndexOf(long value);
+
+    int lastIndexOf(long value);
+
+    long longLastIndexOf(long value);
+
+    /**
+     * Returns read-only view of the values between element indexes. View is indexed from 0, the same way
+     * as the list returned by {@link ResponsePage#subList(int, int)}
+     *
+     * @param fromIndex low endpoint (inclusive) element index
+     * @param toIndex high endpoint (exclusive) element index
+     * @return values view indexed from 0
+     */
+    LongBuffer subList(int fromIndex, int toIndex);
+
+    LongBuffer subList(long fromIndex, long toIndex);
+
+    /**
+     * Returns page of the values between element indexes, which keeps element indexes of this page
+     *
+     * @param fromIndex low endpoint (inclusive) element index
+     * @param toIndex high endpoint (exclusive) element index
+     * @return sub page with offset 'fromIndex'
+     */
+    LongResponsePage subPage(long fromIndex, long toIndex);
+
+}
@@ -0,0 +1,172 @@
+package com.murauyou.pagination;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Page source over records of a memory-mapped file, so files far beyond 2GB can be paged by long offsets.
+ * Fixed-width records are located by arithmetic. Newline-delimited records are located through a sparse line
+ * offset index which is extended on demand and persisted next to the file as '&lt;file&gt;.idx', so a page seek
+ * costs at most one index interval scan once the index covers it. Page elements are decoded lazily from the mapped
+ * page region, hence reading a page costs roughly the page bytes. File is expected not to change while the source
+ * is open. Supports offset + limit pagination only.
+ */
+public class MappedFilePageSource<E> implements PageSource<E>, AutoCloseable {
+    private static final int DEFAULT_INDEX_INTERVAL = 1024;
+    private static final int DEFAULT_WINDOW_SIZE = 16 * 1024 * 1024;
+
+    private final Path file;
+    private final Path indexFile;
+    private final FileChannel channel;
+    private final long fileSize;
+    private final long lastModified;
+    private final int recordWidth;
+    private final LineOffsetIndex index;
+    private final RecordDecoder<E> decoder;
+
+    protected MappedFilePageSource(Path file, int recordWidth, int indexInterval, int windowSize, RecordDecoder<E> decoder) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        if (decoder == null) {
+            throw new IllegalArgumentException("Record decoder cannot be null");
+        }
+        if (recordWidth < 0) {
+            throw new IllegalArgumentException("Record width can't be less than 0.");
+        }
+        if (indexInterval < 1) {
+            throw new IllegalArgumentException("Index interval can't be less than 1.");
+        }
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size can't be less than 1.");
+        }
+
+        this.file = file;
+        this.indexFile = file.resolveSibling(file.getFileName() + ".idx");
+        this.recordWidth = recordWidth;
+        this.decoder = decoder;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            this.fileSize = channel.size();
+            this.lastModified = Files.getLastModifiedTime(file).toMillis();
+            if (recordWidth > 0) {
+                this.index = null;
+            } else {
+                LineOffsetIndex loaded = LineOffsetIndex.load(indexFile, channel, fileSize, lastModified, indexInterval, windowSize);
+                this.index = loaded != null ? loaded : new LineOffsetIndex(channel, fileSize, indexInterval, windowSize);
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public ResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Mapped file page source can't seek by keyset");
+        }
+
+        try {
+            return recordWidth > 0 ? fetchFixedWidthRecords(pagination) : fetchLines(pagination);
+        } catch (IOException ex) {
+            throw new PageFetchException("Failed to read page of " + file, ex);
+        }
+    }
+
+    /**
+     * Saves line offset index next to the file unless it is up to date. Index is saved on close as well
+     */
+    public void persistIndex() throws IOException {
+        if (index != null) {
+            index.save(indexFile, lastModified);
+        }
+    }
+
+    /**
+     * Persists line offset index and releases the file. Pages fetched before stay readable
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            persistIndex();
+        } finally {
+            channel.close();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Path getIndexFile() {
+        return indexFile;
+    }
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    private ResponsePage<E> fetchFixedWidthRecords(Pagination pagination) throws IOException {
+        long recordCount = fileSize / recordWidth;
+        long from = Math.min(pagination.getLongOffset(), recordCount);
+        int size = (int) Math.min(recordCount - from, pagination.getLimit());
+
+        List<E> page = Collections.<E>emptyList();
+        if (size > 0) {
+            long length = (long) size * recordWidth;
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("Page doesn't fit into a single mapped region");
+            }
+            ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, from * recordWidth, length);
+            page = MappedRecordList.ofFixedWidthRecords(region, recordWidth, size, decoder);
+        }
+        return TotalAwarePagedResponse.ofResponseViewAndSizeAndPagination(page, pagination, recordCount);
+    }
+
+    private ResponsePage<E> fetchLines(Pagination pagination) throws IOException {
+        long offset = pagination.getLongOffset();
+        long position = pagination.getLimit() == 0 ? -1 : index.positionOf(offset);
+
+        List<E> page = Collections.<E>emptyList();
+        long totalSize = index.getLineCount();
+        if (position >= 0) {
+            LineOffsetIndex.LineRange range = index.readLines(position, pagination.getLimit());
+            ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, range.start, range.end - range.start);
+            page = MappedRecordList.ofRecords(region, range.starts, range.ends, range.count, decoder);
+            if (range.end >= fileSize) {
+                totalSize = offset + range.count;
+            }
+        }
+
+        if (totalSize >= 0) {
+            return TotalAwarePagedResponse.ofResponseViewAndSizeAndPagination(page, pagination, totalSize);
+        }
+        return PagedResponse.ofResponsePageView(page, pagination);
+    }
+
+    public static <E> MappedFilePageSource<E> ofFixedWidthRecords(Path file, int recordWidth, RecordDecoder<E> decoder) throws IOException {
+        if (recordWidth < 1) {
+            throw new IllegalArgumentException("Record width can't be less than 1.");
+        }
+
+        return new MappedFilePageSource<E>(file, recordWidth, DEFAULT_INDEX_INTERVAL, DEFAULT_WINDOW_SIZE, decoder);
+    }
+
+    public static <E> MappedFilePageSource<E> ofLines(Path file, RecordDecoder<E> decoder) throws IOException {
+        return new MappedFilePageSource<E>(file, 0, DEFAULT_INDEX_INTERVAL, DEFAULT_WINDOW_SIZE, decoder);
+    }
+
+    public static <E> MappedFilePageSource<E> ofLines(Path file, int indexInterval, RecordDecoder<E> decoder) throws IOException {
+        return new MappedFilePageSource<E>(file, 0, indexInterval, DEFAULT_WINDOW_SIZE, decoder);
+    }
+}
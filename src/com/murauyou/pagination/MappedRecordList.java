@@ -0,0 +1,68 @@
+package com.murauyou.pagination;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable list of records of a mapped file region. Records are decoded on first access and kept decoded.
+ */
+final class MappedRecordList<E> extends AbstractList<E> implements RandomAccess {
+    private static final Object NULL = new Object();
+
+    private final ByteBuffer region;
+    private final int[] starts;
+    private final int[] ends;
+    private final int recordWidth;
+    private final int size;
+    private final RecordDecoder<E> decoder;
+    private final Object[] decoded;
+
+    private MappedRecordList(ByteBuffer region, int[] starts, int[] ends, int recordWidth, int size, RecordDecoder<E> decoder) {
+        this.region = region;
+        this.starts = starts;
+        this.ends = ends;
+        this.recordWidth = recordWidth;
+        this.size = size;
+        this.decoder = decoder;
+        this.decoded = new Object[size];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+
+        Object element = decoded[index];
+        if (element == null) {
+            element = decode(index);
+            decoded[index] = element == null ? NULL : element;
+        }
+        return element == NULL ? null : (E) element;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private E decode(int index) {
+        int start = starts == null ? index * recordWidth : starts[index];
+        int end = starts == null ? start + recordWidth : ends[index];
+
+        ByteBuffer record = region.duplicate();
+        record.limit(end);
+        record.position(start);
+        return decoder.decode(record.slice());
+    }
+
+    static <E> MappedRecordList<E> ofFixedWidthRecords(ByteBuffer region, int recordWidth, int size, RecordDecoder<E> decoder) {
+        return new MappedRecordList<E>(region, null, null, recordWidth, size, decoder);
+    }
+
+    static <E> MappedRecordList<E> ofRecords(ByteBuffer region, int[] starts, int[] ends, int size, RecordDecoder<E> decoder) {
+        return new MappedRecordList<E>(region, starts, ends, 0, size, decoder);
+    }
+}
@@ -0,0 +1,113 @@
+package com.murauyou.pagination;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Page source decorator recording requested offset and limit, returned page size and fetch latency of every page
+ * to pagination metrics under the source name. Lazily counted total size of plain total aware pages is timed when
+ * it is computed, use {@link #totalSize(LongSupplier)} to time total size counters passed to the pages directly.
+ * Metrics not specified explicitly are the global ones looked up on every fetch, so setting global metrics later
+ * takes effect on existing sources. Failed fetches are not recorded.
+ */
+public class MeteredPageSource<E> implements PageSource<E> {
+    private final String name;
+    private final PageSource<E> source;
+    private final PaginationMetrics metrics;
+    private final LongSupplier clock;
+
+    protected MeteredPageSource(String name, PageSource<E> source, PaginationMetrics metrics, LongSupplier clock) {
+        if (name == null) {
+            throw new IllegalArgumentException("Source name cannot be null");
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+
+        this.name = name;
+        this.source = source;
+        this.metrics = metrics;
+        this.clock = clock;
+    }
+
+    @Override
+    public ResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        final PaginationMetrics metrics = metrics();
+        if (metrics == PaginationMetrics.NOOP) {
+            return source.fetch(pagination);
+        }
+
+        long start = clock.getAsLong();
+        ResponsePage<E> page = source.fetch(pagination);
+        metrics.recordFetchLatency(name, clock.getAsLong() - start);
+        metrics.recordPage(name, pagination.getLongOffset(), pagination.getLimit(), page.getPage().size());
+
+        // Subclasses of total aware pages carry more than the total, only the plain ones are rewrapped
+        if (page.getClass() == TotalAwarePagedResponse.class && !((TotalAwarePagedResponse<E>) page).isTotalSizeComputed()) {
+            final TotalAwarePagedResponse<E> totalAwarePage = (TotalAwarePagedResponse<E>) page;
+            return new TotalAwarePagedResponse<E>(page.getPage(), page.getPagination(), timed(metrics, new LongSupplier() {
+                @Override
+                public long getAsLong() {
+                    return totalAwarePage.getLongTotalSize();
+                }
+            }), totalAwarePage.isTotalSizeExact(), PageStorage.VIEW);
+        }
+        return page;
+    }
+
+    /**
+     * Wraps the total size counter, so every count is recorded as total size latency of this source
+     *
+     * @param counter total size counter, e.g. count query
+     * @return counter recording its latency
+     */
+    public LongSupplier totalSize(LongSupplier counter) {
+        if (counter == null) {
+            throw new IllegalArgumentException("Total size counter cannot be null");
+        }
+
+        PaginationMetrics metrics = metrics();
+        return metrics == PaginationMetrics.NOOP ? counter : timed(metrics, counter);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private LongSupplier timed(final PaginationMetrics metrics, final LongSupplier counter) {
+        return new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                long start = clock.getAsLong();
+                long totalSize = counter.getAsLong();
+                metrics.recordTotalSizeLatency(name, clock.getAsLong() - start);
+                return totalSize;
+            }
+        };
+    }
+
+    private PaginationMetrics metrics() {
+        return metrics != null ? metrics : Paginations.getMetrics();
+    }
+
+    /**
+     * Creates a new metered page source recording to the global metrics
+     *
+     * @param name source name metrics are recorded under
+     * @param source page source
+     * @return new metered page source
+     */
+    public static <E> MeteredPageSource<E> ofPageSource(String name, PageSource<E> source) {
+        return new MeteredPageSource<E>(name, source, null, NanoClock.SYSTEM);
+    }
+
+    public static <E> MeteredPageSource<E> ofPageSourceAndMetrics(String name, PageSource<E> source, PaginationMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Pagination metrics cannot be null");
+        }
+        return new MeteredPageSource<E>(name, source, metrics, NanoClock.SYSTEM);
+    }
+}
@@ -0,0 +1,18 @@
+package com.murauyou.pagination;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Monotonic nanosecond clock, replaced by a manual one in tests of time dependent behaviour.
+ */
+final class NanoClock implements LongSupplier {
+    static final NanoClock SYSTEM = new NanoClock();
+
+    private NanoClock() {
+    }
+
+    @Override
+    public long getAsLong() {
+        return System.nanoTime();
+    }
+}
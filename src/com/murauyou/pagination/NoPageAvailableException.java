@@ -5,10 +5,15 @@ package com.murauyou.pagination;
  * User: Anton Murauyou
  * Date: 10/23/14
  * Time: 17:58
+ *
+ * Signals that there is no page in the requested direction. Exception is a control flow signal rather than
+ * an error, so it doesn't capture stack trace and is cheap to throw.
  */
 public class NoPageAvailableException extends Exception {
+    private static final long serialVersionUID = 1L;
 
     public NoPageAvailableException() {
+        super(null, null, false, false);
     }
 
 }
@@ -0,0 +1,66 @@
+package com.murauyou.pagination;
+
+/**
+ * Snapshot of page cache statistics. Hits and misses are counted per block, loads per upstream fetch.
+ */
+public final class PageCacheStats {
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long evictionCount;
+
+    PageCacheStats(long hitCount, long missCount, long loadCount, long evictionCount) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * Returns ratio of blocks served from cache. Returns 1.0 when nothing was requested yet
+     *
+     * @return hit rate in range [0.0, 1.0]
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * Returns number of upstream fetches. Adjacent missing blocks are loaded by a single fetch
+     *
+     * @return number of upstream fetches
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /**
+     * Returns number of blocks evicted by size or expired by time to live
+     *
+     * @return number of evicted blocks
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PageCacheStats { " +
+                "hits = " + hitCount + ", misses = " + missCount +
+                ", loads = " + loadCount + ", evictions = " + evictionCount +
+                " }";
+    }
+}
@@ -0,0 +1,166 @@
+package com.murauyou.pagination;
+
+/**
+ * Mutable pagination position for hot traversal loops. Unlike {@link Pagination#getNext()} and
+ * {@link Pagination#getPrevious()}, which create a new pagination object per step and signal the first page by
+ * exception, cursor moves in place and reports page boundaries by return values, so a page walk allocates nothing
+ * per step. Use {@link #toPagination()} to pass the position to a page source or to keep it. Cursor is not
+ * thread safe and should not be used as a map key. Int based accessors throw {@link ArithmeticException} when
+ * the value doesn't fit int, use long based accessors instead.
+ */
+public class PageCursor implements OffsetLimitPagination, PageNumberSizePagination, LongOffsetLimitPagination {
+    private long offset;
+    private int limit;
+
+    protected PageCursor(long offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Pagination offset can't be less than 0.");
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Pagination limit can't be less than 1.");
+        }
+
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    public int getOffset() {
+        return Math.toIntExact(offset);
+    }
+
+    @Override
+    public long getLongOffset() {
+        return offset;
+    }
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getPageNumber() {
+        return Math.toIntExact(getLongPageNumber());
+    }
+
+    /**
+     * Returns pagination page number. Page number starts from 1
+     *
+     * @return pagination page number
+     */
+    public long getLongPageNumber() {
+        return (offset / limit) + 1;
+    }
+
+    @Override
+    public int getPageSize() {
+        return limit;
+    }
+
+    /**
+     * Returns whether cursor is past the first page
+     *
+     * @return true when there are elements before the cursor
+     */
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+
+    /**
+     * Returns whether the page following the cursor position has elements
+     *
+     * @param totalSize total size of the result list
+     * @return true when next page starts within total size
+     */
+    public boolean hasNext(long totalSize) {
+        return offset + limit < totalSize;
+    }
+
+    /**
+     * Moves cursor to the next page
+     *
+     * @throws ArithmeticException when next offset overflows long
+     */
+    public void advance() {
+        offset = Math.addExact(offset, limit);
+    }
+
+    /**
+     * Moves cursor to the previous page, to the very beginning when less than a page is left before the cursor
+     *
+     * @return false when cursor is already at the very first page and is not moved
+     */
+    public boolean retreat() {
+        if (offset == 0) {
+            return false;
+        }
+
+        offset = Math.max(0, offset - limit);
+        return true;
+    }
+
+    /**
+     * Moves cursor to the page with specified number
+     *
+     * @param pageNumber page number starting from 1
+     */
+    public void jumpToPage(long pageNumber) {
+        if (pageNumber < 1) {
+            throw new IllegalArgumentException("Page number can't be less than 1.");
+        }
+
+        offset = Math.multiplyExact(pageNumber - 1, (long) limit);
+    }
+
+    /**
+     * Moves cursor to the specified offset
+     *
+     * @param offset element offset
+     */
+    public void moveTo(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Pagination offset can't be less than 0.");
+        }
+
+        this.offset = offset;
+    }
+
+    /**
+     * Changes limit keeping the offset
+     *
+     * @param limit new limit
+     */
+    public void setLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Pagination limit can't be less than 1.");
+        }
+
+        this.limit = limit;
+    }
+
+    /**
+     * Returns immutable pagination of the current position
+     *
+     * @return new pagination object with cursor offset and limit
+     */
+    public Pagination toPagination() {
+        return Paginations.ofOffsetAndLimit(offset, limit);
+    }
+
+    @Override
+    public String toString() {
+        return "PageCursor { offset = " + offset + ", limit = " + limit + " }";
+    }
+
+    public static PageCursor fromStartWithLimit(int limit) {
+        return new PageCursor(0, limit);
+    }
+
+    public static PageCursor ofPagination(LongOffsetLimitPagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        return new PageCursor(pagination.getLongOffset(), pagination.getLimit());
+    }
+}
@@ -0,0 +1,56 @@
+package com.murauyou.pagination;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Default executors used for background page fetching when caller doesn't provide one.
+ */
+final class PageExecutors {
+    private static final ExecutorService FETCH_EXECUTOR = Executors.newCachedThreadPool(new DaemonThreadFactory("pagination-fetch-"));
+    private static final Executor PARALLEL_FETCH_EXECUTOR = createParallelFetchExecutor();
+
+    private PageExecutors() {
+    }
+
+    static Executor defaultExecutor() {
+        return FETCH_EXECUTOR;
+    }
+
+    /**
+     * Returns executor for fanned out page fetches. Virtual thread per task executor is used when the running JVM
+     * supports virtual threads, cached daemon thread pool otherwise
+     *
+     * @return executor for parallel page fetches
+     */
+    static Executor parallelExecutor() {
+        return PARALLEL_FETCH_EXECUTOR;
+    }
+
+    private static Executor createParallelFetchExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException ex) {
+            return FETCH_EXECUTOR;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+        private final String prefix;
+
+        private DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.murauyou.pagination;
+
+/**
+ * Thrown when page source fails to fetch a page.
+ */
+public class PageFetchException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PageFetchException(String message) {
+        super(message);
+    }
+
+    public PageFetchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PageFetchException(Throwable cause) {
+        super(cause);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.murauyou.pagination;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Helpers to run page fetches asynchronously and to rethrow their failures the way synchronous fetch would.
+ */
+final class PageFutures {
+
+    private PageFutures() {
+    }
+
+    static <E> CompletableFuture<ResponsePage<E>> fetchAsync(final PageSource<E> source, final Pagination pagination, Executor executor) {
+        return CompletableFuture.supplyAsync(new Supplier<ResponsePage<E>>() {
+            @Override
+            public ResponsePage<E> get() {
+                return source.fetch(pagination);
+            }
+        }, executor);
+    }
+
+    static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new PageFetchException("Interrupted while waiting for page", ex);
+        } catch (ExecutionException ex) {
+            throw unwrap(ex.getCause());
+        } catch (CancellationException ex) {
+            throw new PageFetchException("Page fetch was cancelled", ex);
+        }
+    }
+
+    static RuntimeException unwrap(Throwable failure) {
+        while ((failure instanceof CompletionException || failure instanceof ExecutionException) && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        }
+        return new PageFetchException(failure);
+    }
+}
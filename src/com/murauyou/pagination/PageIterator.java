@@ -0,0 +1,122 @@
+package com.murauyou.pagination;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over pages of a page source which fetches the next page in background while the caller is still
+ * processing the current one. Iteration stops on an empty page, a page shorter than its limit or a page reaching
+ * total size of the result list. Iterator is not thread safe and should be closed when abandoned before the end.
+ */
+public class PageIterator<E> implements Iterator<ResponsePage<E>>, AutoCloseable {
+    private final PageSource<E> source;
+    private final Executor executor;
+    private CompletableFuture<ResponsePage<E>> pending;
+    private ResponsePage<E> ready;
+
+    protected PageIterator(PageSource<E> source, Pagination first, Executor executor) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (first == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+
+        this.source = source;
+        this.executor = executor;
+        this.pending = PageFutures.fetchAsync(source, first, executor);
+    }
+
+    /**
+     * Returns whether one more non-empty page is available. Waits for the page being prefetched
+     *
+     * @return true when next page is available
+     * @throws PageFetchException when page fetch failed
+     */
+    @Override
+    public boolean hasNext() {
+        if (ready == null && pending != null) {
+            CompletableFuture<ResponsePage<E>> fetching = pending;
+            pending = null;
+
+            ResponsePage<E> page = PageFutures.await(fetching);
+            if (!page.isEmpty()) {
+                ready = page;
+                if (!Paginations.isLastPage(page)) {
+                    pending = PageFutures.fetchAsync(source, Paginations.nextOf(page), executor);
+                }
+            }
+        }
+
+        return ready != null;
+    }
+
+    /**
+     * Returns the next page. Fetch of the page following it is already started when this method returns
+     *
+     * @return next page
+     * @throws PageFetchException when page fetch failed
+     */
+    @Override
+    public ResponsePage<E> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        ResponsePage<E> page = ready;
+        ready = null;
+        return page;
+    }
+
+    /**
+     * Returns spliterator over elements of the remaining pages. Splitting hands off the page being consumed,
+     * so pages may be processed in parallel while the next ones are fetched
+     *
+     * @return ordered spliterator over elements
+     */
+    public Spliterator<E> spliterator() {
+        return new PageSpliterator<E>(this);
+    }
+
+    /**
+     * Returns sequential stream of elements of the remaining pages. Closing the stream closes the iterator
+     *
+     * @return stream of elements
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        });
+    }
+
+    /**
+     * Stops iteration dropping the page being prefetched
+     */
+    @Override
+    public void close() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        ready = null;
+    }
+
+    public static <E> PageIterator<E> ofPageSource(PageSource<E> source, Pagination first) {
+        return new PageIterator<E>(source, first, PageExecutors.defaultExecutor());
+    }
+
+    public static <E> PageIterator<E> ofPageSource(PageSource<E> source, Pagination first, Executor executor) {
+        return new PageIterator<E>(source, first, executor);
+    }
+}
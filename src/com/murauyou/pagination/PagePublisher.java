@@ -0,0 +1,226 @@
+package com.murauyou.pagination;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reactive streams publisher of elements or pages of a page source. Pages are fetched only when the subscriber
+ * has outstanding demand: element publisher sizes each fetch to the outstanding demand capped by the limit of the
+ * first pagination, keeping sort keys and direction of keyset pagination, page publisher fetches one page per
+ * requested page. At most one fetched page is held per subscription, so memory stays flat however slow the subscriber
+ * is. Every subscriber traverses the source from the first pagination on its own. Signals of a subscription are
+ * serialized and delivered from the executor, cancelling stops fetching once the fetch in progress, if any, returns.
+ * Subscriber throwing from onNext is considered to have cancelled its subscription.
+ */
+public class PagePublisher<T> implements Flow.Publisher<T> {
+    private final PageSource<?> source;
+    private final Pagination first;
+    private final boolean elements;
+    private final Executor executor;
+
+    protected PagePublisher(PageSource<?> source, Pagination first, boolean elements, Executor executor) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (first == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+        if (elements && first instanceof KeysetPagination && !((KeysetPagination) first).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Element publisher can't seek by keyset");
+        }
+
+        this.source = source;
+        this.first = first;
+        this.elements = elements;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            // Required by reactive streams rule 1.9
+            throw new NullPointerException("Subscriber cannot be null");
+        }
+
+        subscriber.onSubscribe(new PageSubscription(subscriber));
+    }
+
+    /**
+     * Publishes elements of the source starting at offset of the first pagination
+     *
+     * @param source page source
+     * @param first pagination of the first page, its limit caps size of every fetch
+     * @return element publisher
+     */
+    public static <E> PagePublisher<E> ofElements(PageSource<E> source, Pagination first) {
+        return new PagePublisher<E>(source, first, true, PageExecutors.defaultExecutor());
+    }
+
+    public static <E> PagePublisher<E> ofElements(PageSource<E> source, Pagination first, Executor executor) {
+        return new PagePublisher<E>(source, first, true, executor);
+    }
+
+    /**
+     * Publishes non-empty pages of the source, keyset pages are followed by keyset
+     *
+     * @param source page source
+     * @param first pagination of the first page
+     * @return page publisher
+     */
+    public static <E> PagePublisher<ResponsePage<E>> ofPages(PageSource<E> source, Pagination first) {
+        return new PagePublisher<ResponsePage<E>>(source, first, false, PageExecutors.defaultExecutor());
+    }
+
+    public static <E> PagePublisher<ResponsePage<E>> ofPages(PageSource<E> source, Pagination first, Executor executor) {
+        return new PagePublisher<ResponsePage<E>>(source, first, false, executor);
+    }
+
+    /**
+     * Subscription state is touched by the drain loop only, which runs in one thread at a time
+     */
+    private final class PageSubscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger signals = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile IllegalArgumentException invalidDemand;
+        private boolean terminated;
+        private boolean exhausted;
+        private Pagination next = first;
+        private long offset = first.getLongOffset();
+        private ResponsePage<?> buffered;
+        private int position;
+
+        private PageSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                // Rule 3.9
+                invalidDemand = new IllegalArgumentException("Demand must be positive, got " + n);
+            } else {
+                long current;
+                do {
+                    current = requested.get();
+                } while (current != Long.MAX_VALUE && !requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+            }
+            signal();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            signal();
+        }
+
+        private void signal() {
+            if (signals.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                drain();
+                missed = signals.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!terminated) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+                if (invalidDemand != null) {
+                    terminate();
+                    subscriber.onError(invalidDemand);
+                    return;
+                }
+
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted < demand && buffered != null && !cancelled) {
+                    try {
+                        subscriber.onNext(poll());
+                    } catch (RuntimeException ex) {
+                        // Rule 2.13, subscription of a failed subscriber is considered cancelled
+                        cancelled = true;
+                        terminate();
+                        return;
+                    }
+                    emitted++;
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    demand = requested.addAndGet(-emitted);
+                }
+
+                if (buffered == null && exhausted) {
+                    terminate();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (demand == 0 || buffered != null || cancelled) {
+                    return;
+                }
+
+                try {
+                    fetch(demand);
+                } catch (RuntimeException ex) {
+                    terminate();
+                    subscriber.onError(ex);
+                    return;
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private T poll() {
+            if (!elements) {
+                T page = (T) buffered;
+                buffered = null;
+                return page;
+            }
+
+            List<?> page = buffered.getPage();
+            T element = (T) page.get(position++);
+            if (position == page.size()) {
+                buffered = null;
+                position = 0;
+            }
+            return element;
+        }
+
+        private void fetch(long demand) {
+            ResponsePage<?> page;
+            if (elements) {
+                int limit = (int) Math.min(demand, first.getLimit());
+                page = source.fetch(KeysetRequest.atOffset(first, offset, limit));
+                offset += page.size();
+            } else {
+                page = source.fetch(next);
+            }
+
+            exhausted = page.isEmpty() || Paginations.isLastPage(page);
+            if (!exhausted && !elements) {
+                next = Paginations.nextOf(page);
+            }
+            buffered = page.isEmpty() ? null : page;
+        }
+
+        private void terminate() {
+            terminated = true;
+            buffered = null;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.murauyou.pagination;
+
+/**
+ * Source of response pages (database query, remote service, in-memory list etc.) requested by pagination.
+ * Page source is expected to return at most 'limit' elements starting from 'offset'. Page shorter than limit
+ * is treated as the last one.
+ */
+public interface PageSource<E> {
+
+    /**
+     * Fetches response page for the specified pagination
+     *
+     * @param pagination pagination of the page to fetch
+     * @return response page, {@link TotalAwareResponsePage} when source knows total size of the result list
+     * @throws PageFetchException when page can't be fetched
+     */
+    ResponsePage<E> fetch(Pagination pagination);
+
+}
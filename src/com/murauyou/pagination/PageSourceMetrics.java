@@ -0,0 +1,98 @@
+package com.murauyou.pagination;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograms recorded by {@link InMemoryPaginationMetrics} for a single page source. Histograms are live,
+ * they keep counting after they were obtained.
+ */
+public final class PageSourceMetrics {
+    private final Log2Histogram offset = new Log2Histogram();
+    private final Log2Histogram limit = new Log2Histogram();
+    private final Log2Histogram size = new Log2Histogram();
+    private final LongAdder underfilledPages = new LongAdder();
+    private final Log2Histogram fetchLatency = new Log2Histogram();
+    private final Log2Histogram totalSizeLatency = new Log2Histogram();
+
+    PageSourceMetrics() {
+    }
+
+    void recordPage(long offset, int limit, int size) {
+        this.offset.record(offset);
+        this.limit.record(limit);
+        this.size.record(size);
+        if (size < limit) {
+            underfilledPages.increment();
+        }
+    }
+
+    void recordFetchLatency(long latencyNanos) {
+        fetchLatency.record(latencyNanos);
+    }
+
+    void recordTotalSizeLatency(long latencyNanos) {
+        totalSizeLatency.record(latencyNanos);
+    }
+
+    /**
+     * Returns histogram of requested offsets, the depth the source is paged to
+     *
+     * @return offset depth histogram
+     */
+    public Log2Histogram getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns histogram of requested limits
+     *
+     * @return page size histogram
+     */
+    public Log2Histogram getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns histogram of returned page sizes, compare with {@link #getLimit()} to see how full pages are
+     *
+     * @return returned size histogram
+     */
+    public Log2Histogram getSize() {
+        return size;
+    }
+
+    /**
+     * Returns number of pages returned with less elements than requested, i.e. last or empty pages
+     *
+     * @return number of underfilled pages
+     */
+    public long getUnderfilledPageCount() {
+        return underfilledPages.sum();
+    }
+
+    public Log2Histogram getFetchLatency() {
+        return fetchLatency;
+    }
+
+    public Log2Histogram getTotalSizeLatency() {
+        return totalSizeLatency;
+    }
+
+    void reset() {
+        offset.reset();
+        limit.reset();
+        size.reset();
+        underfilledPages.reset();
+        fetchLatency.reset();
+        totalSizeLatency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "PageSourceMetrics { " +
+                "offset = " + offset + ", limit = " + limit + ", size = " + size +
+                ", underfilled pages = " + getUnderfilledPageCount() +
+                ", fetch latency = " + fetchLatency + ", total size latency = " + totalSizeLatency +
+                " }";
+    }
+}
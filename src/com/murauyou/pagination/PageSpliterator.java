@@ -0,0 +1,83 @@
+package com.murauyou.pagination;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over elements of pages provided by a page iterator. Split off part is always the rest of the page
+ * being consumed (or the next whole page), which keeps encounter order.
+ */
+final class PageSpliterator<E> implements Spliterator<E> {
+    private final Iterator<? extends ResponsePage<E>> pages;
+    private List<E> page;
+    private int index;
+
+    PageSpliterator(Iterator<? extends ResponsePage<E>> pages) {
+        this.pages = pages;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        if (!advancePage()) {
+            return false;
+        }
+
+        action.accept(page.get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super E> action) {
+        if (action == null) {
+            throw new NullPointerException();
+        }
+        while (advancePage()) {
+            List<E> current = page;
+            int size = current.size();
+            for (int i = index; i < size; i++) {
+                action.accept(current.get(i));
+            }
+            index = size;
+        }
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        if (!advancePage()) {
+            return null;
+        }
+
+        List<E> rest = page.subList(index, page.size());
+        page = null;
+        index = 0;
+        return Spliterators.spliterator(rest.toArray(), Spliterator.ORDERED);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return Spliterator.ORDERED;
+    }
+
+    private boolean advancePage() {
+        while (page == null || index >= page.size()) {
+            if (!pages.hasNext()) {
+                page = null;
+                return false;
+            }
+            page = pages.next().getPage();
+            index = 0;
+        }
+        return true;
+    }
+}
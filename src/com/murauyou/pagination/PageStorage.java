@@ -0,0 +1,21 @@
+package com.murauyou.pagination;
+
+/**
+ * Defines how response page keeps its elements.
+ */
+public enum PageStorage {
+
+    /**
+     * Page elements are copied into a right-sized immutable array backed list. Source list (and the backing array
+     * it may have been cut from) can be garbage collected right after the page is created. Default for pages
+     * which may be cached or live long
+     */
+    COMPACT,
+
+    /**
+     * Page keeps source list (or its sub list when source is longer than limit) without copying. Source list stays
+     * reachable as long as the page does, so use it for short-lived pages only
+     */
+    VIEW
+
+}
@@ -0,0 +1,587 @@
+package com.murauyou.pagination;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Codec of opaque URL-safe page tokens, so clients pass pagination back as they got it instead of composing offsets.
+ * Token is base64url (no padding) of header byte (format version, keyset, backward and descending flags), varint
+ * offset and limit, sort keys and type tagged keyset values of keyset pagination, and 48-bit SipHash-2-4 tag of all
+ * the above keyed by the codec secret. Offset + limit token takes from 12 characters, when both offset and limit are
+ * below 128, to 28 characters for the longest varints. Decoding works straight on the characters or bytes of the token
+ * using a per-thread scratch buffer, so parsing offset + limit token doesn't allocate anything but the resulting
+ * pagination object. Tokens of a forged or tampered content are rejected by the tag.
+ * Codec is thread safe.
+ */
+public class PageTokenCodec {
+    static final int FORMAT_VERSION = 1;
+    static final int KEYSET = 1;
+    static final int BACKWARD = 2;
+    static final int DESCENDING = 4;
+    static final int TAG_LENGTH = 6;
+    static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final int MAX_PAYLOAD_LENGTH = MAX_TOKEN_LENGTH / 4 * 3 - TAG_LENGTH;
+
+    private static final int NULL_VALUE = 0;
+    private static final int STRING_VALUE = 1;
+    private static final int LONG_VALUE = 2;
+    private static final int INTEGER_VALUE = 3;
+    private static final int DOUBLE_VALUE = 4;
+    private static final int BOOLEAN_VALUE = 5;
+    private static final int DECIMAL_VALUE = 6;
+
+    private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+            .getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEXTETS = new byte[128];
+
+    static {
+        Arrays.fill(SEXTETS, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            SEXTETS[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    private final long k0;
+    private final long k1;
+
+    protected PageTokenCodec(long k0, long k1) {
+        this.k0 = k0;
+        this.k1 = k1;
+    }
+
+    /**
+     * Encodes the pagination into a token
+     *
+     * @param pagination pagination object
+     * @return page token
+     * @throws IllegalArgumentException when keyset value type is not supported or keyset is too large for a token
+     */
+    public String encode(Pagination pagination) {
+        Scratch scratch = SCRATCH.get();
+        int length = encode(pagination, scratch);
+        return new String(scratch.text, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Appends the pagination token to the builder, e.g. straight into a URL being built
+     *
+     * @param pagination pagination object
+     * @param builder builder to append the token to
+     * @return the builder
+     */
+    public StringBuilder encode(Pagination pagination, StringBuilder builder) {
+        if (builder == null) {
+            throw new IllegalArgumentException("String builder cannot be null");
+        }
+
+        Scratch scratch = SCRATCH.get();
+        int length = encode(pagination, scratch);
+        builder.ensureCapacity(builder.length() + length);
+        for (int i = 0; i < length; i++) {
+            builder.append((char) scratch.text[i]);
+        }
+        return builder;
+    }
+
+    /**
+     * Writes the pagination token to the buffer as ASCII bytes, nothing is written when the token doesn't fit
+     *
+     * @param pagination pagination object
+     * @param buffer buffer to write the token to
+     * @return number of bytes written
+     * @throws BufferOverflowException when the buffer has no room for the token
+     */
+    public int encode(Pagination pagination, ByteBuffer buffer) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+
+        Scratch scratch = SCRATCH.get();
+        int length = encode(pagination, scratch);
+        if (buffer.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        buffer.put(scratch.text, 0, length);
+        return length;
+    }
+
+    /**
+     * Decodes the token
+     *
+     * @param token page token
+     * @return pagination object, keyset one when keyset pagination was encoded
+     * @throws IllegalArgumentException when token is malformed, forged or tampered
+     */
+    public Pagination decode(CharSequence token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Page token cannot be null");
+        }
+        return decode(token, 0, token.length());
+    }
+
+    /**
+     * Decodes the token located in the specified range of the text, e.g. query string parameter value, without
+     * extracting it
+     *
+     * @param text text containing the token
+     * @param start index of the first token character
+     * @param end index following the last token character
+     * @return pagination object, keyset one when keyset pagination was encoded
+     * @throws IllegalArgumentException when token is malformed, forged or tampered
+     */
+    public Pagination decode(CharSequence text, int start, int end) {
+        if (text == null) {
+            throw new IllegalArgumentException("Page token cannot be null");
+        }
+        if (start < 0 || end > text.length() || start > end) {
+            throw new IndexOutOfBoundsException("Token range [" + start + ", " + end + ") is out of text bounds");
+        }
+
+        Scratch scratch = SCRATCH.get();
+        unbase64(text, null, start, end, scratch);
+        return parse(scratch);
+    }
+
+    /**
+     * Decodes the token given as ASCII bytes remaining in the buffer. Position of the buffer is not changed
+     *
+     * @param token page token bytes
+     * @return pagination object, keyset one when keyset pagination was encoded
+     * @throws IllegalArgumentException when token is malformed, forged or tampered
+     */
+    public Pagination decode(ByteBuffer token) {
+        if (token == null) {
+            throw new IllegalArgumentException("Page token cannot be null");
+        }
+
+        Scratch scratch = SCRATCH.get();
+        unbase64(null, token, token.position(), token.limit(), scratch);
+        return parse(scratch);
+    }
+
+    private int encode(Pagination pagination, Scratch scratch) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        scratch.position = 0;
+        int flags = 0;
+        KeysetPagination keysetPagination = null;
+        if (pagination instanceof KeysetPagination) {
+            keysetPagination = (KeysetPagination) pagination;
+            flags = KEYSET
+                    | (keysetPagination.isBackward() ? BACKWARD : 0)
+                    | (keysetPagination.getDirection() == SortDirection.DESCENDING ? DESCENDING : 0);
+        }
+
+        scratch.put(FORMAT_VERSION << 4 | flags);
+        scratch.putVarLong(pagination.getLongOffset());
+        scratch.putVarLong(pagination.getLimit());
+        if (keysetPagination != null) {
+            List<String> sortKeys = keysetPagination.getSortKeys();
+            scratch.putVarLong(sortKeys.size());
+            for (int i = 0; i < sortKeys.size(); i++) {
+                scratch.putString(sortKeys.get(i));
+            }
+            List<Object> keyset = keysetPagination.getKeyset();
+            scratch.putVarLong(keyset.size());
+            for (int i = 0; i < keyset.size(); i++) {
+                putValue(keyset.get(i), scratch);
+            }
+        }
+
+        int length = scratch.position;
+        if (length > MAX_PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("Keyset is too large for page token");
+        }
+        long tag = sipHash24(k0, k1, scratch.bytes, 0, length);
+        for (int i = 0; i < TAG_LENGTH; i++) {
+            scratch.put((int) (tag >>> (8 * i)));
+        }
+        return base64(scratch);
+    }
+
+    private static void putValue(Object value, Scratch scratch) {
+        if (value == null) {
+            scratch.put(NULL_VALUE);
+        } else if (value instanceof String) {
+            scratch.put(STRING_VALUE);
+            scratch.putString((String) value);
+        } else if (value instanceof Long) {
+            scratch.put(LONG_VALUE);
+            scratch.putZigZagLong((Long) value);
+        } else if (value instanceof Integer) {
+            scratch.put(INTEGER_VALUE);
+            scratch.putZigZagLong((Integer) value);
+        } else if (value instanceof Double) {
+            scratch.put(DOUBLE_VALUE);
+            scratch.putLong(Double.doubleToLongBits((Double) value));
+        } else if (value instanceof Boolean) {
+            scratch.put(BOOLEAN_VALUE);
+            scratch.put((Boolean) value ? 1 : 0);
+        } else if (value instanceof BigDecimal) {
+            scratch.put(DECIMAL_VALUE);
+            scratch.putString(value.toString());
+        } else {
+            throw new IllegalArgumentException("Keyset value of " + value.getClass().getName() + " type can't be encoded in page token");
+        }
+    }
+
+    private Pagination parse(Scratch scratch) {
+        int length = scratch.limit - TAG_LENGTH;
+        if (length < 3) {
+            throw malformed();
+        }
+
+        long tag = sipHash24(k0, k1, scratch.bytes, 0, length);
+        long mismatch = 0;
+        for (int i = 0; i < TAG_LENGTH; i++) {
+            mismatch |= (scratch.bytes[length + i] ^ (tag >>> (8 * i))) & 0xff;
+        }
+        if (mismatch != 0) {
+            throw new IllegalArgumentException("Page token integrity check failed");
+        }
+
+        scratch.position = 0;
+        scratch.limit = length;
+        int header = scratch.get();
+        if (header >>> 4 != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported page token version " + (header >>> 4));
+        }
+        int flags = header & 0xf;
+        long offset = scratch.getVarLong();
+        long limit = scratch.getVarLong();
+        if (limit > Integer.MAX_VALUE) {
+            throw malformed();
+        }
+
+        if ((flags & KEYSET) == 0) {
+            if (flags != 0 || scratch.position != scratch.limit) {
+                throw malformed();
+            }
+            return Paginations.ofOffsetAndLimit(offset, (int) limit);
+        }
+
+        int keyCount = scratch.getCount();
+        List<String> sortKeys = new ArrayList<String>(keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            sortKeys.add(scratch.getString());
+        }
+        int valueCount = scratch.getCount();
+        List<Object> keyset = valueCount == 0 ? Collections.emptyList() : new ArrayList<Object>(valueCount);
+        for (int i = 0; i < valueCount; i++) {
+            keyset.add(getValue(scratch));
+        }
+        if (scratch.position != scratch.limit || offset > Integer.MAX_VALUE) {
+            throw malformed();
+        }
+
+        SortDirection direction = (flags & DESCENDING) != 0 ? SortDirection.DESCENDING : SortDirection.ASCENDING;
+        return (flags & BACKWARD) != 0
+                ? KeysetRequest.before(sortKeys, direction, keyset, (int) offset, (int) limit)
+                : KeysetRequest.after(sortKeys, direction, keyset, (int) offset, (int) limit);
+    }
+
+    private static Object getValue(Scratch scratch) {
+        int type = scratch.get();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return scratch.getString();
+            case LONG_VALUE:
+                return scratch.getZigZagLong();
+            case INTEGER_VALUE:
+                return Math.toIntExact(scratch.getZigZagLong());
+            case DOUBLE_VALUE:
+                return Double.longBitsToDouble(scratch.getLong());
+            case BOOLEAN_VALUE:
+                return scratch.get() != 0;
+            case DECIMAL_VALUE:
+                return new BigDecimal(scratch.getString());
+            default:
+                throw malformed();
+        }
+    }
+
+    /**
+     * Encodes scratch bytes into scratch text
+     */
+    private static int base64(Scratch scratch) {
+        int length = scratch.position;
+        byte[] bytes = scratch.bytes;
+        byte[] text = scratch.text((length * 4 + 2) / 3);
+        int n = 0;
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            int bits = (bytes[i] & 0xff) << 16 | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff);
+            text[n++] = ALPHABET[bits >>> 18];
+            text[n++] = ALPHABET[(bits >>> 12) & 0x3f];
+            text[n++] = ALPHABET[(bits >>> 6) & 0x3f];
+            text[n++] = ALPHABET[bits & 0x3f];
+        }
+        if (length - i == 1) {
+            int bits = bytes[i] & 0xff;
+            text[n++] = ALPHABET[bits >>> 2];
+            text[n++] = ALPHABET[(bits << 4) & 0x3f];
+        } else if (length - i == 2) {
+            int bits = (bytes[i] & 0xff) << 8 | (bytes[i + 1] & 0xff);
+            text[n++] = ALPHABET[bits >>> 10];
+            text[n++] = ALPHABET[(bits >>> 4) & 0x3f];
+            text[n++] = ALPHABET[(bits << 2) & 0x3f];
+        }
+        return n;
+    }
+
+    /**
+     * Decodes token characters of either the text or the buffer into scratch bytes. Unused trailing bits must be zero,
+     * so every token has the only valid spelling
+     */
+    private static void unbase64(CharSequence text, ByteBuffer buffer, int start, int end, Scratch scratch) {
+        int length = end - start;
+        if (length > MAX_TOKEN_LENGTH || length % 4 == 1) {
+            throw malformed();
+        }
+
+        byte[] bytes = scratch.bytes(length / 4 * 3 + 2);
+        int n = 0;
+        int i = start;
+        for (; i + 4 <= end; i += 4) {
+            int bits = sextet(text, buffer, i) << 18 | sextet(text, buffer, i + 1) << 12
+                    | sextet(text, buffer, i + 2) << 6 | sextet(text, buffer, i + 3);
+            bytes[n++] = (byte) (bits >>> 16);
+            bytes[n++] = (byte) (bits >>> 8);
+            bytes[n++] = (byte) bits;
+        }
+        if (end - i == 2) {
+            int bits = sextet(text, buffer, i) << 6 | sextet(text, buffer, i + 1);
+            if ((bits & 0xf) != 0) {
+                throw malformed();
+            }
+            bytes[n++] = (byte) (bits >>> 4);
+        } else if (end - i == 3) {
+            int bits = sextet(text, buffer, i) << 12 | sextet(text, buffer, i + 1) << 6 | sextet(text, buffer, i + 2);
+            if ((bits & 0x3) != 0) {
+                throw malformed();
+            }
+            bytes[n++] = (byte) (bits >>> 10);
+            bytes[n++] = (byte) (bits >>> 2);
+        }
+        scratch.position = 0;
+        scratch.limit = n;
+    }
+
+    private static int sextet(CharSequence text, ByteBuffer buffer, int index) {
+        int c = text != null ? text.charAt(index) : buffer.get(index) & 0xff;
+        int sextet = c < SEXTETS.length ? SEXTETS[c] : -1;
+        if (sextet < 0) {
+            throw malformed();
+        }
+        return sextet;
+    }
+
+    private static IllegalArgumentException malformed() {
+        return new IllegalArgumentException("Malformed page token");
+    }
+
+    /**
+     * SipHash-2-4 of the bytes, 64-bit output
+     */
+    static long sipHash24(long k0, long k1, byte[] bytes, int offset, int length) {
+        long v0 = k0 ^ 0x736f6d6570736575L;
+        long v1 = k1 ^ 0x646f72616e646f6dL;
+        long v2 = k0 ^ 0x6c7967656e657261L;
+        long v3 = k1 ^ 0x7465646279746573L;
+
+        // Last block carries the remaining bytes and the length in its top byte
+        int blocks = length >>> 3;
+        for (int block = 0; block <= blocks; block++) {
+            long m = block < blocks
+                    ? littleEndian(bytes, offset + block * 8, 8)
+                    : ((long) length << 56) | littleEndian(bytes, offset + block * 8, length & 7);
+            v3 ^= m;
+            for (int round = 0; round < 2; round++) {
+                v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+                v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+                v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+                v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+            }
+            v0 ^= m;
+        }
+
+        v2 ^= 0xff;
+        for (int round = 0; round < 4; round++) {
+            v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+            v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+            v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+            v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+        }
+        return v0 ^ v1 ^ v2 ^ v3;
+    }
+
+    private static long littleEndian(byte[] bytes, int offset, int length) {
+        long value = 0;
+        for (int i = length - 1; i >= 0; i--) {
+            value = value << 8 | (bytes[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    /**
+     * Creates a new codec with the specified secret key. Tokens can be decoded by codecs of the same key only
+     *
+     * @param key 16 bytes secret key
+     * @return new page token codec
+     */
+    public static PageTokenCodec ofKey(byte[] key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (key.length != 16) {
+            throw new IllegalArgumentException("Key should be 16 bytes long.");
+        }
+
+        return new PageTokenCodec(littleEndian(key, 0, 8), littleEndian(key, 8, 8));
+    }
+
+    /**
+     * Creates a new codec with a random secret key, tokens are valid for this codec instance only
+     *
+     * @return new page token codec
+     */
+    public static PageTokenCodec ofRandomKey() {
+        byte[] key = new byte[16];
+        new SecureRandom().nextBytes(key);
+        return ofKey(key);
+    }
+
+    /**
+     * Per-thread token bytes and text, grown on demand and reused by all codecs
+     */
+    private static final class Scratch {
+        private byte[] bytes = new byte[64];
+        private byte[] text = new byte[96];
+        private int position;
+        private int limit;
+
+        byte[] bytes(int capacity) {
+            if (bytes.length < capacity) {
+                bytes = new byte[capacity];
+            }
+            return bytes;
+        }
+
+        byte[] text(int capacity) {
+            if (text.length < capacity) {
+                text = new byte[capacity];
+            }
+            return text;
+        }
+
+        void put(int value) {
+            if (position == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[position++] = (byte) value;
+        }
+
+        void putVarLong(long value) {
+            while ((value & ~0x7fL) != 0) {
+                put((int) ((value & 0x7f) | 0x80));
+                value >>>= 7;
+            }
+            put((int) value);
+        }
+
+        void putZigZagLong(long value) {
+            putVarLong((value << 1) ^ (value >> 63));
+        }
+
+        void putLong(long value) {
+            for (int i = 0; i < 8; i++) {
+                put((int) (value >>> (8 * i)));
+            }
+        }
+
+        /**
+         * Writes varint UTF-8 length and UTF-8 bytes of the string, lone surrogates are written as '?'
+         */
+        void putString(String value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Sort key cannot be null");
+            }
+
+            int utf8Length = Utf8.length(value);
+            putVarLong(utf8Length);
+            if (bytes.length - position < utf8Length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + utf8Length));
+            }
+            position = Utf8.encode(value, 0, value.length(), bytes, position);
+        }
+
+        int get() {
+            if (position >= limit) {
+                throw malformed();
+            }
+            return bytes[position++] & 0xff;
+        }
+
+        long getVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = get();
+                value |= (long) (b & 0x7f) << shift;
+                if (b < 0x80) {
+                    return value;
+                }
+            }
+            throw malformed();
+        }
+
+        long getZigZagLong() {
+            long value = getVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long getLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value |= (long) get() << (8 * i);
+            }
+            return value;
+        }
+
+        /**
+         * Reads count of items taking at least a byte each
+         */
+        int getCount() {
+            long count = getVarLong();
+            if (count > limit - position) {
+                throw malformed();
+            }
+            return (int) count;
+        }
+
+        String getString() {
+            int length = getCount();
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.murauyou.pagination;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrent sorted set which serves pages by rank, e.g. for leaderboards mutated and paginated all the time.
+ * Elements are kept in an immutable order statistic tree: a page is copied from a single tree snapshot in
+ * O(log n + limit) and its total size is taken from the same snapshot in O(1). Writers copy the O(log n) path
+ * they change and publish the new tree by compare-and-set, so readers never block writers and never see a partial
+ * update. As in {@link java.util.TreeSet}, elements equal by comparator are considered duplicates.
+ * Iterators work on the snapshot taken at their creation.
+ */
+public class PageableSortedCollection<E> extends AbstractCollection<E> implements PageSource<E> {
+    private final Comparator<? super E> comparator;
+    private final AtomicReference<PersistentRankTree<E>> tree = new AtomicReference<PersistentRankTree<E>>(PersistentRankTree.<E>empty());
+
+    protected PageableSortedCollection(Comparator<? super E> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns page of elements in comparator order
+     *
+     * @param pagination offset + limit pagination
+     * @return total aware page consistent with its total size
+     */
+    @Override
+    public TotalAwareResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Sorted collection can't seek by keyset");
+        }
+
+        PersistentRankTree<E> snapshot = tree.get();
+        int size = snapshot.size();
+        int from = (int) Math.min(pagination.getLongOffset(), size);
+        int to = (int) Math.min((long) from + pagination.getLimit(), size);
+
+        List<E> page = CompactPageList.wrap(snapshot.toArray(from, to));
+        return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(page, pagination, (long) size);
+    }
+
+    /**
+     * Returns rank of the element
+     *
+     * @param element element to look for
+     * @return zero-based index of the element in comparator order or -1 when it is absent
+     */
+    public int rankOf(E element) {
+        int index = tree.get().search(element, comparator);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Returns element by rank
+     *
+     * @param rank zero-based index of the element in comparator order
+     * @return element of the rank
+     */
+    public E getByRank(int rank) {
+        return tree.get().get(rank);
+    }
+
+    @Override
+    public boolean add(E element) {
+        while (true) {
+            PersistentRankTree<E> current = tree.get();
+            int index = current.search(element, comparator);
+            if (index >= 0) {
+                return false;
+            }
+            if (tree.compareAndSet(current, current.insert(-index - 1, element))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object element) {
+        while (true) {
+            PersistentRankTree<E> current = tree.get();
+            int index = current.search((E) element, comparator);
+            if (index < 0) {
+                return false;
+            }
+            if (tree.compareAndSet(current, current.remove(index))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically replaces the element by another one, e.g. when leaderboard entry gets a new score. Readers see
+     * either the old element or the new one, never both or none
+     *
+     * @param oldElement element to remove
+     * @param newElement element to add
+     * @return false when old element is absent or new element is already present, collection isn't changed then
+     */
+    public boolean replace(E oldElement, E newElement) {
+        while (true) {
+            PersistentRankTree<E> current = tree.get();
+            int oldIndex = current.search(oldElement, comparator);
+            if (oldIndex < 0) {
+                return false;
+            }
+
+            PersistentRankTree<E> removed = current.remove(oldIndex);
+            int newIndex = removed.search(newElement, comparator);
+            if (newIndex >= 0) {
+                return false;
+            }
+            if (tree.compareAndSet(current, removed.insert(-newIndex - 1, newElement))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean contains(Object element) {
+        return tree.get().search((E) element, comparator) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return tree.get().size();
+    }
+
+    @Override
+    public void clear() {
+        tree.set(PersistentRankTree.<E>empty());
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        final Iterator<E> snapshot = tree.get().iterator();
+        return new Iterator<E>() {
+            private E last;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                return snapshot.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = snapshot.next();
+                removable = true;
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (!removable) {
+                    throw new IllegalStateException();
+                }
+                removable = false;
+                PageableSortedCollection.this.remove(last);
+            }
+        };
+    }
+
+    public Comparator<? super E> getComparator() {
+        return comparator;
+    }
+
+    public static <E> PageableSortedCollection<E> ofComparator(Comparator<? super E> comparator) {
+        return new PageableSortedCollection<E>(comparator);
+    }
+
+    public static <E> PageableSortedCollection<E> ofCollection(Collection<? extends E> source, Comparator<? super E> comparator) {
+        PageableSortedCollection<E> collection = new PageableSortedCollection<E>(comparator);
+        collection.addAll(source);
+        return collection;
+    }
+}
@@ -19,6 +19,9 @@ public class PagedRequest implements Pagination {
         if (limit < 0) {
             throw new IllegalArgumentException("Pagination limit can't be less than 0.");
         }
+        if ((long) offset + limit - 1 > Integer.MAX_VALUE) {
+            throw new ArithmeticException("Pagination offset + limit overflows int, use LongPagedRequest instead.");
+        }
 
         this.offset = offset;
         this.limit = limit;
@@ -54,6 +57,16 @@ public class PagedRequest implements Pagination {
         return offset;
     }
 
+    /**
+     * Returns pagination offset. Offset starts from 0 and includes the first element
+     *
+     * @return pagination offset
+     */
+    @Override
+    public long getLongOffset() {
+        return offset;
+    }
+
     /**
      * Returns pagination limit. Limit is always greater than 0 - used to return number of elements
      *
@@ -68,10 +81,11 @@ public class PagedRequest implements Pagination {
      * Returns pagination page number. Page number starts from 1
      *
      * @return pagination page number
+     * @throws ArithmeticException when page number overflows int
      */
     @Override
     public int getPageNumber() {
-        return (offset / limit) + 1;
+        return limit == 0 ? 1 : Math.toIntExact((long) offset / limit + 1);
     }
 
     /**
@@ -87,11 +101,12 @@ public class PagedRequest implements Pagination {
     /**
      * Creates a new pagination object representing the next page
      *
-     * @return new pagination object with offset shifted by offset+limit
+     * @return new pagination object with offset shifted by offset+limit, {@link LongPagedRequest} when next page
+     * doesn't fit int index range
      */
     @Override
     public Pagination getNext() {
-        return new PagedRequest(offset + limit, limit);
+        return ofLongOffsetAndLimit((long) offset + limit, limit);
     }
 
     /**
@@ -150,6 +165,7 @@ public class PagedRequest implements Pagination {
      * @param pageNumber pagination page number
      * @param pageSize pagination page size
      * @return new pagination object with page number = 'pageNumber' and page size = 'pageSize'
+     * @throws ArithmeticException when page offset overflows int
      */
     public static Pagination ofPageNumberAndPageSize(int pageNumber, int pageSize) {
         if (pageNumber < 1) {
@@ -159,7 +175,43 @@ public class PagedRequest implements Pagination {
             throw new IllegalArgumentException("Pagination page size can't be less than 0.");
         }
 
-        return new PagedRequest((pageNumber - 1) * pageSize, pageSize);
+        return new PagedRequest(Math.multiplyExact(pageNumber - 1, pageSize), pageSize);
+    }
+
+    /**
+     * Creates a new pagination object of the specified 64-bit offset and limit. Int based pagination object is
+     * created whenever the page fits int index range, so small result lists keep using int arithmetic
+     *
+     * @param offset pagination offset
+     * @param limit pagination limit
+     * @return new pagination object with offset = 'offset' and limit = 'limit'
+     */
+    public static Pagination ofLongOffsetAndLimit(long offset, int limit) {
+        if (offset >= 0 && limit >= 0 && offset <= Integer.MAX_VALUE && offset + limit - 1 <= Integer.MAX_VALUE) {
+            return new PagedRequest((int) offset, limit);
+        }
+
+        return LongPagedRequest.ofOffsetAndLimit(offset, limit);
+    }
+
+    /**
+     * Creates a new pagination object of the specified 64-bit page number and page size. Int based pagination object
+     * is created whenever the page fits int index range, so small result lists keep using int arithmetic
+     *
+     * @param pageNumber pagination page number
+     * @param pageSize pagination page size
+     * @return new pagination object with page number = 'pageNumber' and page size = 'pageSize'
+     * @throws ArithmeticException when page offset overflows long
+     */
+    public static Pagination ofLongPageNumberAndPageSize(long pageNumber, int pageSize) {
+        if (pageNumber < 1) {
+            throw new IllegalArgumentException("Pagination page number can't be less than 1.");
+        }
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Pagination page size can't be less than 0.");
+        }
+
+        return ofLongOffsetAndLimit(Math.multiplyExact(pageNumber - 1, (long) pageSize), pageSize);
     }
 
     @Override
@@ -13,20 +13,31 @@ import java.util.ListIterator;
 public class PagedResponse<E> implements ResponsePage<E> {
     private final List<E> source;
     private final Pagination pagination;
+    private final long offset;
 
     protected PagedResponse(List<E> source, Pagination pagination) {
+        this(source, pagination, PageStorage.COMPACT);
+    }
+
+    protected PagedResponse(List<E> source, Pagination pagination, PageStorage storage) {
         if (source == null) {
             throw new IllegalArgumentException("Source list cannot be null");
         }
         if (pagination == null) {
             throw new IllegalArgumentException("Pagination cannot be null");
         }
-        if (source.size() > pagination.getLimit()) {
+        if (storage == null) {
+            throw new IllegalArgumentException("Page storage cannot be null");
+        }
+        if (storage == PageStorage.COMPACT) {
+            source = CompactPageList.copyOf(source, pagination.getLimit());
+        } else if (source.size() > pagination.getLimit()) {
             source = source.subList(0, pagination.getLimit());
         }
 
         this.source = source;
         this.pagination = pagination;
+        this.offset = pagination.getLongOffset();
     }
 
     @Override
@@ -76,12 +87,17 @@ public class PagedResponse<E> implements ResponsePage<E> {
 
     @Override
     public E get(int index) {
-        if (index >= pagination.getOffset() + source.size()) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (pagination.getOffset() + source.size()));
+        return get((long) index);
+    }
+
+    @Override
+    public E get(long index) {
+        if (index >= offset + source.size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (offset + source.size()));
         }
 
-        if (index < pagination.getOffset()) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Offset: " + pagination.getOffset());
+        if (index < offset) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Offset: " + offset);
         }
 
         return source.get(toRealIndex(index));
@@ -89,18 +105,28 @@ public class PagedResponse<E> implements ResponsePage<E> {
 
     @Override
     public int indexOf(Object o) {
-        int index = source.indexOf(o);
+        return Math.toIntExact(longIndexOf(o));
+    }
+
+    @Override
+    public long longIndexOf(Object o) {
+        long index = source.indexOf(o);
         if (index != -1) {
-            index += pagination.getOffset();
+            index += offset;
         }
         return index;
     }
 
     @Override
     public int lastIndexOf(Object o) {
-        int index = source.lastIndexOf(o);
+        return Math.toIntExact(longLastIndexOf(o));
+    }
+
+    @Override
+    public long longLastIndexOf(Object o) {
+        long index = source.lastIndexOf(o);
         if (index != -1) {
-            index += pagination.getOffset();
+            index += offset;
         }
         return index;
     }
@@ -117,17 +143,45 @@ public class PagedResponse<E> implements ResponsePage<E> {
 
     @Override
     public List<E> subList(int fromIndex, int toIndex) {
+        return subList((long) fromIndex, (long) toIndex);
+    }
+
+    @Override
+    public List<E> subList(long fromIndex, long toIndex) {
         int fromRealIndex = toRealIndex(fromIndex);
         int toRealIndex = toRealIndex(toIndex);
 
         return source.subList(fromRealIndex, toRealIndex);
     }
 
-    private int toRealIndex(int indexInPagination) {
-        return indexInPagination - pagination.getOffset();
+    private int toRealIndex(long indexInPagination) {
+        long realIndex = indexInPagination - offset;
+        if (realIndex < Integer.MIN_VALUE || realIndex > Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("Index: " + indexInPagination + ", Offset: " + offset);
+        }
+        return (int) realIndex;
     }
 
+    /**
+     * Creates response page keeping a compact immutable copy of up to 'limit' source list elements
+     *
+     * @param source source list
+     * @param pagination pagination of the page
+     * @return new response page
+     */
     public static <E> PagedResponse<E> ofResponsePage(List<E> source, Pagination pagination) {
-        return new PagedResponse<E>(source, pagination);
+        return new PagedResponse<E>(source, pagination, PageStorage.COMPACT);
+    }
+
+    /**
+     * Creates response page viewing the source list without copying. Page retains the whole source list,
+     * so it should only be used for short-lived pages
+     *
+     * @param source source list
+     * @param pagination pagination of the page
+     * @return new response page
+     */
+    public static <E> PagedResponse<E> ofResponsePageView(List<E> source, Pagination pagination) {
+        return new PagedResponse<E>(source, pagination, PageStorage.VIEW);
     }
 }
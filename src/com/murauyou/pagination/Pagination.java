@@ -8,7 +8,7 @@ package com.murauyou.pagination;
  * The following pagination interface works both ways: with offset + limit and page number + page size pairs.
  * Pagination object is used to page requests for lists where elements index, as usually, start with 0
  */
-public interface Pagination extends OffsetLimitPagination, PageNumberSizePagination {
+public interface Pagination extends OffsetLimitPagination, PageNumberSizePagination, LongOffsetLimitPagination {
 
     /**
      * Returns first element index. Elements index starts from 0
@@ -24,6 +24,17 @@ public interface Pagination extends OffsetLimitPagination, PageNumberSizePaginat
      */
     int getLast();
 
+    /**
+     * Returns pagination offset as long. Default implementation widens int offset, implementations supporting
+     * offsets beyond int range override it
+     *
+     * @return pagination offset
+     */
+    @Override
+    default long getLongOffset() {
+        return getOffset();
+    }
+
     /**
      * Creates a new pagination object representing the next page
      *
@@ -0,0 +1,61 @@
+package com.murauyou.pagination;
+
+/**
+ * Service provider interface of pagination metrics, recorded per named page source. Methods are called on the page
+ * fetching path, so implementations must be thread safe and cheap, e.g. striped counters instead of locks. Global
+ * metrics are set by {@link Paginations#setMetrics(PaginationMetrics)}, {@link #NOOP} is the default and makes the
+ * instrumented paths skip recording, including clock reads, altogether.
+ */
+public interface PaginationMetrics {
+
+    /**
+     * Name pages are recorded under when created by {@link Paginations#ofResponsePage(java.util.List, Pagination)}
+     */
+    String DEFAULT_SOURCE = "default";
+
+    PaginationMetrics NOOP = new PaginationMetrics() {
+        @Override
+        public void recordPage(String source, long offset, int limit, int size) {
+        }
+
+        @Override
+        public void recordFetchLatency(String source, long latencyNanos) {
+        }
+
+        @Override
+        public void recordTotalSizeLatency(String source, long latencyNanos) {
+        }
+
+        @Override
+        public String toString() {
+            return "PaginationMetrics.NOOP";
+        }
+    };
+
+    /**
+     * Records page served by the source
+     *
+     * @param source page source name
+     * @param offset requested offset, the depth the source is paged to
+     * @param limit requested limit
+     * @param size number of elements returned, less than limit for the last page
+     */
+    void recordPage(String source, long offset, int limit, int size);
+
+    /**
+     * Records time the source took to fetch a page
+     *
+     * @param source page source name
+     * @param latencyNanos fetch latency in nanoseconds
+     */
+    void recordFetchLatency(String source, long latencyNanos);
+
+    /**
+     * Records time the source took to count the total size of the result list
+     *
+     * @param source page source name
+     * @param latencyNanos total size count latency in nanoseconds
+     */
+    void recordTotalSizeLatency(String source, long latencyNanos);
+
+}
@@ -1,15 +1,40 @@
 package com.murauyou.pagination;
 
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 
 /**
  * Created by Anton Murauyou on 10/24/14.
  */
 public final class Paginations {
+    private static volatile PaginationMetrics metrics = PaginationMetrics.NOOP;
 
     private Paginations() {
     }
 
+    /**
+     * Sets global pagination metrics, recorded by {@link #ofResponsePage(List, Pagination)} and metered page sources
+     *
+     * @param metrics pagination metrics, {@link PaginationMetrics#NOOP} turns recording off
+     */
+    public static void setMetrics(PaginationMetrics metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Pagination metrics cannot be null");
+        }
+        Paginations.metrics = metrics;
+    }
+
+    public static PaginationMetrics getMetrics() {
+        return metrics;
+    }
+
     public static Pagination fromStartWithLimit(int limit) {
         return PagedRequest.fromStartWithLimit(limit);
     }
@@ -18,6 +43,10 @@ public final class Paginations {
         return PagedRequest.ofOffsetAndLimit(offset, limit);
     }
 
+    public static Pagination ofOffsetAndLimit(long offset, int limit) {
+        return PagedRequest.ofLongOffsetAndLimit(offset, limit);
+    }
+
     public static Pagination fromStartWithPageSize(int pageSize) {
         return PagedRequest.fromStartWithPageSize(pageSize);
     }
@@ -26,12 +55,188 @@ public final class Paginations {
         return PagedRequest.ofPageNumberAndPageSize(pageNumber, pageSize);
     }
 
+    public static Pagination ofPageNumberAndPageSize(long pageNumber, int pageSize) {
+        return PagedRequest.ofLongPageNumberAndPageSize(pageNumber, pageSize);
+    }
+
+    public static KeysetPagination keysetFromStartWithLimit(List<String> sortKeys, SortDirection direction, int limit) {
+        return KeysetRequest.fromStartWithLimit(sortKeys, direction, limit);
+    }
+
+    public static KeysetPagination keysetAfter(List<String> sortKeys, SortDirection direction, List<?> keyset, int offset, int limit) {
+        return KeysetRequest.after(sortKeys, direction, keyset, offset, limit);
+    }
+
+    public static KeysetPagination keysetBefore(List<String> sortKeys, SortDirection direction, List<?> keyset, int offset, int limit) {
+        return KeysetRequest.before(sortKeys, direction, keyset, offset, limit);
+    }
+
+    /**
+     * Creates response page, recorded to global metrics under {@link PaginationMetrics#DEFAULT_SOURCE}
+     */
     public static <E> ResponsePage<E> ofResponsePage(List<E> source, Pagination pagination) {
-        return PagedResponse.ofResponsePage(source, pagination);
+        ResponsePage<E> page = PagedResponse.ofResponsePage(source, pagination);
+        PaginationMetrics metrics = Paginations.metrics;
+        if (metrics != PaginationMetrics.NOOP) {
+            metrics.recordPage(PaginationMetrics.DEFAULT_SOURCE, pagination.getLongOffset(), pagination.getLimit(), page.getPage().size());
+        }
+        return page;
+    }
+
+    public static <E> ResponsePage<E> ofResponsePageView(List<E> source, Pagination pagination) {
+        return PagedResponse.ofResponsePageView(source, pagination);
     }
 
     public static <E> TotalAwareResponsePage<E> ofResponseAndSizeAndPagination(List<E> source, Pagination pagination, int totalSize) {
         return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(source, pagination, totalSize);
     }
 
+    public static <E> TotalAwareResponsePage<E> ofResponseAndSizeAndPagination(List<E> source, Pagination pagination, long totalSize) {
+        return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(source, pagination, totalSize);
+    }
+
+    public static <E> TotalAwareResponsePage<E> ofResponseViewAndSizeAndPagination(List<E> source, Pagination pagination, long totalSize) {
+        return TotalAwarePagedResponse.ofResponseViewAndSizeAndPagination(source, pagination, totalSize);
+    }
+
+    public static <E> TotalAwareResponsePage<E> ofResponseAndLazySizeAndPagination(List<E> source, Pagination pagination, LongSupplier totalSize) {
+        return TotalAwarePagedResponse.ofResponseAndLazySizeAndPagination(source, pagination, totalSize);
+    }
+
+    public static <E> TotalAwareResponsePage<E> ofResponseAndEstimatedSizeAndPagination(List<E> source, Pagination pagination, long estimatedTotalSize) {
+        return TotalAwarePagedResponse.ofResponseAndEstimatedSizeAndPagination(source, pagination, estimatedTotalSize);
+    }
+
+    /**
+     * Creates page of the collection sorted by the comparator without sorting the whole collection. Equal elements
+     * keep collection iteration order
+     *
+     * @param source unsorted source collection
+     * @param comparator sort order
+     * @param pagination pagination of the page
+     * @return total aware page with collection size as total size
+     */
+    public static <E> TotalAwareResponsePage<E> ofSortedResponsePage(Collection<? extends E> source, Comparator<? super E> comparator, Pagination pagination) {
+        return TopKSelection.sortedPage(source, comparator, pagination);
+    }
+
+    /**
+     * Same as {@link #ofSortedResponsePage(Collection, Comparator, Pagination)} splitting the work between threads
+     * of the common fork join pool. Pays off for large collections only
+     */
+    public static <E> TotalAwareResponsePage<E> ofSortedResponsePageParallel(Collection<? extends E> source, Comparator<? super E> comparator, Pagination pagination) {
+        return TopKSelection.sortedPageParallel(source, comparator, pagination, ForkJoinPool.commonPool());
+    }
+
+    public static <E> TotalAwareResponsePage<E> ofSortedResponsePageParallel(Collection<? extends E> source, Comparator<? super E> comparator, Pagination pagination, ForkJoinPool pool) {
+        return TopKSelection.sortedPageParallel(source, comparator, pagination, pool);
+    }
+
+    public static IntResponsePage ofIntResponsePage(int[] source, Pagination pagination) {
+        return IntPagedResponse.ofResponsePage(source, pagination);
+    }
+
+    public static IntResponsePage ofIntResponsePageView(int[] source, Pagination pagination) {
+        return IntPagedResponse.ofResponsePageView(source, pagination);
+    }
+
+    public static LongResponsePage ofLongResponsePage(long[] source, Pagination pagination) {
+        return LongPagedResponse.ofResponsePage(source, pagination);
+    }
+
+    public static LongResponsePage ofLongResponsePageView(long[] source, Pagination pagination) {
+        return LongPagedResponse.ofResponsePageView(source, pagination);
+    }
+
+    public static <E> KeysetResponsePage<E> ofKeysetResponsePage(List<E> source, KeysetPagination pagination,
+                                                                 Function<? super E, ? extends List<?>> keysetExtractor) {
+        return KeysetPagedResponse.ofKeysetResponsePage(source, pagination, keysetExtractor);
+    }
+
+    public static <E> PageSource<E> ofListPageSource(List<E> source) {
+        return ListPageSource.ofList(source);
+    }
+
+    public static <E> MeteredPageSource<E> ofMeteredPageSource(String name, PageSource<E> source) {
+        return MeteredPageSource.ofPageSource(name, source);
+    }
+
+    public static <E> PageIterator<E> iterate(PageSource<E> source, Pagination first) {
+        return PageIterator.ofPageSource(source, first);
+    }
+
+    public static <E> Stream<E> stream(PageSource<E> source, Pagination first) {
+        return PageIterator.ofPageSource(source, first).stream();
+    }
+
+    public static <E> AdaptivePageIterator<E> iterateAdaptively(PageSource<E> source, Pagination first, int minLimit, int maxLimit,
+                                                                long targetLatency, TimeUnit unit) {
+        return AdaptivePageIterator.ofTargetLatency(source, first, minLimit, maxLimit, targetLatency, unit);
+    }
+
+    /**
+     * Returns pagination of the page following the specified one. Keyset response pages seek the next page by keyset
+     *
+     * @param page current response page
+     * @return pagination of the next page
+     */
+    public static Pagination nextOf(ResponsePage<?> page) {
+        if (page instanceof KeysetResponsePage) {
+            return ((KeysetResponsePage<?>) page).getNext();
+        }
+        return page.getPagination().getNext();
+    }
+
+    /**
+     * Returns pagination of the page preceding the specified one without throwing at the very first page
+     *
+     * @param pagination current pagination
+     * @return pagination of the previous page or empty optional at the very first page
+     */
+    public static Optional<Pagination> previousOf(Pagination pagination) {
+        try {
+            return Optional.of(pagination.getPrevious());
+        } catch (NoPageAvailableException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns pagination of the page preceding the specified one. Keyset response pages seek the previous page by keyset
+     *
+     * @param page current response page
+     * @return pagination of the previous page or empty optional at the very first page
+     */
+    public static Optional<Pagination> previousOf(ResponsePage<?> page) {
+        if (page instanceof KeysetResponsePage) {
+            try {
+                return Optional.<Pagination>of(((KeysetResponsePage<?>) page).getPrevious());
+            } catch (NoPageAvailableException ex) {
+                return Optional.empty();
+            }
+        }
+        return previousOf(page.getPagination());
+    }
+
+    /**
+     * Returns whether the specified page is the last one: it is shorter than its limit or reaches total size.
+     * Only exact total size which is already computed is taken into account, lazy total size is never forced
+     *
+     * @param page response page
+     * @return true when no more elements follow the page
+     */
+    public static boolean isLastPage(ResponsePage<?> page) {
+        Pagination pagination = page.getPagination();
+        if (page.size() < pagination.getLimit() || pagination.getLimit() == 0) {
+            return true;
+        }
+        if (page instanceof TotalAwareResponsePage) {
+            TotalAwareResponsePage<?> totalAwarePage = (TotalAwareResponsePage<?>) page;
+            if (totalAwarePage.isTotalSizeExact() && totalAwarePage.isTotalSizeComputed()) {
+                return pagination.getLongOffset() + page.size() >= totalAwarePage.getLongTotalSize();
+            }
+        }
+        return false;
+    }
+
 }
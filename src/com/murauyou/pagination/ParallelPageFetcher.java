@@ -0,0 +1,109 @@
+package com.murauyou.pagination;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Fetches a range of pages with bounded concurrency and hands them out in page order. Page plan is built by
+ * offset: each page follows the previous one by 'limit' elements until total size is reached (or, when total size
+ * isn't known, until a short page comes back). Suits latency-bound sources where throughput scales with the number
+ * of requests in flight. Keyset pagination can't be planned ahead and is not supported. Only page fetch failures
+ * ({@link PageFetchException}) are retried, with the delay between attempts doubling from the retry delay, so a
+ * struggling or rate limited source isn't hammered; any other exception fails the page right away.
+ */
+public class ParallelPageFetcher<E> {
+    private static final int DEFAULT_MAX_ATTEMPTS = 3;
+    private static final long DEFAULT_RETRY_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final PageSource<E> source;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final long retryDelayNanos;
+    private final Executor executor;
+
+    protected ParallelPageFetcher(PageSource<E> source, int concurrency, int maxAttempts, long retryDelayNanos, Executor executor) {
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency can't be less than 1.");
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts can't be less than 1.");
+        }
+        if (retryDelayNanos < 0) {
+            throw new IllegalArgumentException("Retry delay can't be less than 0.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+
+        this.source = source;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayNanos = retryDelayNanos;
+        this.executor = executor;
+    }
+
+    /**
+     * Starts fetching pages beginning with the specified one. Total size is taken from the first page when it is
+     * total aware with exact total size (lazy total size gets computed), otherwise pages are fetched speculatively
+     * until a short page comes back
+     *
+     * @param first pagination of the first page
+     * @return iterator over pages in page order, should be closed when abandoned before the end
+     */
+    public ParallelPageIterator<E> fetchPages(Pagination first) {
+        return new ParallelPageIterator<E>(source, first, -1, concurrency, maxAttempts, retryDelayNanos, executor);
+    }
+
+    /**
+     * Starts fetching pages beginning with the specified one up to the known total size
+     *
+     * @param first pagination of the first page
+     * @param totalSize total size of the result list
+     * @return iterator over pages in page order, should be closed when abandoned before the end
+     */
+    public ParallelPageIterator<E> fetchPages(Pagination first, long totalSize) {
+        if (totalSize < 0) {
+            throw new IllegalArgumentException("Total size can't be less than 0.");
+        }
+
+        return new ParallelPageIterator<E>(source, first, totalSize, concurrency, maxAttempts, retryDelayNanos, executor);
+    }
+
+    /**
+     * Returns stream of elements of pages beginning with the specified one. Closing the stream cancels fetches in flight
+     *
+     * @param first pagination of the first page
+     * @return ordered stream of elements
+     */
+    public Stream<E> stream(Pagination first) {
+        return fetchPages(first).stream();
+    }
+
+    public static <E> ParallelPageFetcher<E> ofPageSource(PageSource<E> source, int concurrency) {
+        return new ParallelPageFetcher<E>(source, concurrency, DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY_NANOS, PageExecutors.parallelExecutor());
+    }
+
+    public static <E> ParallelPageFetcher<E> ofPageSource(PageSource<E> source, int concurrency, int maxAttempts, Executor executor) {
+        return new ParallelPageFetcher<E>(source, concurrency, maxAttempts, DEFAULT_RETRY_DELAY_NANOS, executor);
+    }
+
+    /**
+     * Creates a new parallel page fetcher
+     *
+     * @param source page source
+     * @param concurrency max number of page fetches in flight
+     * @param maxAttempts max number of attempts to fetch a page
+     * @param retryDelay delay before the first retry, doubled before every next one
+     * @param unit retry delay unit
+     * @param executor executor running page fetches
+     * @return new parallel page fetcher
+     */
+    public static <E> ParallelPageFetcher<E> ofPageSource(PageSource<E> source, int concurrency, int maxAttempts,
+                                                          long retryDelay, TimeUnit unit, Executor executor) {
+        return new ParallelPageFetcher<E>(source, concurrency, maxAttempts, unit.toNanos(retryDelay), executor);
+    }
+}
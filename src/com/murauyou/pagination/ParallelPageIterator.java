@@ -0,0 +1,202 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over pages fetched by {@link ParallelPageFetcher}. Keeps a window of up to 'concurrency' page fetches
+ * in flight and hands pages out in page order, so no more than 'concurrency' pages are held in memory.
+ * Failure of a page fetch cancels the fetches in flight and is rethrown by every later call, so pages following
+ * the failed one are never handed out. Iterator is not thread safe and should be closed when abandoned before
+ * the end.
+ */
+public class ParallelPageIterator<E> implements Iterator<ResponsePage<E>>, AutoCloseable {
+    private final PageSource<E> source;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final long retryDelayNanos;
+    private final Executor executor;
+    private final Deque<CompletableFuture<ResponsePage<E>>> window = new ArrayDeque<CompletableFuture<ResponsePage<E>>>();
+    private long totalSize;
+    private Pagination planned;
+    private boolean probed;
+    private ResponsePage<E> ready;
+    private RuntimeException failure;
+    private volatile boolean closed;
+
+    protected ParallelPageIterator(PageSource<E> source, Pagination first, long totalSize, int concurrency, int maxAttempts,
+                                   long retryDelayNanos, Executor executor) {
+        if (first == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (first instanceof KeysetPagination) {
+            throw new IllegalArgumentException("Keyset pagination can't be fetched in parallel");
+        }
+        if (first.getLimit() == 0) {
+            throw new IllegalArgumentException("Pagination limit can't be 0 for parallel fetch.");
+        }
+
+        this.source = source;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayNanos = retryDelayNanos;
+        this.executor = executor;
+        this.totalSize = totalSize;
+        this.planned = first;
+        this.probed = totalSize >= 0;
+
+        trimPlan();
+        fill();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (failure != null) {
+            throw failure;
+        }
+
+        while (ready == null && !window.isEmpty()) {
+            ResponsePage<E> page;
+            try {
+                page = PageFutures.await(window.poll());
+            } catch (RuntimeException ex) {
+                failure = ex;
+                closed = true;
+                finish();
+                throw ex;
+            }
+            probed = true;
+
+            if (page.isEmpty()) {
+                finish();
+                break;
+            }
+            if (totalSize < 0 && page instanceof TotalAwareResponsePage && ((TotalAwareResponsePage<E>) page).isTotalSizeExact()) {
+                totalSize = ((TotalAwareResponsePage<E>) page).getLongTotalSize();
+                trimPlan();
+            }
+
+            ready = page;
+            if (Paginations.isLastPage(page)) {
+                finish();
+            } else {
+                fill();
+            }
+        }
+
+        return ready != null;
+    }
+
+    @Override
+    public ResponsePage<E> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        ResponsePage<E> page = ready;
+        ready = null;
+        return page;
+    }
+
+    public Spliterator<E> spliterator() {
+        return new PageSpliterator<E>(this);
+    }
+
+    /**
+     * Returns sequential stream of elements of the remaining pages. Closing the stream cancels fetches in flight
+     *
+     * @return stream of elements
+     */
+    public Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(new Runnable() {
+            @Override
+            public void run() {
+                close();
+            }
+        });
+    }
+
+    /**
+     * Stops iteration cancelling page fetches in flight. Fetches already running complete without retries
+     */
+    @Override
+    public void close() {
+        closed = true;
+        finish();
+        ready = null;
+    }
+
+    private void fill() {
+        int capacity = probed ? concurrency : 1;
+        while (planned != null && window.size() < capacity && !closed) {
+            window.add(fetchWithRetries(planned));
+            planned = planned.getNext();
+            trimPlan();
+        }
+    }
+
+    private void trimPlan() {
+        if (planned != null && totalSize >= 0 && planned.getLongOffset() >= totalSize) {
+            planned = null;
+        }
+    }
+
+    private void finish() {
+        planned = null;
+        while (!window.isEmpty()) {
+            window.poll().cancel(false);
+        }
+    }
+
+    private CompletableFuture<ResponsePage<E>> fetchWithRetries(final Pagination pagination) {
+        return CompletableFuture.supplyAsync(new Supplier<ResponsePage<E>>() {
+            @Override
+            public ResponsePage<E> get() {
+                PageFetchException failure = null;
+                long delay = retryDelayNanos;
+                for (int attempt = 0; attempt < maxAttempts && !closed; attempt++) {
+                    if (attempt > 0) {
+                        if (!backOff(delay)) {
+                            break;
+                        }
+                        delay = delay > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : delay * 2;
+                    }
+                    try {
+                        return source.fetch(pagination);
+                    } catch (PageFetchException ex) {
+                        // Other exceptions are bugs or bad requests, retrying them only adds load
+                        failure = ex;
+                    }
+                }
+                if (failure == null) {
+                    throw new PageFetchException("Page fetch was cancelled: " + pagination);
+                }
+                throw failure;
+            }
+        }, executor);
+    }
+
+    /**
+     * Waits before the next attempt
+     *
+     * @return false when interrupted, no more attempts should be made then
+     */
+    private static boolean backOff(long delayNanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable AVL tree of elements ordered by position, each node annotated with its subtree size. Updates copy
+ * O(log n) nodes on the path to the change and share the rest with the previous tree, so every tree is a cheap
+ * snapshot. Access by index, positional updates and binary search by comparator (for trees kept sorted) are
+ * O(log n), a range of 'count' elements is copied in O(log n + count).
+ */
+final class PersistentRankTree<E> {
+    private static final PersistentRankTree<Object> EMPTY = new PersistentRankTree<Object>(null);
+
+    private final Node<E> root;
+
+    private PersistentRankTree(Node<E> root) {
+        this.root = root;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    E get(int index) {
+        checkIndex(index, size());
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.value;
+            }
+        }
+    }
+
+    PersistentRankTree<E> set(int index, E value) {
+        checkIndex(index, size());
+        return new PersistentRankTree<E>(set(root, index, value));
+    }
+
+    PersistentRankTree<E> insert(int index, E value) {
+        checkIndex(index, size() + 1);
+        return new PersistentRankTree<E>(insert(root, index, value));
+    }
+
+    PersistentRankTree<E> remove(int index) {
+        checkIndex(index, size());
+        return new PersistentRankTree<E>(remove(root, index));
+    }
+
+    /**
+     * Searches tree sorted by the comparator for the key
+     *
+     * @return index of the key or (-(insertion point) - 1) when key is absent, as binary search does
+     */
+    int search(E key, Comparator<? super E> comparator) {
+        Node<E> node = root;
+        int base = 0;
+        while (node != null) {
+            int result = comparator.compare(key, node.value);
+            if (result < 0) {
+                node = node.left;
+            } else if (result > 0) {
+                base += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return base + size(node.left);
+            }
+        }
+        return -base - 1;
+    }
+
+    /**
+     * Copies elements between 'from' (inclusive) and 'to' (exclusive) indexes skipping subtrees outside the range
+     */
+    Object[] toArray(int from, int to) {
+        if (from < 0 || to > size() || from > to) {
+            throw new IndexOutOfBoundsException("From index: " + from + ", To index: " + to + ", Size: " + size());
+        }
+
+        Object[] elements = new Object[to - from];
+        copy(root, 0, from, to, elements);
+        return elements;
+    }
+
+    Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Deque<Node<E>> path = new ArrayDeque<Node<E>>();
+
+            {
+                pushLeft(root);
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) {
+                    throw new NoSuchElementException();
+                }
+                Node<E> node = path.pop();
+                pushLeft(node.right);
+                return node.value;
+            }
+
+            private void pushLeft(Node<E> node) {
+                while (node != null) {
+                    path.push(node);
+                    node = node.left;
+                }
+            }
+        };
+    }
+
+    /**
+     * Builds perfectly balanced tree of the elements in O(n)
+     */
+    static <E> PersistentRankTree<E> ofArray(Object[] elements) {
+        return new PersistentRankTree<E>(PersistentRankTree.<E>build(elements, 0, elements.length));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <E> PersistentRankTree<E> empty() {
+        return (PersistentRankTree<E>) EMPTY;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (size));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E> build(Object[] elements, int from, int to) {
+        if (from == to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        return new Node<E>((E) elements[middle], PersistentRankTree.<E>build(elements, from, middle),
+                PersistentRankTree.<E>build(elements, middle + 1, to));
+    }
+
+    private static <E> void copy(Node<E> node, int base, int from, int to, Object[] elements) {
+        while (node != null) {
+            int index = base + size(node.left);
+            if (from < index) {
+                copy(node.left, base, from, to, elements);
+            }
+            if (index >= to) {
+                return;
+            }
+            if (index >= from) {
+                elements[index - from] = node.value;
+            }
+            base = index + 1;
+            node = node.right;
+        }
+    }
+
+    private static <E> Node<E> set(Node<E> node, int index, E value) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return new Node<E>(node.value, set(node.left, index, value), node.right);
+        }
+        if (index > leftSize) {
+            return new Node<E>(node.value, node.left, set(node.right, index - leftSize - 1, value));
+        }
+        return new Node<E>(value, node.left, node.right);
+    }
+
+    private static <E> Node<E> insert(Node<E> node, int index, E value) {
+        if (node == null) {
+            return new Node<E>(value, null, null);
+        }
+
+        int leftSize = size(node.left);
+        if (index <= leftSize) {
+            return balance(node.value, insert(node.left, index, value), node.right);
+        }
+        return balance(node.value, node.left, insert(node.right, index - leftSize - 1, value));
+    }
+
+    private static <E> Node<E> remove(Node<E> node, int index) {
+        int leftSize = size(node.left);
+        if (index < leftSize) {
+            return balance(node.value, remove(node.left, index), node.right);
+        }
+        if (index > leftSize) {
+            return balance(node.value, node.left, remove(node.right, index - leftSize - 1));
+        }
+
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<E> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.value, node.left, remove(node.right, 0));
+    }
+
+    private static <E> Node<E> balance(E value, Node<E> left, Node<E> right) {
+        int difference = height(left) - height(right);
+        if (difference > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.value, left.left, left.right);
+            }
+            return rotateRight(value, left, right);
+        }
+        if (difference < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.value, right.left, right.right);
+            }
+            return rotateLeft(value, left, right);
+        }
+        return new Node<E>(value, left, right);
+    }
+
+    private static <E> Node<E> rotateRight(E value, Node<E> left, Node<E> right) {
+        return new Node<E>(left.value, left.left, new Node<E>(value, left.right, right));
+    }
+
+    private static <E> Node<E> rotateLeft(E value, Node<E> left, Node<E> right) {
+        return new Node<E>(right.value, new Node<E>(value, left, right.left), right.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node<E> {
+        private final E value;
+        private final Node<E> left;
+        private final Node<E> right;
+        private final int size;
+        private final int height;
+
+        private Node(E value, Node<E> left, Node<E> right) {
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = size(left) + size(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.murauyou.pagination;
+
+/**
+ * Offset and range logic shared by primitive response pages backed by an array range. Element index is the index
+ * in the result list, i.e. it starts from pagination offset, array index is the index in the backing array.
+ */
+abstract class PrimitivePagedResponse {
+    final int from;
+    final int size;
+    private final Pagination pagination;
+    private final long offset;
+
+    PrimitivePagedResponse(int length, int from, int size, Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (from < 0 || size < 0 || from + size > length || size > pagination.getLimit()) {
+            throw new IllegalArgumentException("Source range doesn't fit source array or pagination limit");
+        }
+
+        this.from = from;
+        this.size = size;
+        this.pagination = pagination;
+        this.offset = pagination.getLongOffset();
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Translates element index to array index
+     *
+     * @param index element index
+     * @return array index
+     * @throws IndexOutOfBoundsException when the element isn't on the page
+     */
+    int arrayIndex(long index) {
+        if (index >= offset + size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + (offset + size));
+        }
+
+        if (index < offset) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Offset: " + offset);
+        }
+
+        return from + (int) (index - offset);
+    }
+
+    /**
+     * Translates element index range to array index of its start
+     *
+     * @param fromIndex low endpoint (inclusive) element index
+     * @param toIndex high endpoint (exclusive) element index
+     * @return array index of 'fromIndex'
+     * @throws IndexOutOfBoundsException when the range isn't on the page
+     */
+    int arrayIndex(long fromIndex, long toIndex) {
+        if (fromIndex < offset || toIndex > offset + size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", To index: " + toIndex
+                    + ", Offset: " + offset + ", Size: " + size);
+        }
+
+        return from + (int) (fromIndex - offset);
+    }
+
+    /**
+     * Translates array index to element index
+     *
+     * @param arrayIndex array index or -1 when the value wasn't found
+     * @return element index or -1 when the value wasn't found
+     */
+    long elementIndex(int arrayIndex) {
+        return arrayIndex == -1 ? -1 : offset + (arrayIndex - from);
+    }
+}
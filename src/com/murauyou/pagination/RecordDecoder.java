@@ -0,0 +1,20 @@
+package com.murauyou.pagination;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes a record of a file page source from its bytes.
+ */
+public interface RecordDecoder<E> {
+
+    /**
+     * Decodes record element. Buffer contains exactly the record bytes (without line terminator) between its position
+     * and limit and is only valid during the call unless it is a view of a mapped file which stays valid while
+     * referenced
+     *
+     * @param record record bytes
+     * @return decoded element
+     */
+    E decode(ByteBuffer record);
+
+}
@@ -0,0 +1,44 @@
+package com.murauyou.pagination;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Commonly used record decoders.
+ */
+public final class RecordDecoders {
+    private static final RecordDecoder<String> UTF_8 = new RecordDecoder<String>() {
+        @Override
+        public String decode(ByteBuffer record) {
+            return StandardCharsets.UTF_8.decode(record).toString();
+        }
+    };
+
+    private static final RecordDecoder<ByteBuffer> BYTES = new RecordDecoder<ByteBuffer>() {
+        @Override
+        public ByteBuffer decode(ByteBuffer record) {
+            return record.asReadOnlyBuffer();
+        }
+    };
+
+    private RecordDecoders() {
+    }
+
+    /**
+     * Returns decoder of UTF-8 text records
+     *
+     * @return UTF-8 string decoder
+     */
+    public static RecordDecoder<String> utf8() {
+        return UTF_8;
+    }
+
+    /**
+     * Returns decoder keeping record bytes as a read-only view of the mapped file without copying
+     *
+     * @return byte buffer view decoder
+     */
+    public static RecordDecoder<ByteBuffer> bytes() {
+        return BYTES;
+    }
+}
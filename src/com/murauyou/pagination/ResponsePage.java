@@ -30,14 +30,43 @@ public interface ResponsePage<E> {
 
     E get(int index);
 
+    /**
+     * Returns element by its 64-bit index in the result list. Default implementation supports int index range only
+     */
+    default E get(long index) {
+        if (index < Integer.MIN_VALUE || index > Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return get((int) index);
+    }
+
     int indexOf(Object o);
 
+    default long longIndexOf(Object o) {
+        return indexOf(o);
+    }
+
     int lastIndexOf(Object o);
 
+    default long longLastIndexOf(Object o) {
+        return lastIndexOf(o);
+    }
+
     ListIterator<E> listIterator();
 
     ListIterator<E> listIterator(int index);
 
     List<E> subList(int fromIndex, int toIndex);
 
+    /**
+     * Returns view of the elements between 64-bit indexes in the result list. Default implementation supports
+     * int index range only
+     */
+    default List<E> subList(long fromIndex, long toIndex) {
+        if (fromIndex < Integer.MIN_VALUE || fromIndex > Integer.MAX_VALUE || toIndex < Integer.MIN_VALUE || toIndex > Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("From index: " + fromIndex + ", To index: " + toIndex);
+        }
+        return subList((int) fromIndex, (int) toIndex);
+    }
+
 }
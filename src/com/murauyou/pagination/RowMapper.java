@@ -0,0 +1,20 @@
+package com.murauyou.pagination;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a result set into a page element.
+ */
+public interface RowMapper<E> {
+
+    /**
+     * Maps the current row. Implementation should not move the cursor
+     *
+     * @param resultSet result set positioned at the row
+     * @return page element
+     * @throws SQLException when row can't be read
+     */
+    E mapRow(ResultSet resultSet) throws SQLException;
+
+}
@@ -0,0 +1,322 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Page source merging result lists of shards sorted by the same comparator. Shards are read incrementally in chunks
+ * and merged with a heap, so a page costs roughly 'limit' elements per shard instead of 'offset + limit'. Merge
+ * state reached by a page is remembered by its end offset: fetching the next page resumes from per-shard positions
+ * (and elements already read ahead) of the previous one, any other offset resumes from the closest remembered
+ * position before it. Shards are expected not to change while remembered positions are in use, drop them by
+ * {@link #invalidateAll()} otherwise. Supports offset + limit pagination only.
+ */
+public class ShardedPageSource<E> implements PageSource<E> {
+    private static final int DEFAULT_MAX_CURSORS = 16;
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final int MAX_CHUNK_SIZE = 1024;
+
+    private final List<PageSource<E>> shards;
+    private final Comparator<? super E> comparator;
+    private final Executor executor;
+    private final Map<Long, MergeCursor<E>> cursors;
+
+    protected ShardedPageSource(List<? extends PageSource<E>> shards, Comparator<? super E> comparator, final int maxCursors, Executor executor) {
+        if (shards == null || shards.isEmpty()) {
+            throw new IllegalArgumentException("Shards cannot be null or empty");
+        }
+        if (shards.contains(null)) {
+            throw new IllegalArgumentException("Shard cannot be null");
+        }
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (maxCursors < 0) {
+            throw new IllegalArgumentException("Max cursors can't be less than 0.");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+
+        this.shards = new ArrayList<PageSource<E>>(shards);
+        this.comparator = comparator;
+        this.executor = executor;
+        this.cursors = new LinkedHashMap<Long, MergeCursor<E>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MergeCursor<E>> eldest) {
+                return size() > maxCursors;
+            }
+        };
+    }
+
+    @Override
+    public ResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Sharded page source can't seek by keyset");
+        }
+        if (pagination.getLimit() == 0) {
+            return PagedResponse.ofResponsePage(Collections.<E>emptyList(), pagination);
+        }
+
+        long offset = pagination.getLongOffset();
+        int limit = pagination.getLimit();
+        MergeCursor<E> cursor = closestCursor(offset);
+        Merge merge = new Merge(cursor, offset - cursor.position + limit, limit);
+        merge.skip(offset - cursor.position);
+
+        Object[] elements = new Object[limit];
+        int size = 0;
+        while (size < limit && merge.hasNext()) {
+            elements[size++] = merge.next();
+        }
+        remember(merge.toCursor());
+
+        List<E> page = CompactPageList.wrap(size == limit ? elements : Arrays.copyOf(elements, size));
+        long totalSize = merge.getTotalSize();
+        if (totalSize >= 0) {
+            return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(page, pagination, totalSize);
+        }
+        return PagedResponse.ofResponsePage(page, pagination);
+    }
+
+    /**
+     * Drops remembered merge positions, e.g. when shards were modified
+     */
+    public void invalidateAll() {
+        synchronized (cursors) {
+            cursors.clear();
+        }
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    private MergeCursor<E> closestCursor(long offset) {
+        MergeCursor<E> closest = null;
+        synchronized (cursors) {
+            MergeCursor<E> exact = cursors.get(offset);
+            if (exact != null) {
+                return exact;
+            }
+            for (MergeCursor<E> cursor : cursors.values()) {
+                if (cursor.position <= offset && (closest == null || cursor.position > closest.position)) {
+                    closest = cursor;
+                }
+            }
+        }
+        return closest != null ? closest : MergeCursor.<E>start(shards.size());
+    }
+
+    private void remember(MergeCursor<E> cursor) {
+        synchronized (cursors) {
+            cursors.put(cursor.position, cursor);
+        }
+    }
+
+    public static <E> ShardedPageSource<E> ofPageSources(List<? extends PageSource<E>> shards, Comparator<? super E> comparator) {
+        return new ShardedPageSource<E>(shards, comparator, DEFAULT_MAX_CURSORS, PageExecutors.parallelExecutor());
+    }
+
+    public static <E> ShardedPageSource<E> ofPageSources(List<? extends PageSource<E>> shards, Comparator<? super E> comparator, int maxCursors, Executor executor) {
+        return new ShardedPageSource<E>(shards, comparator, maxCursors, executor);
+    }
+
+    /**
+     * Immutable merge state: per-shard elements read ahead and positions of the shard pages they came from
+     */
+    private static final class MergeCursor<E> {
+        private final long position;
+        private final List<E>[] buffers;
+        private final int[] indexes;
+        private final long[] offsets;
+        private final long[] totalSizes;
+
+        private MergeCursor(long position, List<E>[] buffers, int[] indexes, long[] offsets, long[] totalSizes) {
+            this.position = position;
+            this.buffers = buffers;
+            this.indexes = indexes;
+            this.offsets = offsets;
+            this.totalSizes = totalSizes;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <E> MergeCursor<E> start(int shardCount) {
+            long[] totalSizes = new long[shardCount];
+            Arrays.fill(totalSizes, -1);
+            return new MergeCursor<E>(0, (List<E>[]) new List<?>[shardCount], new int[shardCount], new long[shardCount], totalSizes);
+        }
+    }
+
+    /**
+     * K-way merge of shard buffers refilled on demand
+     */
+    private final class Merge {
+        private final List<E>[] buffers;
+        private final int[] indexes;
+        private final long[] offsets;
+        private final long[] totalSizes;
+        private final int[] chunkSizes;
+        private final int maxChunkSize;
+        private final PriorityQueue<Integer> heap;
+        private long position;
+        private long remaining;
+
+        private Merge(MergeCursor<E> cursor, long needed, int limit) {
+            this.buffers = cursor.buffers.clone();
+            this.indexes = cursor.indexes.clone();
+            this.offsets = cursor.offsets.clone();
+            this.totalSizes = cursor.totalSizes.clone();
+            this.chunkSizes = new int[buffers.length];
+            this.maxChunkSize = Math.max(limit, MAX_CHUNK_SIZE);
+            this.position = cursor.position;
+            this.remaining = needed;
+            this.heap = new PriorityQueue<Integer>(buffers.length, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer left, Integer right) {
+                    int result = comparator.compare(head(left), head(right));
+                    return result != 0 ? result : Integer.compare(left, right);
+                }
+            });
+
+            refillAll();
+        }
+
+        private boolean hasNext() {
+            return !heap.isEmpty();
+        }
+
+        private E next() {
+            int shard = heap.poll();
+            E element = buffers[shard].get(indexes[shard]++);
+            position++;
+            remaining--;
+            if (indexes[shard] == buffers[shard].size() && !isExhausted(shard)) {
+                refill(shard);
+            }
+            if (indexes[shard] < buffers[shard].size()) {
+                heap.add(shard);
+            }
+            return element;
+        }
+
+        private void skip(long count) {
+            for (long i = 0; i < count && hasNext(); i++) {
+                next();
+            }
+        }
+
+        private long getTotalSize() {
+            long totalSize = 0;
+            for (long shardTotalSize : totalSizes) {
+                if (shardTotalSize < 0) {
+                    return -1;
+                }
+                totalSize += shardTotalSize;
+            }
+            return totalSize;
+        }
+
+        private MergeCursor<E> toCursor() {
+            return new MergeCursor<E>(position, buffers.clone(), indexes.clone(), offsets.clone(), totalSizes.clone());
+        }
+
+        private E head(int shard) {
+            return buffers[shard].get(indexes[shard]);
+        }
+
+        private boolean isExhausted(int shard) {
+            return totalSizes[shard] >= 0 && offsets[shard] + indexes[shard] >= totalSizes[shard];
+        }
+
+        /**
+         * Fetches chunks of all shards without buffered elements concurrently
+         */
+        @SuppressWarnings("unchecked")
+        private void refillAll() {
+            CompletableFuture<ResponsePage<E>>[] futures = (CompletableFuture<ResponsePage<E>>[]) new CompletableFuture<?>[buffers.length];
+            int last = -1;
+            for (int shard = 0; shard < buffers.length; shard++) {
+                if (hasBuffered(shard) || isExhausted(shard)) {
+                    continue;
+                }
+                if (last >= 0) {
+                    futures[last] = PageFutures.fetchAsync(shards.get(last), nextChunk(last), executor);
+                }
+                last = shard;
+            }
+            boolean done = false;
+            try {
+                if (last >= 0) {
+                    accept(last, shards.get(last).fetch(nextChunk(last)));
+                }
+
+                for (int shard = 0; shard < buffers.length; shard++) {
+                    if (futures[shard] != null) {
+                        accept(shard, PageFutures.await(futures[shard]));
+                    }
+                    if (hasBuffered(shard)) {
+                        heap.add(shard);
+                    }
+                }
+                done = true;
+            } finally {
+                if (!done) {
+                    // Failed merge doesn't need the other chunks, fetches not started yet are dropped
+                    for (CompletableFuture<ResponsePage<E>> future : futures) {
+                        if (future != null) {
+                            future.cancel(false);
+                        }
+                    }
+                }
+            }
+        }
+
+        private Pagination nextChunk(int shard) {
+            chunkSizes[shard] = chunkSize(shard);
+            return Paginations.ofOffsetAndLimit(consumed(shard), chunkSizes[shard]);
+        }
+
+        private void refill(int shard) {
+            accept(shard, shards.get(shard).fetch(nextChunk(shard)));
+        }
+
+        private void accept(int shard, ResponsePage<E> page) {
+            long offset = consumed(shard);
+            buffers[shard] = page.getPage();
+            indexes[shard] = 0;
+            offsets[shard] = offset;
+            if (Paginations.isLastPage(page)) {
+                totalSizes[shard] = offset + page.size();
+            }
+        }
+
+        /**
+         * First chunk of a shard is its even share of elements still needed, next chunks of the same merge double
+         */
+        private int chunkSize(int shard) {
+            long share = (remaining + buffers.length - 1) / buffers.length;
+            long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.max(share, 2L * chunkSizes[shard]));
+            return (int) Math.min(chunkSize, maxChunkSize);
+        }
+
+        private long consumed(int shard) {
+            return buffers[shard] == null ? 0 : offsets[shard] + indexes[shard];
+        }
+
+        private boolean hasBuffered(int shard) {
+            return buffers[shard] != null && indexes[shard] < buffers[shard].size();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.murauyou.pagination;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+/**
+ * Page source decorator coalescing concurrent fetches of the same page of the same query into a single upstream
+ * fetch. Fetch is keyed by query key and pagination (paginations have value equality), callers arriving while it is
+ * in flight share its result or failure. Every caller gets its own future: cancelling it detaches the caller only,
+ * upstream fetch is cancelled once all its callers have cancelled. Nothing is cached, the next fetch after
+ * completion goes upstream again. Decorators created by {@link #forQuery(Object, PageSource)} share in-flight fetches,
+ * so one registry can serve many queries.
+ */
+public class SingleFlightPageSource<E> implements PageSource<E>, AsyncPageSource<E> {
+    private final Object queryKey;
+    private final PageSource<E> source;
+    private final ConcurrentMap<FlightKey, Flight<?>> flights;
+    private final Executor executor;
+
+    protected SingleFlightPageSource(Object queryKey, PageSource<E> source, ConcurrentMap<FlightKey, Flight<?>> flights, Executor executor) {
+        if (queryKey == null) {
+            throw new IllegalArgumentException("Query key cannot be null");
+        }
+        if (source == null) {
+            throw new IllegalArgumentException("Page source cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor cannot be null");
+        }
+
+        this.queryKey = queryKey;
+        this.source = source;
+        this.flights = flights;
+        this.executor = executor;
+    }
+
+    /**
+     * Fetches the page joining fetch in flight if any. Leading caller fetches in its own thread
+     */
+    @Override
+    public ResponsePage<E> fetch(Pagination pagination) {
+        return PageFutures.await(join(pagination, false));
+    }
+
+    /**
+     * Fetches the page asynchronously joining fetch in flight if any
+     *
+     * @param pagination page to fetch
+     * @return future of the caller, cancelling it doesn't affect other callers
+     */
+    @Override
+    public CompletableFuture<ResponsePage<E>> fetchAsync(Pagination pagination) {
+        return join(pagination, true);
+    }
+
+    /**
+     * Returns decorator of another query sharing in-flight fetches with this one
+     *
+     * @param queryKey query identity, e.g. normalized query text with parameters
+     * @param source page source of the query
+     * @return single flight page source of the query
+     */
+    public <T> SingleFlightPageSource<T> forQuery(Object queryKey, PageSource<T> source) {
+        return new SingleFlightPageSource<T>(queryKey, source, flights, executor);
+    }
+
+    /**
+     * Returns number of distinct fetches in flight of all queries sharing the registry
+     *
+     * @return number of upstream fetches in flight
+     */
+    public int getInFlightCount() {
+        return flights.size();
+    }
+
+    /**
+     * Returns number of callers waiting for the page fetch in flight
+     *
+     * @param pagination page in flight
+     * @return number of callers, 0 when the page isn't in flight
+     */
+    int getCallerCount(Pagination pagination) {
+        Flight<?> flight = flights.get(new FlightKey(queryKey, pagination));
+        return flight != null ? flight.getCallers() : 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<ResponsePage<E>> join(Pagination pagination, boolean async) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+
+        FlightKey key = new FlightKey(queryKey, pagination);
+        while (true) {
+            Flight<E> flight = (Flight<E>) flights.get(key);
+            if (flight == null) {
+                Flight<E> created = new Flight<E>(key, flights);
+                flight = (Flight<E>) flights.putIfAbsent(key, created);
+                if (flight == null) {
+                    CompletableFuture<ResponsePage<E>> caller = created.join();
+                    if (async) {
+                        try {
+                            executor.execute(created.fetching(source, pagination));
+                        } catch (RuntimeException ex) {
+                            // Rejected flight must leave the registry, or its joiners would wait forever
+                            created.fail(ex);
+                            throw ex;
+                        }
+                    } else {
+                        created.fetching(source, pagination).run();
+                    }
+                    return caller;
+                }
+            }
+
+            CompletableFuture<ResponsePage<E>> caller = flight.join();
+            if (caller != null) {
+                return caller;
+            }
+            // Flight was abandoned by all its callers and is leaving the registry
+            flights.remove(key, flight);
+        }
+    }
+
+    public static <E> SingleFlightPageSource<E> ofPageSource(PageSource<E> source) {
+        return new SingleFlightPageSource<E>(source, source, new ConcurrentHashMap<FlightKey, Flight<?>>(), PageExecutors.defaultExecutor());
+    }
+
+    public static <E> SingleFlightPageSource<E> ofPageSource(Object queryKey, PageSource<E> source, Executor executor) {
+        return new SingleFlightPageSource<E>(queryKey, source, new ConcurrentHashMap<FlightKey, Flight<?>>(), executor);
+    }
+
+    private static final class FlightKey {
+        private final Object queryKey;
+        private final Pagination pagination;
+
+        private FlightKey(Object queryKey, Pagination pagination) {
+            this.queryKey = queryKey;
+            this.pagination = pagination;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            FlightKey that = (FlightKey) o;
+            return queryKey.equals(that.queryKey) && pagination.equals(that.pagination);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * queryKey.hashCode() + pagination.hashCode();
+        }
+    }
+
+    /**
+     * Upstream fetch shared by its callers
+     */
+    private static final class Flight<E> {
+        private final FlightKey key;
+        private final ConcurrentMap<FlightKey, Flight<?>> flights;
+        private final CompletableFuture<ResponsePage<E>> shared = new CompletableFuture<ResponsePage<E>>();
+        private int callers;
+        private boolean abandoned;
+
+        private Flight(FlightKey key, ConcurrentMap<FlightKey, Flight<?>> flights) {
+            this.key = key;
+            this.flights = flights;
+        }
+
+        /**
+         * Adds a caller to the flight
+         *
+         * @return future of the caller or null when flight was abandoned
+         */
+        private synchronized CompletableFuture<ResponsePage<E>> join() {
+            if (abandoned) {
+                return null;
+            }
+            callers++;
+
+            final CompletableFuture<ResponsePage<E>> caller = new CompletableFuture<ResponsePage<E>>();
+            shared.whenComplete(new BiConsumer<ResponsePage<E>, Throwable>() {
+                @Override
+                public void accept(ResponsePage<E> page, Throwable failure) {
+                    if (failure != null) {
+                        caller.completeExceptionally(failure);
+                    } else {
+                        caller.complete(page);
+                    }
+                }
+            });
+            caller.whenComplete(new BiConsumer<ResponsePage<E>, Throwable>() {
+                @Override
+                public void accept(ResponsePage<E> page, Throwable failure) {
+                    if (caller.isCancelled()) {
+                        leave();
+                    }
+                }
+            });
+            return caller;
+        }
+
+        private void leave() {
+            synchronized (this) {
+                if (--callers > 0 || shared.isDone()) {
+                    return;
+                }
+                abandoned = true;
+            }
+            flights.remove(key, this);
+            shared.cancel(false);
+        }
+
+        private synchronized int getCallers() {
+            return callers;
+        }
+
+        /**
+         * Flight leaves the registry before its callers are completed, so they never see it in flight
+         */
+        private void complete(ResponsePage<E> page) {
+            flights.remove(key, this);
+            shared.complete(page);
+        }
+
+        private void fail(Throwable failure) {
+            flights.remove(key, this);
+            shared.completeExceptionally(failure);
+        }
+
+        private Runnable fetching(final PageSource<E> source, final Pagination pagination) {
+            return new Runnable() {
+                @Override
+                public void run() {
+                    if (shared.isDone()) {
+                        return;
+                    }
+                    ResponsePage<E> page;
+                    try {
+                        page = source.fetch(pagination);
+                    } catch (Throwable ex) {
+                        fail(ex);
+                        return;
+                    }
+                    complete(page);
+                }
+            };
+        }
+    }
+}
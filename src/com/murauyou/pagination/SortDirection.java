@@ -0,0 +1,12 @@
+package com.murauyou.pagination;
+
+/**
+ * Direction in which sort keys of keyset pagination are ordered.
+ */
+public enum SortDirection {
+
+    ASCENDING,
+
+    DESCENDING
+
+}
@@ -0,0 +1,67 @@
+package com.murauyou.pagination;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * SQL dialect of the row limiting clause appended to page queries. Offset and limit are always bound as
+ * parameters, so statements of pages of the same query share one prepared statement.
+ */
+public enum SqlDialect {
+
+    /**
+     * LIMIT ? OFFSET ? clause of PostgreSQL, MySQL, MariaDB, SQLite and H2
+     */
+    LIMIT_OFFSET {
+        @Override
+        String limit(String sql) {
+            return sql + " LIMIT ? OFFSET ?";
+        }
+
+        @Override
+        int bindLimit(PreparedStatement statement, int index, long offset, int limit) throws SQLException {
+            statement.setInt(index, limit);
+            statement.setLong(index + 1, offset);
+            return index + 2;
+        }
+    },
+
+    /**
+     * Standard SQL:2008 OFFSET ? ROWS FETCH FIRST ? ROWS ONLY clause of Oracle 12c+, DB2, SQL Server 2012+
+     * (query must be ordered), PostgreSQL and H2
+     */
+    FETCH_FIRST {
+        @Override
+        String limit(String sql) {
+            return sql + " OFFSET ? ROWS FETCH FIRST ? ROWS ONLY";
+        }
+
+        @Override
+        int bindLimit(PreparedStatement statement, int index, long offset, int limit) throws SQLException {
+            statement.setLong(index, offset);
+            statement.setInt(index + 1, limit);
+            return index + 2;
+        }
+    };
+
+    /**
+     * Appends row limiting clause to the query
+     *
+     * @param sql ordered query
+     * @return query with offset and limit parameters
+     */
+    abstract String limit(String sql);
+
+    /**
+     * Binds offset and limit parameters of the row limiting clause
+     *
+     * @param statement statement of the query returned by {@link #limit(String)}
+     * @param index index of the first row limiting parameter
+     * @param offset number of rows to skip
+     * @param limit max number of rows
+     * @return index of the parameter following the row limiting ones
+     * @throws SQLException when parameter can't be bound
+     */
+    abstract int bindLimit(PreparedStatement statement, int index, long offset, int limit) throws SQLException;
+
+}
@@ -0,0 +1,245 @@
+package com.murauyou.pagination;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds a page of an unsorted collection as if it was stably sorted first. Only 'offset + limit' smallest elements
+ * are kept in a bounded heap, so a page costs O(n log(offset + limit)) time and O(offset + limit) memory instead of
+ * sorting and copying the whole collection. Equal elements keep collection iteration order, hence pages of the same
+ * collection never overlap or skip elements.
+ */
+final class TopKSelection {
+    private static final int MIN_PARALLEL_CHUNK = 8192;
+
+    private TopKSelection() {
+    }
+
+    static <E> TotalAwareResponsePage<E> sortedPage(Collection<? extends E> source, Comparator<? super E> comparator, Pagination pagination) {
+        validate(source, comparator, pagination);
+
+        int size = source.size();
+        int k = topSize(size, pagination);
+        Object[] top;
+        if (k == 0) {
+            top = new Object[0];
+        } else if ((long) k * 4 >= size) {
+            top = source.toArray();
+            sort(top, 0, top.length, comparator);
+        } else {
+            top = new BoundedHeap<E>(k, comparator).addAll(source).toSortedArray();
+        }
+        return page(top, pagination, size);
+    }
+
+    static <E> TotalAwareResponsePage<E> sortedPageParallel(Collection<? extends E> source, Comparator<? super E> comparator, Pagination pagination, ForkJoinPool pool) {
+        validate(source, comparator, pagination);
+        if (pool == null) {
+            throw new IllegalArgumentException("Fork join pool cannot be null");
+        }
+
+        Object[] elements = source.toArray();
+        int k = topSize(elements.length, pagination);
+        int chunk = Math.max(MIN_PARALLEL_CHUNK, elements.length / (pool.getParallelism() * 4));
+        Object[] top = k == 0 ? new Object[0] : pool.invoke(new TopTask<E>(elements, 0, elements.length, k, chunk, comparator));
+        return page(top, pagination, elements.length);
+    }
+
+    private static void validate(Collection<?> source, Comparator<?> comparator, Pagination pagination) {
+        if (source == null) {
+            throw new IllegalArgumentException("Source collection cannot be null");
+        }
+        if (comparator == null) {
+            throw new IllegalArgumentException("Comparator cannot be null");
+        }
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Sorted collection page can't seek by keyset");
+        }
+    }
+
+    private static int topSize(int size, Pagination pagination) {
+        if (pagination.getLongOffset() >= size) {
+            return 0;
+        }
+        return (int) Math.min(pagination.getLongOffset() + pagination.getLimit(), size);
+    }
+
+    private static <E> TotalAwareResponsePage<E> page(Object[] top, Pagination pagination, int totalSize) {
+        int from = (int) Math.min(pagination.getLongOffset(), top.length);
+        List<E> page = CompactPageList.wrap(from == 0 ? top : Arrays.copyOfRange(top, from, top.length));
+        return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(page, pagination, (long) totalSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> void sort(Object[] elements, int from, int to, Comparator<? super E> comparator) {
+        Arrays.sort((E[]) elements, from, to, comparator);
+    }
+
+    /**
+     * Max heap of 'k' smallest elements seen so far. Ties are ordered by encounter index, so the heap keeps the
+     * earliest of equal elements
+     */
+    private static final class BoundedHeap<E> {
+        private final Object[] elements;
+        private final long[] indexes;
+        private final Comparator<? super E> comparator;
+        private int size;
+        private long next;
+
+        private BoundedHeap(int k, Comparator<? super E> comparator) {
+            this.elements = new Object[k];
+            this.indexes = new long[k];
+            this.comparator = comparator;
+        }
+
+        private BoundedHeap<E> addAll(Iterable<? extends E> source) {
+            for (E element : source) {
+                add(element);
+            }
+            return this;
+        }
+
+        private BoundedHeap<E> addAll(Object[] source, int from, int to) {
+            for (int i = from; i < to; i++) {
+                @SuppressWarnings("unchecked")
+                E element = (E) source[i];
+                add(element);
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void add(E element) {
+            long index = next++;
+            if (size < elements.length) {
+                elements[size] = element;
+                indexes[size] = index;
+                siftUp(size++);
+            } else if (comparator.compare(element, (E) elements[0]) < 0) {
+                elements[0] = element;
+                indexes[0] = index;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Sorts heap in place by repeatedly moving its max to the end
+         */
+        private Object[] toSortedArray() {
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return size == elements.length ? elements : Arrays.copyOf(elements, size);
+        }
+
+        private void siftUp(int position) {
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (compare(position, parent) <= 0) {
+                    return;
+                }
+                swap(position, parent);
+                position = parent;
+            }
+        }
+
+        private void siftDown(int position, int end) {
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= end) {
+                    return;
+                }
+                if (child + 1 < end && compare(child + 1, child) > 0) {
+                    child++;
+                }
+                if (compare(child, position) <= 0) {
+                    return;
+                }
+                swap(position, child);
+                position = child;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private int compare(int left, int right) {
+            int result = comparator.compare((E) elements[left], (E) elements[right]);
+            return result != 0 ? result : Long.compare(indexes[left], indexes[right]);
+        }
+
+        private void swap(int left, int right) {
+            Object element = elements[left];
+            elements[left] = elements[right];
+            elements[right] = element;
+            long index = indexes[left];
+            indexes[left] = indexes[right];
+            indexes[right] = index;
+        }
+    }
+
+    /**
+     * Computes sorted 'k' smallest elements of the range by splitting it in halves and merging their results
+     */
+    private static final class TopTask<E> extends RecursiveTask<Object[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] elements;
+        private final int from;
+        private final int to;
+        private final int k;
+        private final int chunk;
+        private final Comparator<? super E> comparator;
+
+        private TopTask(Object[] elements, int from, int to, int k, int chunk, Comparator<? super E> comparator) {
+            this.elements = elements;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.chunk = chunk;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected Object[] compute() {
+            if (to - from <= chunk) {
+                if ((long) k * 4 >= to - from) {
+                    Object[] range = Arrays.copyOfRange(elements, from, to);
+                    sort(range, 0, range.length, comparator);
+                    return range.length > k ? Arrays.copyOf(range, k) : range;
+                }
+                return new BoundedHeap<E>(k, comparator).addAll(elements, from, to).toSortedArray();
+            }
+
+            int middle = (from + to) >>> 1;
+            TopTask<E> left = new TopTask<E>(elements, from, middle, k, chunk, comparator);
+            left.fork();
+            Object[] right = new TopTask<E>(elements, middle, to, k, chunk, comparator).compute();
+            return merge(left.join(), right);
+        }
+
+        /**
+         * Merges sorted results of adjacent ranges up to 'k' elements. Left range goes first on ties
+         */
+        @SuppressWarnings("unchecked")
+        private Object[] merge(Object[] left, Object[] right) {
+            Object[] merged = new Object[Math.min(k, left.length + right.length)];
+            int i = 0;
+            int j = 0;
+            for (int position = 0; position < merged.length; position++) {
+                if (j == right.length || i < left.length && comparator.compare((E) left[i], (E) right[j]) <= 0) {
+                    merged[position] = left[i++];
+                } else {
+                    merged[position] = right[j++];
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.murauyou.pagination;
 
 import java.util.List;
+import java.util.function.LongSupplier;
 
 /**
  * Auhtor: Anton Murauyou
@@ -8,19 +9,93 @@ import java.util.List;
  * Time: 19:05
  */
 public class TotalAwarePagedResponse<E> extends PagedResponse<E> implements TotalAwareResponsePage<E> {
-    private final int totalSize;
+    private final boolean totalSizeExact;
+    private LongSupplier totalSizeSupplier;
+    private long totalSize;
+    private volatile boolean totalSizeComputed;
 
-    protected TotalAwarePagedResponse(List<E> source, Pagination pagination, int totalSize) {
-        super(source, pagination);
+    protected TotalAwarePagedResponse(List<E> source, Pagination pagination, long totalSize) {
+        this(source, pagination, totalSize, true);
+    }
+
+    protected TotalAwarePagedResponse(List<E> source, Pagination pagination, long totalSize, boolean totalSizeExact) {
+        this(source, pagination, totalSize, totalSizeExact, PageStorage.COMPACT);
+    }
+
+    protected TotalAwarePagedResponse(List<E> source, Pagination pagination, long totalSize, boolean totalSizeExact, PageStorage storage) {
+        super(source, pagination, storage);
         this.totalSize = totalSize;
+        this.totalSizeExact = totalSizeExact;
+        this.totalSizeComputed = true;
+    }
+
+    /**
+     * Creates total aware response page computing total size only when it is requested for the first time
+     */
+    protected TotalAwarePagedResponse(List<E> source, Pagination pagination, LongSupplier totalSizeSupplier, boolean totalSizeExact) {
+        this(source, pagination, totalSizeSupplier, totalSizeExact, PageStorage.COMPACT);
+    }
+
+    protected TotalAwarePagedResponse(List<E> source, Pagination pagination, LongSupplier totalSizeSupplier, boolean totalSizeExact, PageStorage storage) {
+        super(source, pagination, storage);
+        if (totalSizeSupplier == null) {
+            throw new IllegalArgumentException("Total size supplier cannot be null");
+        }
+
+        this.totalSizeSupplier = totalSizeSupplier;
+        this.totalSizeExact = totalSizeExact;
     }
 
     @Override
     public int getTotalSize() {
+        return Math.toIntExact(getLongTotalSize());
+    }
+
+    @Override
+    public long getLongTotalSize() {
+        if (!totalSizeComputed) {
+            synchronized (this) {
+                if (!totalSizeComputed) {
+                    totalSize = totalSizeSupplier.getAsLong();
+                    totalSizeSupplier = null;
+                    totalSizeComputed = true;
+                }
+            }
+        }
         return totalSize;
     }
 
+    @Override
+    public boolean isTotalSizeExact() {
+        return totalSizeExact;
+    }
+
+    @Override
+    public boolean isTotalSizeComputed() {
+        return totalSizeComputed;
+    }
+
     public static <E> TotalAwarePagedResponse<E> ofResponseAndSizeAndPagination(List<E> source, Pagination pagination, int totalSize) {
         return new TotalAwarePagedResponse<E>(source, pagination, totalSize);
     }
+
+    public static <E> TotalAwarePagedResponse<E> ofResponseAndSizeAndPagination(List<E> source, Pagination pagination, long totalSize) {
+        return new TotalAwarePagedResponse<E>(source, pagination, totalSize);
+    }
+
+    public static <E> TotalAwarePagedResponse<E> ofResponseViewAndSizeAndPagination(List<E> source, Pagination pagination, long totalSize) {
+        return new TotalAwarePagedResponse<E>(source, pagination, totalSize, true, PageStorage.VIEW);
+    }
+
+    public static <E> TotalAwarePagedResponse<E> ofResponseAndLazySizeAndPagination(List<E> source, Pagination pagination, LongSupplier totalSize) {
+        return new TotalAwarePagedResponse<E>(source, pagination, totalSize, true);
+    }
+
+    public static <E> TotalAwarePagedResponse<E> ofResponseAndEstimatedSizeAndPagination(List<E> source, Pagination pagination, long estimatedTotalSize) {
+        return new TotalAwarePagedResponse<E>(source, pagination, estimatedTotalSize, false);
+    }
+
+    public static <E> TotalAwarePagedResponse<E> ofResponseAndLazyEstimatedSizeAndPagination(List<E> source, Pagination pagination, LongSupplier estimatedTotalSize) {
+        return new TotalAwarePagedResponse<E>(source, pagination, estimatedTotalSize, false);
+    }
 }
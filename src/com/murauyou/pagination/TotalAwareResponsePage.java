@@ -10,4 +10,28 @@ public interface TotalAwareResponsePage<E> extends ResponsePage<E> {
 
     int getTotalSize();
 
+    default long getLongTotalSize() {
+        return getTotalSize();
+    }
+
+    /**
+     * Returns whether total size is exact. Estimated total size is only good for display purposes.
+     * Total size is exact by default
+     *
+     * @return true when total size is exact, false when it is an estimate
+     */
+    default boolean isTotalSizeExact() {
+        return true;
+    }
+
+    /**
+     * Returns whether total size is already available, so calling {@link #getLongTotalSize()} costs nothing.
+     * Lazily supplied total size is computed on the first call only. Total size is already computed by default
+     *
+     * @return true when total size is already computed
+     */
+    default boolean isTotalSizeComputed() {
+        return true;
+    }
+
 }
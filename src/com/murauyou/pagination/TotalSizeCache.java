@@ -0,0 +1,175 @@
+package com.murauyou.pagination;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of result list total sizes per query key. Total size computed for a query is reused by pages of the same
+ * query until it gets older than max age, so count is paid once per query instead of once per page.
+ * Combine with lazy total aware pages to count only when total size is actually requested. Concurrent requests of
+ * a missing total size share a single count.
+ */
+public class TotalSizeCache<K> {
+    private final long maxAgeNanos;
+    private final int maxEntries;
+    private final LongSupplier clock;
+    private final Map<K, Entry> entries = new LinkedHashMap<K, Entry>();
+    private final Map<K, CompletableFuture<Long>> counting = new HashMap<K, CompletableFuture<Long>>();
+
+    protected TotalSizeCache(long maxAgeNanos, int maxEntries, LongSupplier clock) {
+        if (maxAgeNanos < 1) {
+            throw new IllegalArgumentException("Max age can't be less than 1.");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries can't be less than 1.");
+        }
+
+        this.maxAgeNanos = maxAgeNanos;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns supplier of the query total size which takes cached total size when it is fresh
+     * and calls counter (caching its result) otherwise
+     *
+     * @param key query key
+     * @param counter function computing total size of the query result list
+     * @return total size supplier to be used with lazy total aware pages
+     */
+    public LongSupplier totalSize(final K key, final LongSupplier counter) {
+        if (key == null) {
+            throw new IllegalArgumentException("Query key cannot be null");
+        }
+        if (counter == null) {
+            throw new IllegalArgumentException("Counter cannot be null");
+        }
+
+        return new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return getOrCount(key, counter);
+            }
+        };
+    }
+
+    /**
+     * Returns fresh cached total size of the query or calls counter and caches its result. Joins the count of the
+     * query in flight, if any, instead of calling counter
+     *
+     * @param key query key
+     * @param counter function computing total size of the query result list
+     * @return total size of the query result list
+     */
+    public long getOrCount(K key, LongSupplier counter) {
+        CompletableFuture<Long> count;
+        boolean counts;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && isFresh(entry, clock.getAsLong())) {
+                return entry.totalSize;
+            }
+
+            count = counting.get(key);
+            counts = count == null;
+            if (counts) {
+                count = new CompletableFuture<Long>();
+                counting.put(key, count);
+            }
+        }
+        if (!counts) {
+            // Count of the query is in flight, it is shared instead of running the same count concurrently
+            return PageFutures.await(count);
+        }
+
+        try {
+            long totalSize = counter.getAsLong();
+            synchronized (entries) {
+                // Count invalidated while in flight is returned to its callers but not cached
+                if (counting.remove(key, count)) {
+                    put(key, totalSize, clock.getAsLong());
+                }
+            }
+            count.complete(totalSize);
+            return totalSize;
+        } catch (Throwable ex) {
+            synchronized (entries) {
+                counting.remove(key, count);
+            }
+            count.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns whether total size of the query is cached and fresh
+     *
+     * @param key query key
+     * @return true when total size is available without counting
+     */
+    public boolean contains(K key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && isFresh(entry, clock.getAsLong());
+        }
+    }
+
+    /**
+     * Drops cached total size of the query, e.g. when query result list was modified. Count in flight isn't cached
+     *
+     * @param key query key
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            counting.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            counting.clear();
+        }
+    }
+
+    private boolean isFresh(Entry entry, long now) {
+        return now - entry.computedAt < maxAgeNanos;
+    }
+
+    /**
+     * Entries are kept in the order they were computed, so expired and least recently computed ones are at the head
+     */
+    private void put(K key, long totalSize, long now) {
+        entries.remove(key);
+        entries.put(key, new Entry(totalSize, now));
+
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            if (entries.size() <= maxEntries && isFresh(eldest, now)) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    public static <K> TotalSizeCache<K> ofMaxAge(long maxAge, TimeUnit unit, int maxEntries) {
+        return new TotalSizeCache<K>(unit.toNanos(maxAge), maxEntries, NanoClock.SYSTEM);
+    }
+
+    private static final class Entry {
+        private final long totalSize;
+        private final long computedAt;
+
+        private Entry(long totalSize, long computedAt) {
+            this.totalSize = totalSize;
+            this.computedAt = computedAt;
+        }
+    }
+}
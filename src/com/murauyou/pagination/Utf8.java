@@ -0,0 +1,107 @@
+package com.murauyou.pagination;
+
+/**
+ * UTF-8 encoder of char sequences into byte arrays shared by page writers and page token codec. Surrogate pair is
+ * encoded as a single 4-byte code point, lone surrogates can't be encoded in UTF-8 and are written as '?'.
+ */
+final class Utf8 {
+    /**
+     * Maximum number of bytes a char takes, surrogate pair takes 4 bytes for 2 chars
+     */
+    static final int MAX_BYTES_PER_CHAR = 3;
+
+    private Utf8() {
+    }
+
+    /**
+     * Returns number of bytes the encoded sequence takes
+     *
+     * @param value char sequence
+     * @return UTF-8 length
+     */
+    static int length(CharSequence value) {
+        int length = value.length();
+        int bytes = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (isSurrogatePair(value, i, length)) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns whether the char at index is a surrogate which isn't followed by its low surrogate. Index must not
+     * point to the low surrogate of a pair
+     */
+    static boolean isLoneSurrogate(CharSequence value, int index) {
+        return Character.isSurrogate(value.charAt(index)) && !isSurrogatePair(value, index, value.length());
+    }
+
+    /**
+     * Returns end of the chunk of at most 'maxChars' chars starting from 'from', surrogate pair isn't split
+     *
+     * @param value char sequence
+     * @param from chunk start
+     * @param to end of the chars to encode
+     * @param maxChars maximum chunk length, at least 2
+     * @return chunk end
+     */
+    static int chunkEnd(CharSequence value, int from, int to, int maxChars) {
+        if (to - from <= maxChars) {
+            return to;
+        }
+        int end = from + maxChars;
+        return Character.isHighSurrogate(value.charAt(end - 1)) ? end - 1 : end;
+    }
+
+    /**
+     * Encodes chars from 'from' to 'to' into the target array, which must have room for
+     * ({@code to - from}) * {@link #MAX_BYTES_PER_CHAR} bytes or for {@link #length(CharSequence)} of the range
+     *
+     * @param value char sequence
+     * @param from low endpoint (inclusive) of the chars
+     * @param to high endpoint (exclusive) of the chars
+     * @param target target array
+     * @param position target array position to write at
+     * @return target array position after the last written byte
+     */
+    static int encode(CharSequence value, int from, int to, byte[] target, int position) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                target[position++] = (byte) c;
+            } else if (c < 0x800) {
+                target[position++] = (byte) (0xc0 | (c >> 6));
+                target[position++] = (byte) (0x80 | (c & 0x3f));
+            } else if (isSurrogatePair(value, i, to)) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                target[position++] = (byte) (0xf0 | (codePoint >> 18));
+                target[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                target[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                target[position++] = (byte) (0x80 | (codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                target[position++] = '?';
+            } else {
+                target[position++] = (byte) (0xe0 | (c >> 12));
+                target[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                target[position++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        return position;
+    }
+
+    private static boolean isSurrogatePair(CharSequence value, int index, int end) {
+        return Character.isHighSurrogate(value.charAt(index)) && index + 1 < end && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+}
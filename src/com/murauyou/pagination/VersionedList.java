@@ -0,0 +1,194 @@
+package com.murauyou.pagination;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrent list keeping its elements in a persistent tree, so every version of the list is an O(1) immutable
+ * snapshot sharing structure with the others. Each modification creates a new version. Pages are served from a
+ * snapshot and tagged with its version: a traversal which passes the version of its first page back keeps reading
+ * the same version and never sees duplicates or skipped elements caused by concurrent modifications, with no
+ * per-traversal copies. Snapshots handed out are retained by version up to 'max retained versions', older ones
+ * live only as long as callers reference them. Positional access and modifications are O(log n), a page is
+ * O(log n + limit). Writers publish new versions by compare-and-set and never block readers.
+ */
+public class VersionedList<E> extends AbstractList<E> implements RandomAccess, PageSource<E> {
+    private static final int DEFAULT_MAX_RETAINED_VERSIONS = 64;
+
+    private final AtomicReference<ListSnapshot<E>> current;
+    private final Map<Long, ListSnapshot<E>> retained;
+
+    protected VersionedList(PersistentRankTree<E> tree, final int maxRetainedVersions) {
+        if (maxRetainedVersions < 0) {
+            throw new IllegalArgumentException("Max retained versions can't be less than 0.");
+        }
+
+        this.current = new AtomicReference<ListSnapshot<E>>(new ListSnapshot<E>(tree, 0));
+        this.retained = new LinkedHashMap<Long, ListSnapshot<E>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ListSnapshot<E>> eldest) {
+                return size() > maxRetainedVersions;
+            }
+        };
+    }
+
+    /**
+     * Returns page of the current version
+     *
+     * @param pagination offset + limit pagination
+     * @return page tagged with the version it was served from
+     */
+    @Override
+    public VersionedResponsePage<E> fetch(Pagination pagination) {
+        return snapshot().fetch(pagination);
+    }
+
+    /**
+     * Returns page of the specified version, e.g. next page of a traversal started at that version
+     *
+     * @param pagination offset + limit pagination
+     * @param version version of the first page of the traversal
+     * @return page of the version
+     * @throws IllegalStateException when version is no longer retained
+     */
+    public VersionedResponsePage<E> fetch(Pagination pagination, long version) {
+        ListSnapshot<E> snapshot = snapshot(version);
+        if (snapshot == null) {
+            throw new IllegalStateException("Version " + version + " is no longer retained");
+        }
+        return snapshot.fetch(pagination);
+    }
+
+    /**
+     * Returns snapshot of the current version and retains it for {@link #snapshot(long)}
+     *
+     * @return current snapshot
+     */
+    public ListSnapshot<E> snapshot() {
+        ListSnapshot<E> snapshot = current.get();
+        synchronized (retained) {
+            retained.put(snapshot.getVersion(), snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns retained snapshot of the version
+     *
+     * @param version list version
+     * @return snapshot or null when version is no longer retained
+     */
+    public ListSnapshot<E> snapshot(long version) {
+        ListSnapshot<E> snapshot = current.get();
+        if (snapshot.getVersion() == version) {
+            return snapshot;
+        }
+        synchronized (retained) {
+            return retained.get(version);
+        }
+    }
+
+    public long getVersion() {
+        return current.get().getVersion();
+    }
+
+    @Override
+    public E get(int index) {
+        return current.get().get(index);
+    }
+
+    @Override
+    public int size() {
+        return current.get().size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        while (true) {
+            ListSnapshot<E> snapshot = current.get();
+            E previous = snapshot.get(index);
+            if (publish(snapshot, snapshot.getTree().set(index, element))) {
+                return previous;
+            }
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        while (true) {
+            ListSnapshot<E> snapshot = current.get();
+            if (publish(snapshot, snapshot.getTree().insert(index, element))) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean add(E element) {
+        while (true) {
+            ListSnapshot<E> snapshot = current.get();
+            if (publish(snapshot, snapshot.getTree().insert(snapshot.size(), element))) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        while (true) {
+            ListSnapshot<E> snapshot = current.get();
+            E previous = snapshot.get(index);
+            if (publish(snapshot, snapshot.getTree().remove(index))) {
+                return previous;
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        while (true) {
+            ListSnapshot<E> snapshot = current.get();
+            if (publish(snapshot, PersistentRankTree.<E>empty())) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Iterates over the snapshot taken when iterator is created
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return current.get().iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return current.get().toArray();
+    }
+
+    private boolean publish(ListSnapshot<E> snapshot, PersistentRankTree<E> tree) {
+        if (current.compareAndSet(snapshot, new ListSnapshot<E>(tree, snapshot.getVersion() + 1))) {
+            modCount++;
+            return true;
+        }
+        return false;
+    }
+
+    public static <E> VersionedList<E> empty() {
+        return new VersionedList<E>(PersistentRankTree.<E>empty(), DEFAULT_MAX_RETAINED_VERSIONS);
+    }
+
+    public static <E> VersionedList<E> ofMaxRetainedVersions(int maxRetainedVersions) {
+        return new VersionedList<E>(PersistentRankTree.<E>empty(), maxRetainedVersions);
+    }
+
+    public static <E> VersionedList<E> ofCollection(Collection<? extends E> source) {
+        return new VersionedList<E>(PersistentRankTree.<E>ofArray(source.toArray()), DEFAULT_MAX_RETAINED_VERSIONS);
+    }
+}
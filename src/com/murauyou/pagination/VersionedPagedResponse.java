@@ -0,0 +1,21 @@
+package com.murauyou.pagination;
+
+import java.util.List;
+
+public class VersionedPagedResponse<E> extends TotalAwarePagedResponse<E> implements VersionedResponsePage<E> {
+    private final long version;
+
+    protected VersionedPagedResponse(List<E> source, Pagination pagination, long totalSize, long version) {
+        super(source, pagination, totalSize);
+        this.version = version;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    public static <E> VersionedPagedResponse<E> ofResponseAndSizeAndVersion(List<E> source, Pagination pagination, long totalSize, long version) {
+        return new VersionedPagedResponse<E>(source, pagination, totalSize, version);
+    }
+}
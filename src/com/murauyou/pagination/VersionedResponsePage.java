@@ -0,0 +1,15 @@
+package com.murauyou.pagination;
+
+/**
+ * Total aware response page served from a particular version of a versioned list.
+ */
+public interface VersionedResponsePage<E> extends TotalAwareResponsePage<E> {
+
+    /**
+     * Returns version of the list the page was served from. Pass it back to get next pages of the same version
+     *
+     * @return list version
+     */
+    long getVersion();
+
+}
@@ -0,0 +1,170 @@
+package com.murauyou.pagination;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+
+/**
+ * Page source of an in-memory list paging by estimated payload size instead of element count. Element weights are
+ * estimated once and kept as prefix sums, so the end of a page starting at any offset is found by binary search in
+ * O(log n). Page takes as many elements as fit the byte budget, an element heavier than the budget makes a page of
+ * its own. Pages are ordinary total aware pages: pagination offset is the page offset and pagination limit is the
+ * number of elements taken, so the next page starts right after the last element. As a page source limit of the
+ * requested pagination caps the element count, so generic traversals following {@link Pagination#getNext()} never
+ * grow pages past the first one, use {@link #pages(long)} to walk budget filled pages.
+ */
+public class WeightedPageSource<E> implements PageSource<E> {
+    private final Object[] elements;
+    private final long[] prefixWeights;
+    private final long maxPageBytes;
+
+    protected WeightedPageSource(List<? extends E> elements, ToLongFunction<? super E> weigher, long maxPageBytes) {
+        if (elements == null) {
+            throw new IllegalArgumentException("Elements cannot be null");
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("Weigher cannot be null");
+        }
+        if (maxPageBytes < 1) {
+            throw new IllegalArgumentException("Max page bytes can't be less than 1.");
+        }
+
+        this.elements = elements.toArray();
+        this.prefixWeights = new long[this.elements.length + 1];
+        for (int i = 0; i < this.elements.length; i++) {
+            @SuppressWarnings("unchecked")
+            long weight = weigher.applyAsLong((E) this.elements[i]);
+            if (weight < 0) {
+                throw new IllegalArgumentException("Element weight can't be less than 0.");
+            }
+            prefixWeights[i + 1] = Math.addExact(prefixWeights[i], weight);
+        }
+        this.maxPageBytes = maxPageBytes;
+    }
+
+    /**
+     * Fetches page starting at pagination offset filled up to the byte budget
+     *
+     * @param pagination offset + limit pagination, limit caps number of elements
+     * @return total aware page, its pagination limit is the number of elements taken
+     */
+    @Override
+    public TotalAwareResponsePage<E> fetch(Pagination pagination) {
+        if (pagination == null) {
+            throw new IllegalArgumentException("Pagination cannot be null");
+        }
+        if (pagination instanceof KeysetPagination && !((KeysetPagination) pagination).getKeyset().isEmpty()) {
+            throw new IllegalArgumentException("Weighted page source can't seek by keyset");
+        }
+
+        return page(pagination.getLongOffset(), pagination.getLimit());
+    }
+
+    /**
+     * Returns page starting at the offset filled up to the byte budget
+     *
+     * @param offset page offset
+     * @return total aware page, its pagination limit is the number of elements taken
+     */
+    public TotalAwareResponsePage<E> pageAt(long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Pagination offset can't be less than 0.");
+        }
+
+        return page(offset, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns iterator over budget filled pages starting at the offset
+     *
+     * @param offset offset of the first page
+     * @return iterator over non-empty pages
+     */
+    public Iterator<TotalAwareResponsePage<E>> pages(final long offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Pagination offset can't be less than 0.");
+        }
+
+        return new Iterator<TotalAwareResponsePage<E>>() {
+            private long next = offset;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.length;
+            }
+
+            @Override
+            public TotalAwareResponsePage<E> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                TotalAwareResponsePage<E> page = pageAt(next);
+                next += page.size();
+                return page;
+            }
+        };
+    }
+
+    /**
+     * Returns total estimated weight of elements in the range
+     *
+     * @param from first element index, inclusive
+     * @param to last element index, exclusive
+     * @return total weight
+     */
+    public long getWeight(int from, int to) {
+        if (from < 0 || to > elements.length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is out of [0, " + elements.length + ")");
+        }
+        return prefixWeights[to] - prefixWeights[from];
+    }
+
+    public long getMaxPageBytes() {
+        return maxPageBytes;
+    }
+
+    public int size() {
+        return elements.length;
+    }
+
+    private TotalAwareResponsePage<E> page(long offset, int maxCount) {
+        int from = (int) Math.min(offset, elements.length);
+        int to = end(from, (int) Math.min((long) from + maxCount, elements.length));
+
+        List<E> source = CompactPageList.wrap(Arrays.copyOfRange(elements, from, to));
+        return TotalAwarePagedResponse.ofResponseAndSizeAndPagination(source, Paginations.ofOffsetAndLimit(offset, to - from), elements.length);
+    }
+
+    /**
+     * Finds the largest end index within the bound whose range from the start fits the budget, taking at least one
+     * element. Prefix sums are non-decreasing, so it is the upper bound of prefix(from) + budget
+     */
+    private int end(int from, int bound) {
+        if (from >= bound) {
+            return from;
+        }
+
+        long limit = prefixWeights[from] > Long.MAX_VALUE - maxPageBytes ? Long.MAX_VALUE : prefixWeights[from] + maxPageBytes;
+        int low = from + 1;
+        int high = bound;
+        if (prefixWeights[low] > limit) {
+            return low;
+        }
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (prefixWeights[middle] <= limit) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    public static <E> WeightedPageSource<E> ofList(List<? extends E> elements, ToLongFunction<? super E> weigher, long maxPageBytes) {
+        return new WeightedPageSource<E>(elements, weigher, maxPageBytes);
+    }
+}
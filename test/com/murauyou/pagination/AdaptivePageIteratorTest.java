@@ -0,0 +1,115 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static com.murauyou.pagination.PageFixtures.recording;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AdaptivePageIteratorTest {
+
+    @Test
+    public void testLimitFollowsLatency() {
+        final long[] now = new long[1];
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(6000));
+        // Elements from 3000 to 4000 are 20 times as expensive as the others
+        PageSource<Integer> source = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                ResponsePage<Integer> page = list.fetch(pagination);
+                for (Integer element : page.getPage()) {
+                    now[0] += element >= 3000 && element < 4000 ? 20000 : 1000;
+                }
+                return page;
+            }
+        };
+        AdaptivePageIterator<Integer> pages = new AdaptivePageIterator<>(source, Paginations.fromStartWithLimit(400), 10, 800,
+                TimeUnit.MILLISECONDS.toNanos(1), 0, null, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return now[0];
+            }
+        });
+
+        List<Integer> visited = new ArrayList<>();
+        long expectedOffset = 0;
+        int maxCheapLimit = 0;
+        int maxExpensiveLimit = 0;
+        while (pages.hasNext()) {
+            ResponsePage<Integer> page = pages.next();
+            // Pages are contiguous
+            assertEquals(expectedOffset, page.getPagination().getLongOffset());
+            expectedOffset += page.getPagination().getLimit();
+
+            int limit = page.getPagination().getLimit();
+            assertTrue(limit >= 10 && limit <= 800);
+            if (page.getPage().get(0) >= 3300 && page.getPage().get(0) < 3900) {
+                maxExpensiveLimit = Math.max(maxExpensiveLimit, limit);
+            } else if (page.getPage().get(0) < 3000) {
+                maxCheapLimit = Math.max(maxCheapLimit, limit);
+            }
+            visited.addAll(page.getPage());
+        }
+
+        assertEquals(range(6000), visited);
+        // Limit grows to what fits 1 ms of cheap elements and shrinks to what fits 1 ms of expensive ones
+        assertEquals(800, maxCheapLimit);
+        assertTrue(maxExpensiveLimit <= 50);
+        assertEquals(0, pages.getLimit());
+    }
+
+    @Test
+    public void testByteBudget() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i < 500 ? "x" : "xxxxxxxxxx");
+        }
+        AdaptivePageIterator<String> pages = AdaptivePageIterator.ofTargetLatencyAndMaxPageBytes(Paginations.ofListPageSource(values),
+                Paginations.fromStartWithLimit(200), 1, 1000, 1, TimeUnit.MINUTES, 1000, String::length);
+
+        int total = 0;
+        while (pages.hasNext()) {
+            ResponsePage<String> page = pages.next();
+            long bytes = page.getPage().stream().mapToLong(String::length).sum();
+            if (page.getPagination().getLongOffset() > 800) {
+                // Byte budget is held once the limit adapted to the larger elements
+                assertTrue(bytes <= 1000);
+            }
+            total += page.size();
+        }
+        assertEquals(1000, total);
+
+        try {
+            AdaptivePageIterator.ofTargetLatency(Paginations.ofListPageSource(values), Paginations.fromStartWithLimit(10), 20, 10, 1, TimeUnit.SECONDS);
+            fail("Max limit should not be less than min limit");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testKeysetFromStartKeepsSortKeysAndDirection() {
+        List<Pagination> fetched = new ArrayList<>();
+        PageSource<Integer> source = recording(range(25), fetched);
+        List<String> sortKeys = List.of("id");
+        AdaptivePageIterator<Integer> pages = AdaptivePageIterator.ofTargetLatency(source,
+                KeysetRequest.fromStartWithLimit(sortKeys, SortDirection.DESCENDING, 10), 10, 10, 1, TimeUnit.MINUTES);
+
+        List<Integer> visited = new ArrayList<>();
+        while (pages.hasNext()) {
+            visited.addAll(pages.next().getPage());
+        }
+
+        assertEquals(range(25), visited);
+        assertEquals(List.of(KeysetRequest.fromStartWithLimit(sortKeys, SortDirection.DESCENDING, 10),
+                KeysetRequest.after(sortKeys, SortDirection.DESCENDING, List.of(), 10, 10),
+                KeysetRequest.after(sortKeys, SortDirection.DESCENDING, List.of(), 20, 10)), fetched);
+    }
+}
@@ -0,0 +1,119 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncPageSourcesTest {
+
+    @Test
+    public void testNavigationAndBridges() throws Exception {
+        AsyncPageSource<Integer> source = AsyncPageSources.fromBlocking(Paginations.ofListPageSource(range(35)));
+
+        ResponsePage<Integer> first = source.fetchAsync(Paginations.fromStartWithLimit(10)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        ResponsePage<Integer> second = AsyncPageSources.next(source, first).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(range(35).subList(10, 20), second.getPage());
+
+        CompletionStage<ResponsePage<Integer>> third = AsyncPageSources.thenNext(AsyncPageSources.next(source, first), source);
+        ResponsePage<Integer> thirdPage = third.toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(range(35).subList(20, 30), thirdPage.getPage());
+        assertEquals(second.getPage(), AsyncPageSources.previous(source, thirdPage).toCompletableFuture().get(5, TimeUnit.SECONDS).getPage());
+
+        try {
+            AsyncPageSources.previous(source, first).toCompletableFuture().get(5, TimeUnit.SECONDS);
+            fail("First page should have no previous page");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof NoPageAvailableException);
+        }
+
+        PageSource<Integer> blocking = AsyncPageSources.toBlocking(source);
+        assertEquals(range(35).subList(30, 35), blocking.fetch(Paginations.ofOffsetAndLimit(30, 10)).getPage());
+        PageSource<Integer> failing = AsyncPageSources.toBlocking(AsyncPageSources.fromBlocking(new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                throw new PageFetchException("Database is down");
+            }
+        }));
+        try {
+            failing.fetch(Paginations.fromStartWithLimit(10));
+            fail("Fetch should fail");
+        } catch (PageFetchException ex) {
+            assertEquals("Database is down", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testMapKeepsTotalSize() throws Exception {
+        final List<Integer> values = range(25);
+        AsyncPageSource<Integer> exact = AsyncPageSources.fromBlocking(Paginations.ofListPageSource(values));
+        AsyncPageSource<Integer> lazy = new AsyncPageSource<Integer>() {
+            @Override
+            public CompletionStage<ResponsePage<Integer>> fetchAsync(Pagination pagination) {
+                ResponsePage<Integer> page = TotalAwarePagedResponse.ofResponseAndLazySizeAndPagination(
+                        values.subList(pagination.getOffset(), pagination.getOffset() + pagination.getLimit()), pagination, () -> 25L);
+                return CompletableFuture.completedFuture(page);
+            }
+        };
+        Function<Integer, String> format = value -> "#" + value;
+
+        ResponsePage<String> exactPage = AsyncPageSources.map(exact, format).fetchAsync(Paginations.ofOffsetAndLimit(5, 3)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("#5", "#6", "#7"), exactPage.getPage());
+        assertEquals(25, ((TotalAwareResponsePage<String>) exactPage).getLongTotalSize());
+
+        TotalAwareResponsePage<String> lazyPage = (TotalAwareResponsePage<String>) AsyncPageSources.map(lazy, format)
+                .fetchAsync(Paginations.ofOffsetAndLimit(0, 2)).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertFalse(lazyPage.isTotalSizeComputed());
+        assertEquals(List.of("#0", "#1"), lazyPage.getPage());
+        assertEquals(25, lazyPage.getLongTotalSize());
+        assertTrue(lazyPage.isTotalSizeExact());
+    }
+
+    @Test
+    public void testForEachPage() throws Exception {
+        // Synchronously completed pages must not grow the stack
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(100000));
+        AsyncPageSource<Integer> source = new AsyncPageSource<Integer>() {
+            @Override
+            public CompletionStage<ResponsePage<Integer>> fetchAsync(Pagination pagination) {
+                return CompletableFuture.completedFuture(list.fetch(pagination));
+            }
+        };
+        final List<Integer> visited = new ArrayList<>();
+        AsyncPageSources.forEachPage(source, Paginations.fromStartWithLimit(3), page -> {
+            visited.addAll(page.getPage());
+            return CompletableFuture.completedFuture(null);
+        }).toCompletableFuture().get(30, TimeUnit.SECONDS);
+        assertEquals(range(100000), visited);
+
+        final List<Integer> visitedAsync = new ArrayList<>();
+        AsyncPageSources.forEachPage(AsyncPageSources.fromBlocking(Paginations.ofListPageSource(range(95))), Paginations.fromStartWithLimit(10), page -> {
+            synchronized (visitedAsync) {
+                visitedAsync.addAll(page.getPage());
+            }
+            return CompletableFuture.runAsync(() -> { });
+        }).toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertEquals(range(95), visitedAsync);
+
+        CompletionStage<Void> failed = AsyncPageSources.forEachPage(source, Paginations.fromStartWithLimit(10), page -> {
+            throw new IllegalStateException("Page rejected");
+        });
+        try {
+            failed.toCompletableFuture().get(5, TimeUnit.SECONDS);
+            fail("Walk should fail");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+        }
+    }
+}
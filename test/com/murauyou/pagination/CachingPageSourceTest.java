@@ -0,0 +1,106 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static com.murauyou.pagination.PageFixtures.recording;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachingPageSourceTest {
+
+    @Test
+    public void testOverlappingWindowsAreServedFromCache() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        CachingPageSource<Integer> cache = CachingPageSource.ofPageSource(recording(range(1000), upstream), 10, 100);
+
+        ResponsePage<Integer> page = cache.fetch(Paginations.ofOffsetAndLimit(0, 25));
+        assertEquals(range(1000).subList(0, 25), page.getPage());
+        assertEquals(1000, ((TotalAwareResponsePage<Integer>) page).getTotalSize());
+        // Three adjacent missing blocks are loaded by a single fetch
+        assertEquals(1, upstream.size());
+        assertEquals(Paginations.ofOffsetAndLimit(0, 30), upstream.get(0));
+
+        page = cache.fetch(Paginations.ofOffsetAndLimit(10, 50));
+        assertEquals(range(1000).subList(10, 60), page.getPage());
+        assertEquals(Integer.valueOf(10), page.get(10));
+        assertEquals(2, upstream.size());
+        assertEquals(Paginations.ofOffsetAndLimit(30, 30), upstream.get(1));
+
+        page = cache.fetch(Paginations.ofPageNumberAndPageSize(3, 20));
+        assertEquals(range(1000).subList(40, 60), page.getPage());
+        assertEquals(2, upstream.size());
+
+        PageCacheStats stats = cache.getStats();
+        assertEquals(2, stats.getLoadCount());
+        assertEquals(6, stats.getMissCount());
+        assertEquals(4, stats.getHitCount());
+    }
+
+    @Test
+    public void testKeysetPassedThrough() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        CachingPageSource<Integer> cache = CachingPageSource.ofPageSource(recording(range(1000), upstream), 10, 100);
+
+        // Keyset from start keeps its sort keys and direction, it isn't served as a plain offset
+        Pagination pagination = KeysetRequest.fromStartWithLimit(Collections.singletonList("id"), SortDirection.DESCENDING, 10);
+        cache.fetch(pagination);
+        cache.fetch(pagination);
+        assertEquals(2, upstream.size());
+        assertSame(pagination, upstream.get(0));
+        assertSame(pagination, upstream.get(1));
+        assertEquals(0, cache.getStats().getLoadCount());
+    }
+
+    @Test
+    public void testEndOfResultList() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        CachingPageSource<Integer> cache = CachingPageSource.ofPageSource(recording(range(35), upstream), 10, 100);
+
+        assertEquals(range(35).subList(20, 35), cache.fetch(Paginations.ofOffsetAndLimit(20, 40)).getPage());
+        assertEquals(1, upstream.size());
+
+        // Short block marks the end, nothing past it is requested again
+        assertTrue(cache.fetch(Paginations.ofOffsetAndLimit(35, 10)).isEmpty());
+        assertEquals(range(35).subList(30, 35), cache.fetch(Paginations.ofOffsetAndLimit(30, 100)).getPage());
+        assertEquals(1, upstream.size());
+    }
+
+    @Test
+    public void testEviction() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        final AtomicLong now = new AtomicLong();
+        CachingPageSource<Integer> cache = new CachingPageSource<>(recording(range(1000), upstream), 10, 3,
+                1000, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return now.get();
+            }
+        });
+
+        cache.fetch(Paginations.ofOffsetAndLimit(0, 30));
+        cache.fetch(Paginations.ofOffsetAndLimit(30, 10));
+        assertEquals(1, cache.getStats().getEvictionCount());
+
+        // Least recently used block 0 was evicted by size
+        cache.fetch(Paginations.ofOffsetAndLimit(0, 10));
+        assertEquals(3, upstream.size());
+
+        now.addAndGet(999);
+        cache.fetch(Paginations.ofOffsetAndLimit(0, 10));
+        assertEquals(3, upstream.size());
+
+        // Block expires after time to live
+        now.addAndGet(1);
+        cache.fetch(Paginations.ofOffsetAndLimit(0, 10));
+        assertEquals(4, upstream.size());
+    }
+}
@@ -0,0 +1,112 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FacetIndexTest {
+
+    @Test
+    public void testFilteredPages() {
+        List<int[]> items = new ArrayList<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 300000; i++) {
+            // Color is dense, size is sparse, so both array and bitmap chunks are involved
+            items.add(new int[]{i, random.nextInt(3), random.nextInt(100)});
+        }
+        Map<String, Function<int[], Object>> extractors = new HashMap<>();
+        extractors.put("color", new Function<int[], Object>() {
+            @Override
+            public Object apply(int[] item) {
+                return item[1];
+            }
+        });
+        extractors.put("size", new Function<int[], Object>() {
+            @Override
+            public Object apply(int[] item) {
+                return item[2];
+            }
+        });
+        FacetIndex<int[]> index = FacetIndex.ofList(items, extractors);
+
+        FacetFilter filter = FacetFilter.of("color", 0, 2).and("size", 7, 8, 99);
+        List<int[]> expected = new ArrayList<>();
+        for (int[] item : items) {
+            if (item[1] != 1 && (item[2] == 7 || item[2] == 8 || item[2] == 99)) {
+                expected.add(item);
+            }
+        }
+
+        assertEquals(expected.size(), index.count(filter));
+        for (int offset : Arrays.asList(0, 1000, expected.size() - 10)) {
+            TotalAwareResponsePage<int[]> page = index.fetch(filter, Paginations.ofOffsetAndLimit(offset, 25));
+            assertEquals(expected.size(), page.getTotalSize());
+            assertEquals(ids(expected.subList(offset, Math.min(offset + 25, expected.size()))), ids(page.getPage()));
+        }
+        assertTrue(index.fetch(filter, Paginations.ofOffsetAndLimit(expected.size(), 25)).isEmpty());
+
+        assertEquals(0, index.count(FacetFilter.of("color", 5)));
+        assertEquals(items.size(), index.count(FacetFilter.all()));
+        assertEquals(ids(items.subList(10, 20)), ids(index.pageSource(FacetFilter.all()).fetch(Paginations.ofOffsetAndLimit(10, 10)).getPage()));
+
+        try {
+            index.count(FacetFilter.of("weight", 1));
+            fail("Facet should not be indexed");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testBitmapSelectAndRank() {
+        CompressedBitmap.Builder sparse = new CompressedBitmap.Builder();
+        CompressedBitmap.Builder dense = new CompressedBitmap.Builder();
+        for (int i = 0; i < 200000; i++) {
+            if (i % 97 == 0) {
+                sparse.add(i);
+            }
+            if (i % 3 != 0) {
+                dense.add(i);
+            }
+        }
+        CompressedBitmap sparseBitmap = sparse.build();
+        CompressedBitmap denseBitmap = dense.build();
+
+        CompressedBitmap intersection = sparseBitmap.and(denseBitmap);
+        CompressedBitmap union = sparseBitmap.or(denseBitmap);
+        long expectedIntersection = 0;
+        long expectedUnion = 0;
+        for (int i = 0; i < 200000; i++) {
+            expectedIntersection += i % 97 == 0 && i % 3 != 0 ? 1 : 0;
+            expectedUnion += i % 97 == 0 || i % 3 != 0 ? 1 : 0;
+        }
+        assertEquals(expectedIntersection, intersection.cardinality());
+        assertEquals(expectedUnion, union.cardinality());
+
+        assertArrayEquals(new int[]{97, 194, 388}, intersection.select(0, 3));
+        assertArrayEquals(new int[]{100000, 100001, 100003}, denseBitmap.select(denseBitmap.rank(100000), 3));
+        assertEquals(2, sparseBitmap.rank(100));
+        assertTrue(union.contains(97 * 3));
+    }
+
+    private static List<Integer> ids(List<int[]> items) {
+        return items.stream().map(new Function<int[], Integer>() {
+            @Override
+            public Integer apply(int[] item) {
+                return item[0];
+            }
+        }).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,140 @@
+package com.murauyou.pagination;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JdbcPageSourceTest {
+    private static final RowMapper<Integer> ID = new RowMapper<Integer>() {
+        @Override
+        public Integer mapRow(ResultSet resultSet) throws SQLException {
+            return resultSet.getInt("id");
+        }
+    };
+
+    private Connection connection;
+
+    @Before
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, category INT NOT NULL)");
+        }
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO item (id, category) VALUES (?, ?)")) {
+            for (int id = 0; id < 250; id++) {
+                insert.setInt(1, id);
+                insert.setInt(2, id % 3);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @After
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testOffsetPagesOfDialects() {
+        List<Integer> expected = new ArrayList<>();
+        for (int id = 0; id < 250; id += 3) {
+            expected.add(id);
+        }
+
+        for (SqlDialect dialect : SqlDialect.values()) {
+            try (JdbcPageSource<Integer> source = JdbcPageSource.ofQuery(connection, dialect,
+                    "SELECT id FROM item WHERE category = ? ORDER BY id", ID, 0)) {
+                List<Integer> fetched = new ArrayList<>();
+                for (ResponsePage<Integer> page : (Iterable<ResponsePage<Integer>>) () -> Paginations.iterate(source, Paginations.fromStartWithLimit(10))) {
+                    fetched.addAll(page.getPage());
+                }
+                assertEquals(expected, fetched);
+                // All pages share one statement
+                assertEquals(1, source.getCachedStatementCount());
+
+                TotalAwareResponsePage<Integer> page = source.fetchWithTotalSize(Paginations.ofPageNumberAndPageSize(3, 20));
+                assertEquals(expected.subList(40, 60), page.getPage());
+                assertFalse(page.isTotalSizeComputed());
+                assertEquals(1, source.getCachedStatementCount());
+                assertEquals(expected.size(), page.getTotalSize());
+                assertEquals(2, source.getCachedStatementCount());
+            }
+        }
+    }
+
+    @Test
+    public void testKeysetPages() {
+        List<Integer> expected = new ArrayList<>();
+        for (int category = 0; category < 3; category++) {
+            for (int id = category; id < 250; id += 3) {
+                expected.add(id);
+            }
+        }
+        List<String> sortKeys = Arrays.asList("category", "id");
+        JdbcPageSource<Integer> source = JdbcPageSource.ofKeysetQuery(connection, SqlDialect.FETCH_FIRST,
+                "SELECT id, category FROM item WHERE id < ?", sortKeys, ID, 250);
+
+        List<Integer> fetched = new ArrayList<>();
+        List<KeysetResponsePage<Integer>> pages = new ArrayList<>();
+        KeysetPagination pagination = Paginations.keysetFromStartWithLimit(sortKeys, SortDirection.ASCENDING, 30);
+        while (true) {
+            KeysetResponsePage<Integer> page = (KeysetResponsePage<Integer>) source.fetch(pagination);
+            if (page.isEmpty()) {
+                break;
+            }
+            pages.add(page);
+            fetched.addAll(page.getPage());
+            pagination = page.getNext();
+        }
+        assertEquals(expected, fetched);
+        assertEquals(Arrays.asList(1, expected.get(89)), pages.get(2).getLastKeyset());
+
+        // Seek back from the fourth page
+        try {
+            KeysetResponsePage<Integer> previous = (KeysetResponsePage<Integer>) source.fetch(pages.get(3).getPrevious());
+            assertEquals(pages.get(2).getPage(), previous.getPage());
+        } catch (NoPageAvailableException ex) {
+            fail("Fourth page should have previous page");
+        }
+
+        List<Integer> descending = new ArrayList<>(expected);
+        Collections.reverse(descending);
+        KeysetResponsePage<Integer> first = (KeysetResponsePage<Integer>) source.fetch(Paginations.keysetFromStartWithLimit(sortKeys, SortDirection.DESCENDING, 40));
+        KeysetResponsePage<Integer> second = (KeysetResponsePage<Integer>) source.fetch(first.getNext());
+        assertEquals(descending.subList(40, 80), second.getPage());
+
+        TotalAwareResponsePage<Integer> counted = source.fetchWithTotalSize(first.getNext());
+        assertTrue(counted instanceof KeysetResponsePage);
+        assertEquals(second.getLastKeyset(), ((KeysetResponsePage<Integer>) counted).getLastKeyset());
+        assertEquals(descending.subList(80, 120), source.fetch(((KeysetResponsePage<Integer>) counted).getNext()).getPage());
+        assertFalse(counted.isTotalSizeComputed());
+        assertEquals(expected.size(), counted.getTotalSize());
+
+        try {
+            source.fetch(Paginations.keysetFromStartWithLimit(Collections.singletonList("name"), SortDirection.ASCENDING, 10));
+            fail("Sort keys should not match");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+        source.close();
+        assertEquals(0, source.getCachedStatementCount());
+        assertEquals(250, source.count());
+    }
+}
@@ -0,0 +1,135 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class KeysetPaginationTest {
+    private static final List<String> SORT_KEYS = Arrays.asList("created", "id");
+    private static final Function<Integer, List<?>> KEYSET = new Function<Integer, List<?>>() {
+        @Override
+        public List<?> apply(Integer element) {
+            return Arrays.asList(element / 10, element);
+        }
+    };
+
+    @Test
+    public void testInitializationFailures() {
+        try {
+            KeysetRequest.fromStartWithLimit(Collections.<String>emptyList(), SortDirection.ASCENDING, 10);
+            fail("Sort keys can't be empty");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+
+        try {
+            KeysetRequest.fromStartWithLimit(SORT_KEYS, null, 10);
+            fail("Direction can't be null");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+
+        try {
+            KeysetRequest.after(SORT_KEYS, SortDirection.ASCENDING, Arrays.asList(1), 0, 10);
+            fail("Keyset should have a value per sort key");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+
+        try {
+            KeysetRequest.fromStartWithLimit(SORT_KEYS, SortDirection.ASCENDING, -1);
+            fail("Limit can't be set to -1");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testKeysetRequest() throws NoPageAvailableException {
+        KeysetPagination pagination = Paginations.keysetFromStartWithLimit(SORT_KEYS, SortDirection.DESCENDING, 5);
+        assertEquals(0, pagination.getOffset());
+        assertEquals(5, pagination.getLimit());
+        assertEquals(1, pagination.getPageNumber());
+        assertTrue(pagination.getKeyset().isEmpty());
+        assertFalse(pagination.isBackward());
+
+        pagination = Paginations.keysetAfter(SORT_KEYS, SortDirection.DESCENDING, Arrays.asList(4, 42), 10, 5);
+        assertEquals(3, pagination.getPageNumber());
+        assertEquals(Arrays.<Object>asList(4, 42), pagination.getKeyset());
+
+        // Request alone doesn't know its boundary elements and falls back to offset
+        KeysetPagination next = pagination.getNext();
+        assertEquals(15, next.getOffset());
+        assertTrue(next.getKeyset().isEmpty());
+        assertEquals(5, pagination.getPrevious().getOffset());
+        // Same rule as the response page: only the very first page has no previous one
+        assertEquals(0, pagination.getPrevious().getPrevious().getOffset());
+        assertEquals(0, KeysetRequest.after(SORT_KEYS, SortDirection.DESCENDING, Arrays.asList(4, 42), 3, 5).getPrevious().getOffset());
+        try {
+            pagination.getPrevious().getPrevious().getPrevious();
+            fail();
+        } catch (NoPageAvailableException ex) {
+            // Not tracked
+        }
+
+        assertEquals(KeysetRequest.after(SORT_KEYS, SortDirection.DESCENDING, Arrays.asList(4, 42), 10, 5), pagination);
+        assertFalse(pagination.equals(KeysetRequest.before(SORT_KEYS, SortDirection.DESCENDING, Arrays.asList(4, 42), 10, 5)));
+
+        // Positioned by offset, sort keys and direction are kept within int offset range only
+        assertEquals(KeysetRequest.after(SORT_KEYS, SortDirection.DESCENDING, Collections.emptyList(), 20, 5),
+                KeysetRequest.atOffset(pagination, 20, 5));
+        assertEquals(Paginations.ofOffsetAndLimit(1L << 32, 5), KeysetRequest.atOffset(Paginations.fromStartWithLimit(10), 1L << 32, 5));
+        try {
+            KeysetRequest.atOffset(pagination, 1L << 32, 5);
+            fail();
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+
+        KeysetPagination empty = KeysetRequest.after(SORT_KEYS, SortDirection.DESCENDING, Arrays.asList(4, 42), 10, 0);
+        assertEquals(1, empty.getPageNumber());
+        assertTrue(empty.toString().contains("page number = 1"));
+    }
+
+    @Test
+    public void testKeysetResponsePage() throws NoPageAvailableException {
+        List<Integer> pageList = Arrays.asList(11, 12, 23, 24, 35, 36);
+
+        KeysetPagination pagination = KeysetRequest.fromStartWithLimit(SORT_KEYS, SortDirection.ASCENDING, 4);
+        KeysetResponsePage<Integer> responsePage = Paginations.ofKeysetResponsePage(pageList, pagination, KEYSET);
+
+        assertEquals(4, responsePage.size());
+        assertEquals(Arrays.<Object>asList(1, 11), responsePage.getFirstKeyset());
+        assertEquals(Arrays.<Object>asList(2, 24), responsePage.getLastKeyset());
+
+        try {
+            responsePage.getPrevious();
+            fail("No previous pages exist. Currently on the very first page.");
+        } catch (NoPageAvailableException ex) {
+            // No previous page really was there
+        }
+
+        KeysetPagination next = responsePage.getNext();
+        assertEquals(KeysetRequest.after(SORT_KEYS, SortDirection.ASCENDING, Arrays.asList(2, 24), 4, 4), next);
+
+        responsePage = Paginations.ofKeysetResponsePage(Arrays.asList(35, 36), next, KEYSET);
+        assertEquals(Integer.valueOf(35), responsePage.get(4));
+
+        KeysetPagination previous = responsePage.getPrevious();
+        assertTrue(previous.isBackward());
+        assertEquals(0, previous.getOffset());
+        assertEquals(Arrays.<Object>asList(3, 35), previous.getKeyset());
+
+        responsePage = Paginations.ofKeysetResponsePage(Collections.<Integer>emptyList(), next, KEYSET);
+        assertTrue(responsePage.getLastKeyset().isEmpty());
+        assertEquals(8, responsePage.getNext().getOffset());
+    }
+}
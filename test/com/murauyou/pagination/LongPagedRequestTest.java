@@ -0,0 +1,136 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LongPagedRequestTest {
+
+    @Test
+    public void testOverflowFailures() {
+        try {
+            PagedRequest.ofPageNumberAndPageSize(Integer.MAX_VALUE / 10, 100);
+            fail("Page offset overflows int");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+
+        try {
+            PagedRequest.ofOffsetAndLimit(Integer.MAX_VALUE, 10);
+            fail("Page last index overflows int");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+
+        try {
+            LongPagedRequest.ofPageNumberAndPageSize(Long.MAX_VALUE / 10, 100);
+            fail("Page offset overflows long");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+
+        try {
+            LongPagedRequest.ofOffsetAndLimit(Long.MAX_VALUE - 5, 10);
+            fail("Page last index overflows long");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+
+        try {
+            LongPagedRequest.ofOffsetAndLimit(5_000_000_000L, 10).getOffset();
+            fail("Offset doesn't fit int");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testLongPagination() throws NoPageAvailableException {
+        Pagination pagination = Paginations.ofOffsetAndLimit(100L, 10);
+        assertTrue(pagination instanceof PagedRequest);
+
+        pagination = Paginations.ofPageNumberAndPageSize(50_000_001L, 100);
+        assertTrue(pagination instanceof LongPagedRequest);
+        assertEquals(5_000_000_000L, pagination.getLongOffset());
+        assertEquals(100, pagination.getLimit());
+        assertEquals(50_000_001L, ((LongPagedRequest) pagination).getLongPageNumber());
+        assertEquals(5_000_000_099L, ((LongPagedRequest) pagination).getLongLast());
+
+        assertEquals(LongPagedRequest.ofOffsetAndLimit(5_000_000_100L, 100), pagination.getNext());
+        assertEquals(LongPagedRequest.ofOffsetAndLimit(4_999_999_900L, 100), pagination.getPrevious());
+
+        // Int pagination continues as long pagination once it leaves int range
+        pagination = PagedRequest.ofOffsetAndLimit(Integer.MAX_VALUE - 150, 100);
+        assertTrue(pagination.getNext() instanceof LongPagedRequest);
+        assertEquals(Integer.MAX_VALUE - 50L, pagination.getNext().getLongOffset());
+        // and comes back to int pagination, so navigation keeps value equality
+        assertEquals(pagination, pagination.getNext().getPrevious());
+        assertTrue(pagination.getNext().getPrevious() instanceof PagedRequest);
+
+        try {
+            PagedRequest.ofOffsetAndLimit(Integer.MAX_VALUE, 1).getPageNumber();
+            fail("Page number overflows int");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testZeroLimit() {
+        assertEquals(5, LongPagedRequest.ofOffsetAndLimit(5, 0).getLongOffset());
+        assertEquals(Long.MAX_VALUE, LongPagedRequest.ofOffsetAndLimit(Long.MAX_VALUE, 0).getLongOffset());
+
+        Pagination pagination = Paginations.ofOffsetAndLimit(1L << 31, 0);
+        assertTrue(pagination instanceof LongPagedRequest);
+        assertEquals(1L << 31, pagination.getLongOffset());
+        assertTrue(Paginations.ofOffsetAndLimit((long) Integer.MAX_VALUE, 0) instanceof PagedRequest);
+
+        // Zero limit page is always the first one, describing it must not divide by zero
+        assertEquals(1, ((LongPagedRequest) Paginations.ofOffsetAndLimit(3_000_000_000L, 0)).getLongPageNumber());
+        assertTrue(Paginations.ofOffsetAndLimit(3_000_000_000L, 0).toString().contains("page number = 1"));
+        assertEquals(1, Paginations.ofOffsetAndLimit(5, 0).getPageNumber());
+    }
+
+    @Test
+    public void testLongPagedResponse() {
+        List<String> pageList = new ArrayList<>(Arrays.asList("D", "C", "B", "A"));
+
+        TotalAwareResponsePage<String> responsePage = Paginations.ofResponseAndSizeAndPagination(pageList,
+                Paginations.ofOffsetAndLimit(5_000_000_000L, 3), 7_000_000_000L);
+
+        assertEquals(3, responsePage.size());
+        assertEquals(7_000_000_000L, responsePage.getLongTotalSize());
+        assertEquals("D", responsePage.get(5_000_000_000L));
+        assertEquals("B", responsePage.get(5_000_000_002L));
+        assertEquals(5_000_000_001L, responsePage.longIndexOf("C"));
+        assertEquals(-1L, responsePage.longIndexOf("A"));
+        assertEquals(Arrays.asList("C", "B"), responsePage.subList(5_000_000_001L, 5_000_000_003L));
+
+        try {
+            responsePage.get(5_000_000_003L);
+            fail("No more elements after index 5000000002");
+        } catch (IndexOutOfBoundsException ex) {
+            // Not tracked
+        }
+
+        try {
+            responsePage.get(15);
+            fail("Too low for offset of 5000000000");
+        } catch (IndexOutOfBoundsException ex) {
+            // Not tracked
+        }
+
+        try {
+            responsePage.getTotalSize();
+            fail("Total size doesn't fit int");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+    }
+}
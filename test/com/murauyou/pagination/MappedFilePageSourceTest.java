@@ -0,0 +1,123 @@
+package com.murauyou.pagination;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MappedFilePageSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testFixedWidthRecords() throws IOException {
+        Path file = folder.newFile("records.dat").toPath();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(String.format("%08d", i));
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.US_ASCII));
+
+        try (MappedFilePageSource<String> source = MappedFilePageSource.ofFixedWidthRecords(file, 8, RecordDecoders.utf8())) {
+            ResponsePage<String> page = source.fetch(Paginations.ofOffsetAndLimit(990, 20));
+            assertEquals(10, page.size());
+            assertEquals("00000990", page.get(990));
+            assertEquals("00000999", page.getPage().get(9));
+            assertEquals(1000, ((TotalAwareResponsePage<String>) page).getTotalSize());
+
+            assertTrue(source.fetch(Paginations.ofOffsetAndLimit(1000, 20)).isEmpty());
+        }
+        assertFalse(Files.exists(file.resolveSibling("records.dat.idx")));
+    }
+
+    @Test
+    public void testLines() throws IOException {
+        Path file = folder.newFile("log.txt").toPath();
+        Files.write(file, lines(10000));
+
+        try (MappedFilePageSource<String> source = new MappedFilePageSource<>(file, 0, 100, 4096, RecordDecoders.utf8())) {
+            ResponsePage<String> page = source.fetch(Paginations.ofOffsetAndLimit(5050, 10));
+            assertEquals(lines(10000).subList(5050, 5060), page.getPage());
+            assertEquals("line-5055", page.get(5055));
+            assertFalse(page instanceof TotalAwareResponsePage);
+
+            page = source.fetch(Paginations.ofOffsetAndLimit(17, 3));
+            assertEquals(Arrays.asList("line-17", "line-18", "line-19"), page.getPage());
+
+            // Page reaching end of the file knows the total size
+            page = source.fetch(Paginations.ofOffsetAndLimit(9995, 10));
+            assertEquals(lines(10000).subList(9995, 10000), page.getPage());
+            assertEquals(10000, ((TotalAwareResponsePage<String>) page).getTotalSize());
+
+            page = source.fetch(Paginations.ofOffsetAndLimit(10000, 10));
+            assertTrue(page.isEmpty());
+            assertEquals(10000, ((TotalAwareResponsePage<String>) page).getTotalSize());
+        }
+        assertTrue(Files.exists(file.resolveSibling("log.txt.idx")));
+
+        // Persisted index is complete, so total size is known right away
+        try (MappedFilePageSource<String> source = new MappedFilePageSource<>(file, 0, 100, 4096, RecordDecoders.utf8())) {
+            ResponsePage<String> page = source.fetch(Paginations.ofOffsetAndLimit(0, 2));
+            assertEquals(Arrays.asList("line-0", "line-1"), page.getPage());
+            assertEquals(10000, ((TotalAwareResponsePage<String>) page).getTotalSize());
+            assertEquals("line-7777", source.fetch(Paginations.ofOffsetAndLimit(7777, 1)).get(7777));
+        }
+    }
+
+    @Test
+    public void testStaleIndexIsRebuilt() throws IOException {
+        Path file = folder.newFile("log.txt").toPath();
+        Files.write(file, lines(300));
+        try (MappedFilePageSource<String> source = MappedFilePageSource.ofLines(file, 10, RecordDecoders.utf8())) {
+            source.fetch(Paginations.ofOffsetAndLimit(299, 10));
+        }
+
+        Files.write(file, lines(500));
+        try (MappedFilePageSource<String> source = MappedFilePageSource.ofLines(file, 10, RecordDecoders.utf8())) {
+            ResponsePage<String> page = source.fetch(Paginations.ofOffsetAndLimit(450, 100));
+            assertEquals(lines(500).subList(450, 500), page.getPage());
+            assertEquals(500, ((TotalAwareResponsePage<String>) page).getTotalSize());
+        }
+    }
+
+    @Test
+    public void testLineTerminators() throws IOException {
+        Path file = folder.newFile("mixed.txt").toPath();
+        Files.write(file, "a\r\n\nccc\r\nd".getBytes(StandardCharsets.US_ASCII));
+
+        try (MappedFilePageSource<String> source = MappedFilePageSource.ofLines(file, 2, RecordDecoders.utf8())) {
+            ResponsePage<String> page = source.fetch(Paginations.ofOffsetAndLimit(0, 10));
+            assertEquals(Arrays.asList("a", "", "ccc", "d"), page.getPage());
+            assertEquals(4, ((TotalAwareResponsePage<String>) page).getTotalSize());
+            assertEquals(Arrays.asList("ccc", "d"), source.fetch(Paginations.ofOffsetAndLimit(2, 2)).getPage());
+
+            try {
+                source.fetch(Paginations.keysetAfter(Arrays.asList("id"), SortDirection.ASCENDING, Arrays.<Object>asList(1), 0, 10));
+                fail("Keyset seek should not be supported");
+            } catch (IllegalArgumentException ex) {
+                // Not tracked
+            }
+        }
+    }
+
+    private static List<String> lines(int size) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            lines.add("line-" + i);
+        }
+        return lines;
+    }
+}
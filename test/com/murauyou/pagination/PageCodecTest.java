@@ -0,0 +1,200 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PageCodecTest {
+    private static final ElementCodec<Item> ITEMS = new ElementCodec<Item>() {
+        @Override
+        public void writeJson(Item item, JsonPageWriter writer) throws IOException {
+            writer.beginObject();
+            writer.name("id");
+            writer.value(item.id);
+            writer.name("name");
+            writer.value(item.name);
+            writer.name("tags");
+            writer.beginArray();
+            for (String tag : item.tags) {
+                writer.value(tag);
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+
+        @Override
+        public void writeBinary(Item item, BinaryPageWriter writer) throws IOException {
+            writer.writeZigZagLong(item.id);
+            writer.writeString(item.name);
+            writer.writeBytes(String.join(",", item.tags).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public Item readBinary(BinaryPageReader reader) {
+            long id = reader.readZigZagLong();
+            String name = reader.readString();
+            String tags = StandardCharsets.UTF_8.decode(reader.readBytes()).toString();
+            return new Item(id, name, tags.isEmpty() ? new String[0] : tags.split(","));
+        }
+    };
+
+    @Test
+    public void testJson() throws IOException {
+        List<Item> items = Arrays.asList(new Item(-7, "Quote \" and \\ and\nnewline", "a", "b"), new Item(Long.MIN_VALUE, "Ünïcödé 😀", new String[0]));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonPageWriter writer = JsonPageWriter.ofOutputStream(output);
+        writer.writePage(Paginations.ofResponseAndSizeAndPagination(items, Paginations.ofOffsetAndLimit(20, 10), 22), ITEMS);
+
+        assertEquals("{\"offset\":20,\"limit\":10,\"pageNumber\":3,\"totalSize\":22,\"totalSizeExact\":true,\"items\":["
+                + "{\"id\":-7,\"name\":\"Quote \\\" and \\\\ and\\nnewline\",\"tags\":[\"a\",\"b\"]},"
+                + "{\"id\":-9223372036854775808,\"name\":\"Ünïcödé 😀\",\"tags\":[]}]}", output.toString(StandardCharsets.UTF_8));
+
+        // Writer is reused for the next page
+        output.reset();
+        writer.writePage(Paginations.ofResponsePage(Arrays.asList("x\u0001"), Paginations.fromStartWithLimit(1)), ElementCodecs.strings());
+        assertEquals("{\"offset\":0,\"limit\":1,\"pageNumber\":1,\"items\":[\"x\\u0001\"]}", output.toString(StandardCharsets.UTF_8));
+
+        // Page aborted in the middle of an element doesn't affect the next page
+        try {
+            writer.writePage(Paginations.ofResponsePage(Arrays.asList("x"), Paginations.fromStartWithLimit(1)), new ElementCodec<String>() {
+                @Override
+                public void writeJson(String element, JsonPageWriter out) throws IOException {
+                    out.beginObject();
+                    out.name("value");
+                    out.value(element);
+                    throw new IOException("Element can't be written");
+                }
+
+                @Override
+                public void writeBinary(String element, BinaryPageWriter out) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public String readBinary(BinaryPageReader reader) {
+                    throw new UnsupportedOperationException();
+                }
+            });
+            fail("Element codec should fail");
+        } catch (IOException ex) {
+            // Not tracked
+        }
+        writer.flush();
+        output.reset();
+        writer.writePage(Paginations.ofResponsePage(Arrays.asList("y"), Paginations.fromStartWithLimit(1)), ElementCodecs.strings());
+        assertEquals("{\"offset\":0,\"limit\":1,\"pageNumber\":1,\"items\":[\"y\"]}", output.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testBinaryRoundTrip() throws IOException {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            // Output is much larger than the writer buffer
+            items.add(new Item(i % 2 == 0 ? i : -i * 1_000_000_007L, "Item №" + i, "tag" + i, "😀"));
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryPageWriter writer = BinaryPageWriter.ofOutputStream(output);
+        writer.writePage(Paginations.ofResponseAndEstimatedSizeAndPagination(items, Paginations.ofOffsetAndLimit(3_000_000_000L, 5000), 1L << 40), ITEMS);
+        writer.writePage(Paginations.ofResponsePage(Arrays.asList(1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE), Paginations.fromStartWithLimit(4)), ElementCodecs.integers());
+
+        BinaryPageReader reader = BinaryPageReader.ofByteBuffer(ByteBuffer.wrap(output.toByteArray()));
+        TotalAwareResponsePage<Item> page = (TotalAwareResponsePage<Item>) reader.<Item>readPage(ITEMS);
+        assertEquals(Paginations.ofOffsetAndLimit(3_000_000_000L, 5000), page.getPagination());
+        assertEquals(1L << 40, page.getLongTotalSize());
+        assertFalse(page.isTotalSizeExact());
+        assertEquals(items, page.getPage());
+
+        ResponsePage<Integer> integers = reader.readPage(ElementCodecs.integers());
+        assertFalse(integers instanceof TotalAwareResponsePage);
+        assertEquals(Arrays.asList(1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE), integers.getPage());
+        assertFalse(reader.hasRemaining());
+
+        // Byte fields are slices of the buffer
+        byte[] bytes = {1, 2, 3};
+        output.reset();
+        writer.writeBytes(bytes);
+        writer.flush();
+        ByteBuffer buffer = ByteBuffer.wrap(output.toByteArray());
+        ByteBuffer slice = BinaryPageReader.ofByteBuffer(buffer).readBytes();
+        buffer.put(1, (byte) 42);
+        assertEquals(42, slice.get(0));
+        assertTrue(slice.isReadOnly());
+
+        try {
+            BinaryPageReader.ofByteBuffer(ByteBuffer.wrap(Arrays.copyOf(output.toByteArray(), 2))).readPage(ElementCodecs.strings());
+            fail("Page should be malformed");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+
+        try {
+            // Offset Long.MAX_VALUE with limit 10 overflows
+            byte[] overflow = {BinaryPageWriter.FORMAT_VERSION, 0, -1, -1, -1, -1, -1, -1, -1, -1, 0x7f, 10, 0};
+            BinaryPageReader.ofByteBuffer(ByteBuffer.wrap(overflow)).readPage(ElementCodecs.strings());
+            fail("Page should be malformed");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testStringsAcrossBuffer() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 12000; i++) {
+            // Surrogate pairs land on every buffer chunk boundary sooner or later
+            builder.append(i % 7 == 0 ? "😀" : i % 5 == 0 ? "Ж" : i % 3 == 0 ? "€" : "a");
+        }
+        builder.append('\ud800').append("end");
+        String value = builder.toString();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryPageWriter writer = BinaryPageWriter.ofOutputStream(output);
+        writer.writeString(value);
+        writer.flush();
+        assertEquals(new String(value.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8),
+                BinaryPageReader.ofByteBuffer(ByteBuffer.wrap(output.toByteArray())).readString());
+
+        output.reset();
+        JsonPageWriter json = JsonPageWriter.ofOutputStream(output);
+        json.value(value);
+        json.flush();
+        assertEquals("\"" + value.substring(0, value.length() - 4) + "\\ud800end\"", output.toString(StandardCharsets.UTF_8));
+    }
+
+    private static final class Item {
+        private final long id;
+        private final String name;
+        private final List<String> tags;
+
+        private Item(long id, String name, String... tags) {
+            this.id = id;
+            this.name = name;
+            this.tags = Arrays.asList(tags);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Item item = (Item) o;
+            return id == item.id && name.equals(item.name) && tags.equals(item.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(id) + name.hashCode();
+        }
+    }
+}
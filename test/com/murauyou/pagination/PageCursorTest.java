@@ -0,0 +1,69 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PageCursorTest {
+
+    @Test
+    public void testNavigation() {
+        PageCursor cursor = PageCursor.fromStartWithLimit(10);
+        assertFalse(cursor.hasPrevious());
+        assertFalse(cursor.retreat());
+        assertEquals(1, cursor.getPageNumber());
+
+        int pages = 1;
+        while (cursor.hasNext(95)) {
+            cursor.advance();
+            pages++;
+        }
+        assertEquals(10, pages);
+        assertEquals(90, cursor.getOffset());
+
+        cursor.jumpToPage(3);
+        assertEquals(20, cursor.getOffset());
+        assertEquals(Paginations.ofPageNumberAndPageSize(3, 10), cursor.toPagination());
+        assertTrue(cursor.hasPrevious());
+        assertTrue(cursor.retreat());
+        assertEquals(2, cursor.getPageNumber());
+
+        // Less than a page before the cursor
+        cursor.moveTo(5);
+        assertTrue(cursor.retreat());
+        assertEquals(0, cursor.getOffset());
+
+        cursor.setLimit(25);
+        cursor.jumpToPage(100_000_000_000L);
+        assertEquals(2_499_999_999_975L, cursor.getLongOffset());
+        assertEquals(100_000_000_000L, cursor.getLongPageNumber());
+        try {
+            cursor.getOffset();
+            fail("Offset should not fit int");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+
+        PageCursor copy = PageCursor.ofPagination(Paginations.ofOffsetAndLimit(30, 15));
+        assertEquals(3, copy.getPageNumber());
+        assertEquals(15, copy.getPageSize());
+    }
+
+    @Test
+    public void testOptionalNavigation() {
+        assertEquals(Optional.empty(), Paginations.previousOf(Paginations.fromStartWithLimit(10)));
+        assertEquals(Optional.of(Paginations.ofOffsetAndLimit(10, 10)), Paginations.previousOf(Paginations.ofOffsetAndLimit(20, 10)));
+
+        ResponsePage<Integer> page = Paginations.ofResponsePage(Arrays.asList(1, 2), Paginations.fromStartWithLimit(2));
+        assertFalse(Paginations.previousOf(page).isPresent());
+
+        // Exception is a stackless control flow signal
+        assertEquals(0, new NoPageAvailableException().getStackTrace().length);
+    }
+}
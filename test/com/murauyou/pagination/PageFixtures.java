@@ -0,0 +1,40 @@
+package com.murauyou.pagination;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result lists and page sources shared by the tests
+ */
+final class PageFixtures {
+
+    private PageFixtures() {
+    }
+
+    /**
+     * Returns modifiable list of values 0..size-1
+     */
+    static List<Integer> range(int size) {
+        List<Integer> list = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return list;
+    }
+
+    /**
+     * Returns page source of the values recording every pagination it is asked to fetch
+     */
+    static <E> PageSource<E> recording(List<E> values, final List<Pagination> fetched) {
+        final PageSource<E> source = Paginations.ofListPageSource(values);
+        return new PageSource<E>() {
+            @Override
+            public ResponsePage<E> fetch(Pagination pagination) {
+                synchronized (fetched) {
+                    fetched.add(pagination);
+                }
+                return source.fetch(pagination);
+            }
+        };
+    }
+}
@@ -0,0 +1,116 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PageIteratorTest {
+
+    @Test
+    public void testPrefetchesNextPage() throws InterruptedException {
+        final CountDownLatch secondPageRequested = new CountDownLatch(1);
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(25));
+        PageSource<Integer> source = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                if (pagination.getOffset() == 10) {
+                    secondPageRequested.countDown();
+                }
+                return list.fetch(pagination);
+            }
+        };
+
+        PageIterator<Integer> pages = PageIterator.ofPageSource(source, Paginations.fromStartWithLimit(10));
+        ResponsePage<Integer> page = pages.next();
+        assertEquals(0, page.getPagination().getOffset());
+
+        // Second page is fetched while the first one is still being processed
+        assertTrue(secondPageRequested.await(5, TimeUnit.SECONDS));
+        pages.close();
+        assertFalse(pages.hasNext());
+    }
+
+    @Test
+    public void testStopsOnShortPageAndTotalSize() {
+        final List<Pagination> requested = new CopyOnWriteArrayList<>();
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(20));
+        PageSource<Integer> totalAware = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                requested.add(pagination);
+                return list.fetch(pagination);
+            }
+        };
+        PageSource<Integer> totalUnaware = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                requested.add(pagination);
+                return Paginations.ofResponsePage(list.fetch(pagination).getPage(), pagination);
+            }
+        };
+
+        assertEquals(2, count(PageIterator.ofPageSource(totalAware, Paginations.fromStartWithLimit(10))));
+        assertEquals(2, requested.size());
+
+        requested.clear();
+        assertEquals(3, count(PageIterator.ofPageSource(totalAware, Paginations.fromStartWithLimit(8))));
+        assertEquals(3, requested.size());
+
+        // Without total size the empty page after the last full one has to be fetched
+        requested.clear();
+        assertEquals(2, count(PageIterator.ofPageSource(totalUnaware, Paginations.fromStartWithLimit(10))));
+        assertEquals(3, requested.size());
+    }
+
+    @Test
+    public void testElementStream() {
+        List<Integer> elements = Paginations.stream(Paginations.ofListPageSource(range(103)), Paginations.fromStartWithLimit(10))
+                .collect(Collectors.toList());
+        assertEquals(range(103), elements);
+
+        elements = PageIterator.ofPageSource(Paginations.ofListPageSource(range(103)), Paginations.ofOffsetAndLimit(95, 4))
+                .stream().parallel().collect(Collectors.toList());
+        assertEquals(range(103).subList(95, 103), elements);
+
+        assertEquals(0, Paginations.stream(Paginations.ofListPageSource(Collections.<Integer>emptyList()),
+                Paginations.fromStartWithLimit(10)).count());
+    }
+
+    @Test
+    public void testFetchFailure() {
+        PageSource<Integer> source = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                throw new PageFetchException("Backend is down");
+            }
+        };
+
+        try {
+            PageIterator.ofPageSource(source, Paginations.fromStartWithLimit(10)).next();
+            fail("Fetch failure should be propagated to the caller");
+        } catch (PageFetchException ex) {
+            assertEquals("Backend is down", ex.getMessage());
+        }
+    }
+
+    private static int count(PageIterator<?> pages) {
+        int count = 0;
+        while (pages.hasNext()) {
+            pages.next();
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,180 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static com.murauyou.pagination.PageFixtures.recording;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PagePublisherTest {
+    private static final Executor DIRECT = Runnable::run;
+
+    @Test
+    public void testFetchesFollowDemand() {
+        List<Pagination> fetched = new ArrayList<>();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        PagePublisher.ofElements(recording(range(100), fetched), Paginations.ofOffsetAndLimit(10, 20), DIRECT).subscribe(subscriber);
+
+        // Nothing is fetched until requested
+        assertTrue(fetched.isEmpty());
+
+        subscriber.subscription.request(5);
+        assertEquals(range(100).subList(10, 15), subscriber.received);
+        assertEquals(Paginations.ofOffsetAndLimit(10, 5), fetched.get(0));
+
+        // Demand above the cap is served by capped fetches
+        subscriber.subscription.request(45);
+        assertEquals(range(100).subList(10, 60), subscriber.received);
+        assertEquals(List.of(Paginations.ofOffsetAndLimit(10, 5), Paginations.ofOffsetAndLimit(15, 20),
+                Paginations.ofOffsetAndLimit(35, 20), Paginations.ofOffsetAndLimit(55, 5)), fetched);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(range(100).subList(10, 100), subscriber.received);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.failure);
+    }
+
+    @Test
+    public void testCancellationStopsFetching() {
+        List<Pagination> fetched = new ArrayList<>();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 12) {
+                    subscription.cancel();
+                }
+            }
+        };
+        PagePublisher.ofElements(recording(range(100), fetched), Paginations.fromStartWithLimit(10), DIRECT).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(range(13), subscriber.received);
+        assertEquals(2, fetched.size());
+
+        subscriber.subscription.request(10);
+        assertEquals(2, fetched.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void testKeysetFromStartKeepsSortKeysAndDirection() {
+        List<Pagination> fetched = new ArrayList<>();
+        List<String> sortKeys = List.of("id");
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+        PagePublisher.ofElements(recording(range(100), fetched),
+                KeysetRequest.fromStartWithLimit(sortKeys, SortDirection.DESCENDING, 10), DIRECT).subscribe(subscriber);
+
+        subscriber.subscription.request(15);
+        assertEquals(range(15), subscriber.received);
+        assertEquals(List.of(KeysetRequest.fromStartWithLimit(sortKeys, SortDirection.DESCENDING, 10),
+                KeysetRequest.after(sortKeys, SortDirection.DESCENDING, List.of(), 10, 5)), fetched);
+    }
+
+    @Test
+    public void testThrowingSubscriberIsCancelled() {
+        List<Pagination> fetched = new ArrayList<>();
+        RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<Integer>() {
+            @Override
+            public void onNext(Integer item) {
+                super.onNext(item);
+                if (item == 2) {
+                    throw new IllegalStateException("Subscriber failed");
+                }
+            }
+        };
+        PagePublisher.ofElements(recording(range(100), fetched), Paginations.fromStartWithLimit(10), DIRECT).subscribe(subscriber);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(range(3), subscriber.received);
+
+        subscriber.subscription.request(10);
+        assertEquals(1, fetched.size());
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.failure);
+    }
+
+    @Test
+    public void testPagesAndErrors() throws Exception {
+        List<Pagination> fetched = new ArrayList<>();
+        RecordingSubscriber<ResponsePage<Integer>> pages = new RecordingSubscriber<>();
+        PagePublisher.ofPages(recording(range(25), fetched), Paginations.fromStartWithLimit(10)).subscribe(pages);
+
+        pages.subscription.request(2);
+        pages.await(2);
+        assertEquals(2, fetched.size());
+        assertEquals(range(25).subList(10, 20), pages.received.get(1).getPage());
+
+        pages.subscription.request(5);
+        assertTrue(pages.done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, pages.received.size());
+        assertTrue(pages.completed);
+
+        RecordingSubscriber<Integer> failing = new RecordingSubscriber<>();
+        PagePublisher.ofElements(new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                throw new PageFetchException("Database is down");
+            }
+        }, Paginations.fromStartWithLimit(10), DIRECT).subscribe(failing);
+        failing.subscription.request(1);
+        assertEquals("Database is down", failing.failure.getMessage());
+
+        RecordingSubscriber<Integer> invalid = new RecordingSubscriber<>();
+        PagePublisher.ofElements(Paginations.ofListPageSource(range(10)), Paginations.fromStartWithLimit(10), DIRECT).subscribe(invalid);
+        invalid.subscription.request(0);
+        assertTrue(invalid.failure instanceof IllegalArgumentException);
+    }
+
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> received = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        volatile Flow.Subscription subscription;
+        volatile boolean completed;
+        volatile Throwable failure;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (received) {
+                received.add(item);
+                received.notifyAll();
+            }
+        }
+
+        @Override
+        public void onError(Throwable failure) {
+            this.failure = failure;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        void await(int count) throws InterruptedException {
+            synchronized (received) {
+                long deadline = System.currentTimeMillis() + 5000;
+                while (received.size() < count && System.currentTimeMillis() < deadline) {
+                    received.wait(100);
+                }
+            }
+        }
+    }
+}
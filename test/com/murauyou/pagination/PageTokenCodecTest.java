@@ -0,0 +1,143 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PageTokenCodecTest {
+    private static final byte[] KEY = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15};
+
+    private final PageTokenCodec codec = PageTokenCodec.ofKey(KEY);
+
+    @Test
+    public void testSipHashReferenceVectors() {
+        long k0 = 0x0706050403020100L;
+        long k1 = 0x0f0e0d0c0b0a0908L;
+        byte[] message = new byte[15];
+        for (int i = 0; i < message.length; i++) {
+            message[i] = (byte) i;
+        }
+
+        assertEquals(0x726fdb47dd0e0e31L, PageTokenCodec.sipHash24(k0, k1, message, 0, 0));
+        assertEquals(0xa129ca6149be45e5L, PageTokenCodec.sipHash24(k0, k1, message, 0, 15));
+    }
+
+    @Test
+    public void testRoundTrip() {
+        List<Pagination> paginations = Arrays.asList(
+                Paginations.ofOffsetAndLimit(0, 0),
+                Paginations.ofOffsetAndLimit(1250, 25),
+                Paginations.ofPageNumberAndPageSize(7, 100),
+                Paginations.ofOffsetAndLimit(Long.MAX_VALUE - 100, 100),
+                Paginations.ofOffsetAndLimit(1L << 33, 0),
+                KeysetRequest.fromStartWithLimit(Arrays.asList("createdAt", "id"), SortDirection.DESCENDING, 20),
+                KeysetRequest.after(Arrays.asList("name", "id"), SortDirection.ASCENDING, Arrays.asList("Ünïcödé 😀", 42L), 40, 20),
+                KeysetRequest.before(Arrays.asList("a", "b", "c", "d", "e", "f", "g"), SortDirection.DESCENDING,
+                        Arrays.asList(null, -7, 2.5, true, new BigDecimal("-12.340"), "", Long.MIN_VALUE), 60, 20));
+
+        for (Pagination pagination : paginations) {
+            String token = codec.encode(pagination);
+            assertEquals(pagination, codec.decode(token));
+            assertTrue(token, token.matches("[A-Za-z0-9_-]+"));
+        }
+        assertEquals(14, codec.encode(Paginations.ofOffsetAndLimit(1250, 25)).length());
+        assertEquals(12, codec.encode(Paginations.ofOffsetAndLimit(0, 10)).length());
+        assertEquals(28, codec.encode(Paginations.ofOffsetAndLimit(Long.MAX_VALUE - Integer.MAX_VALUE, Integer.MAX_VALUE)).length());
+
+        PageCursor cursor = PageCursor.fromStartWithLimit(25);
+        cursor.advance();
+        assertEquals(cursor.toPagination(), PageTokenCodec.ofKey(KEY).decode(codec.encode(cursor.toPagination())));
+    }
+
+    @Test
+    public void testTextAndBuffers() {
+        Pagination pagination = KeysetRequest.after(Collections.singletonList("id"), SortDirection.ASCENDING, Collections.singletonList(99L), 30, 10);
+        String token = codec.encode(pagination);
+
+        StringBuilder url = codec.encode(pagination, new StringBuilder("/items?page="));
+        assertEquals("/items?page=" + token, url.toString());
+        url.append("&sort=id");
+        int start = url.indexOf("=") + 1;
+        assertEquals(pagination, codec.decode(url, start, url.indexOf("&")));
+
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put((byte) '#');
+        assertEquals(token.length(), codec.encode(pagination, buffer));
+        buffer.flip().position(1);
+        assertEquals(pagination, codec.decode(buffer));
+        assertEquals(1, buffer.position());
+        assertEquals(token, StandardCharsets.US_ASCII.decode(buffer).toString());
+
+        ByteBuffer small = ByteBuffer.allocate(token.length() - 1);
+        try {
+            codec.encode(pagination, small);
+            fail();
+        } catch (BufferOverflowException ex) {
+            // Not tracked
+        }
+        assertEquals(0, small.position());
+    }
+
+    @Test
+    public void testTamperedTokens() {
+        String token = codec.encode(KeysetRequest.after(Arrays.asList("name", "id"), SortDirection.ASCENDING, Arrays.asList("x", 1L), 40, 20));
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+        for (int i = 0; i < token.length(); i++) {
+            char[] chars = token.toCharArray();
+            chars[i] = alphabet.charAt((alphabet.indexOf(chars[i]) + 1 + i % 63) % 64);
+            assertRejected(new String(chars));
+        }
+        assertRejected(token.substring(1));
+        assertRejected(token + "A");
+        assertRejected(token + "AA");
+        assertRejected("");
+        assertRejected("=");
+        assertRejected(token.replace(token.charAt(3), '+'));
+        assertRejected(token.substring(0, 5) + "é" + token.substring(6));
+
+        PageTokenCodec other = PageTokenCodec.ofRandomKey();
+        try {
+            other.decode(token);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testUnsupportedKeysetValue() {
+        try {
+            codec.encode(KeysetRequest.after(Collections.singletonList("id"), SortDirection.ASCENDING, Collections.singletonList(new Object()), 0, 10));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+
+        try {
+            PageTokenCodec.ofKey(new byte[8]);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    private void assertRejected(String token) {
+        try {
+            codec.decode(token);
+            fail(token);
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+}
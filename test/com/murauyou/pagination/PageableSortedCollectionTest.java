@@ -0,0 +1,109 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PageableSortedCollectionTest {
+
+    @Test
+    public void testPagesMatchSortedSet() {
+        PageableSortedCollection<Integer> collection = PageableSortedCollection.ofComparator(Comparator.<Integer>reverseOrder());
+        TreeSet<Integer> expected = new TreeSet<>(Comparator.<Integer>reverseOrder());
+
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            int value = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(value), collection.remove(value));
+            } else {
+                assertEquals(expected.add(value), collection.add(value));
+            }
+        }
+        assertEquals(expected.size(), collection.size());
+        assertEquals(new ArrayList<>(expected), new ArrayList<>(collection));
+
+        List<Integer> sorted = new ArrayList<>(expected);
+        for (int offset = 0; offset < sorted.size() + 100; offset += 397) {
+            TotalAwareResponsePage<Integer> page = collection.fetch(Paginations.ofOffsetAndLimit(offset, 50));
+            assertEquals(sorted.subList(Math.min(offset, sorted.size()), Math.min(offset + 50, sorted.size())), page.getPage());
+            assertEquals(sorted.size(), page.getTotalSize());
+        }
+
+        Integer third = sorted.get(3);
+        assertEquals(3, collection.rankOf(third));
+        assertEquals(third, collection.getByRank(3));
+    }
+
+    @Test
+    public void testReplace() {
+        PageableSortedCollection<String> collection = PageableSortedCollection.ofComparator(Comparator.<String>naturalOrder());
+        collection.add("b");
+        collection.add("d");
+
+        assertTrue(collection.replace("d", "a"));
+        assertEquals(0, collection.rankOf("a"));
+        assertEquals(-1, collection.rankOf("d"));
+        assertFalse(collection.replace("x", "y"));
+        assertFalse(collection.replace("a", "b"));
+        assertEquals(2, collection.size());
+    }
+
+    @Test
+    public void testConsistentPagesWhileWriting() throws InterruptedException {
+        final PageableSortedCollection<Integer> collection = PageableSortedCollection.ofComparator(Comparator.<Integer>naturalOrder());
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicReference<String> failure = new AtomicReference<>();
+
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            final int seed = w;
+            writers.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Random random = new Random(seed);
+                    while (!stop.get()) {
+                        int value = random.nextInt(2000);
+                        if (!collection.add(value)) {
+                            collection.remove(value);
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+
+        for (int i = 0; i < 2000 && failure.get() == null; i++) {
+            TotalAwareResponsePage<Integer> page = collection.fetch(Paginations.ofOffsetAndLimit(0, 5000));
+            List<Integer> elements = page.getPage();
+            if (elements.size() != page.getTotalSize()) {
+                failure.set("Page size " + elements.size() + " doesn't match total size " + page.getTotalSize());
+            }
+            for (int j = 1; j < elements.size(); j++) {
+                if (elements.get(j - 1) >= elements.get(j)) {
+                    failure.set("Page is not sorted");
+                }
+            }
+        }
+        stop.set(true);
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(new TreeSet<>(collection).size(), collection.size());
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -117,4 +119,60 @@ public class PagedResponseTest {
         assertEquals("A", responsePage.get(18));
         assertEquals("G", responsePage.get(20));
     }
+
+    @Test
+    public void testLazyTotalAwarePagedResponse() {
+        List<String> pageList = new ArrayList<>(Arrays.asList("D", "C", "B", "A", "H", "G", "F", "E", "I"));
+        final AtomicInteger counts = new AtomicInteger();
+        LongSupplier counter = new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                counts.incrementAndGet();
+                return 105;
+            }
+        };
+
+        TotalAwareResponsePage<String> responsePage = Paginations.ofResponseAndLazySizeAndPagination(pageList, Paginations.ofOffsetAndLimit(15, 9), counter);
+
+        assertEquals("D", responsePage.get(15));
+        assertFalse(Paginations.isLastPage(responsePage));
+        assertFalse(responsePage.isTotalSizeComputed());
+        assertEquals(0, counts.get());
+
+        assertEquals(105, responsePage.getTotalSize());
+        assertEquals(105, responsePage.getLongTotalSize());
+        assertTrue(responsePage.isTotalSizeComputed());
+        assertTrue(responsePage.isTotalSizeExact());
+        assertEquals(1, counts.get());
+
+        responsePage = Paginations.ofResponseAndEstimatedSizeAndPagination(pageList, Paginations.ofOffsetAndLimit(15, 9), 20);
+        assertEquals(20, responsePage.getTotalSize());
+        assertFalse(responsePage.isTotalSizeExact());
+        // Estimated total size doesn't end traversal
+        assertFalse(Paginations.isLastPage(responsePage));
+    }
+
+    @Test
+    public void testCompactAndViewPagedResponse() {
+        List<String> pageList = new ArrayList<>(Arrays.asList("D", "C", "B", "A", "H", "G", "F", "E", "I"));
+
+        ResponsePage<String> compactPage = Paginations.ofResponsePage(pageList, Paginations.ofOffsetAndLimit(15, 3));
+        ResponsePage<String> viewPage = Paginations.ofResponsePageView(pageList, Paginations.ofOffsetAndLimit(15, 3));
+
+        pageList.set(0, "Z");
+
+        // Compact page holds a copy cut to the limit, view page reflects the source list
+        assertEquals(Arrays.asList("D", "C", "B"), compactPage.getPage());
+        assertEquals(Arrays.asList("Z", "C", "B"), viewPage.getPage());
+        assertEquals(3, compactPage.toArray().length);
+        assertEquals(16, compactPage.indexOf("C"));
+        assertEquals(Arrays.asList("C", "B"), compactPage.subList(16, 18));
+
+        try {
+            compactPage.getPage().set(0, "Y");
+            fail("Compact page is immutable");
+        } catch (UnsupportedOperationException ex) {
+            // Not tracked
+        }
+    }
 }
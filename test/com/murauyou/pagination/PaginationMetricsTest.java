@@ -0,0 +1,162 @@
+package com.murauyou.pagination;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PaginationMetricsTest {
+
+    @After
+    public void tearDown() {
+        Paginations.setMetrics(PaginationMetrics.NOOP);
+    }
+
+    @Test
+    public void testHistogram() {
+        Log2Histogram histogram = new Log2Histogram();
+        assertEquals(0, histogram.getPercentile(0.99));
+
+        for (int i = 0; i < 90; i++) {
+            histogram.record(20);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.record(100_000);
+        }
+        histogram.record(-5);
+
+        assertEquals(101, histogram.getCount());
+        assertEquals(1, histogram.getBucketCount(0));
+        assertEquals(90, histogram.getBucketCount(5));
+        assertEquals(31, histogram.getPercentile(0.5));
+        assertEquals(100_000, histogram.getPercentile(0.99));
+        assertEquals(100_000, histogram.getMax());
+        assertEquals(90 * 20 + 10 * 100_000, histogram.getSum());
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void testMeteredPageSource() {
+        final AtomicLong clock = new AtomicLong();
+        final List<Integer> list = range(1000);
+        PageSource<Integer> lazySource = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                clock.addAndGet(pagination.getLongOffset() + 100);
+                ResponsePage<Integer> page = ListPageSource.ofList(list).fetch(pagination);
+                return TotalAwarePagedResponse.ofResponseAndLazyEstimatedSizeAndPagination(page.getPage(), pagination, new LongSupplier() {
+                    @Override
+                    public long getAsLong() {
+                        clock.addAndGet(5000);
+                        return list.size();
+                    }
+                });
+            }
+        };
+        InMemoryPaginationMetrics metrics = InMemoryPaginationMetrics.create();
+        MeteredPageSource<Integer> source = new MeteredPageSource<Integer>("items", lazySource, metrics, clock::get);
+
+        for (int offset = 0; offset < 1000; offset += 100) {
+            ResponsePage<Integer> page = source.fetch(Paginations.ofOffsetAndLimit(offset, 100));
+            assertEquals(list.subList(offset, offset + 100), page.getPage());
+        }
+        TotalAwareResponsePage<Integer> deepest = (TotalAwareResponsePage<Integer>) source.fetch(Paginations.ofOffsetAndLimit(950, 100));
+        assertFalse(deepest.isTotalSizeComputed());
+        assertFalse(deepest.isTotalSizeExact());
+        assertEquals(1000, deepest.getLongTotalSize());
+        assertEquals(1000, deepest.getLongTotalSize());
+
+        PageSourceMetrics items = metrics.getSourceMetrics("items");
+        assertEquals(11, items.getOffset().getCount());
+        assertEquals(950, items.getOffset().getMax());
+        assertEquals(511, items.getOffset().getPercentile(0.5));
+        assertEquals(950, items.getOffset().getPercentile(0.9));
+        assertEquals(100, items.getLimit().getPercentile(1.0));
+        assertEquals(1, items.getSize().getBucketCount(6));
+        assertEquals(1, items.getUnderfilledPageCount());
+        assertEquals(1050, items.getFetchLatency().getMax());
+        assertEquals(1, items.getTotalSizeLatency().getCount());
+        assertEquals(5000, items.getTotalSizeLatency().getMax());
+
+        assertEquals(list.size(), source.totalSize(() -> {
+            clock.addAndGet(7000);
+            return list.size();
+        }).getAsLong());
+        assertEquals(7000, items.getTotalSizeLatency().getMax());
+
+        metrics.reset();
+        assertEquals(0, items.getOffset().getCount());
+        assertTrue(metrics.getSourceNames().contains("items"));
+    }
+
+    @Test
+    public void testGlobalMetrics() {
+        assertSame(PaginationMetrics.NOOP, Paginations.getMetrics());
+        MeteredPageSource<Integer> source = Paginations.ofMeteredPageSource("list", ListPageSource.ofList(range(50)));
+        source.fetch(Paginations.ofOffsetAndLimit(0, 10));
+        Paginations.ofResponsePage(range(10), Paginations.ofOffsetAndLimit(0, 10));
+
+        InMemoryPaginationMetrics metrics = InMemoryPaginationMetrics.create();
+        Paginations.setMetrics(metrics);
+        assertNull(metrics.getSourceMetrics("list"));
+
+        ResponsePage<Integer> page = source.fetch(Paginations.ofOffsetAndLimit(40, 20));
+        assertTrue(page instanceof TotalAwareResponsePage);
+        Paginations.ofResponsePage(range(3), Paginations.ofOffsetAndLimit(30, 5));
+
+        assertEquals(1, metrics.getSourceMetrics("list").getOffset().getCount());
+        assertEquals(1, metrics.getSourceMetrics("list").getUnderfilledPageCount());
+        assertEquals(1, metrics.getSourceMetrics("list").getFetchLatency().getCount());
+        assertEquals(0, metrics.getSourceMetrics("list").getTotalSizeLatency().getCount());
+        assertEquals(3, metrics.getSourceMetrics(PaginationMetrics.DEFAULT_SOURCE).getSize().getMax());
+        assertEquals(30, metrics.getSourceMetrics(PaginationMetrics.DEFAULT_SOURCE).getOffset().getSum());
+
+        try {
+            Paginations.setMetrics(null);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        final InMemoryPaginationMetrics metrics = InMemoryPaginationMetrics.create();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            final String name = "source-" + (t % 2);
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.recordPage(name, i, 10, 10);
+                    metrics.recordFetchLatency(name, i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(2, metrics.getSourceNames().size());
+        assertEquals(20_000, metrics.getSourceMetrics("source-0").getOffset().getCount());
+        assertEquals(20_000, metrics.getSourceMetrics("source-1").getFetchLatency().getCount());
+        assertEquals(9_999, metrics.getSourceMetrics("source-1").getFetchLatency().getMax());
+        assertEquals(0, metrics.getSourceMetrics("source-1").getUnderfilledPageCount());
+    }
+}
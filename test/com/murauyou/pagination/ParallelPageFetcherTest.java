@@ -0,0 +1,213 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelPageFetcherTest {
+
+    @Test
+    public void testPagesComeInOrderWithBoundedConcurrency() {
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(1000));
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicInteger maxInFlight = new AtomicInteger();
+        PageSource<Integer> slow = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                int current = inFlight.incrementAndGet();
+                maxInFlight.accumulateAndGet(current, Math::max);
+                try {
+                    // Later pages are faster, so they complete out of order
+                    Thread.sleep(Math.max(1, 20 - pagination.getOffset() / 50));
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                return list.fetch(pagination);
+            }
+        };
+
+        List<Integer> elements = ParallelPageFetcher.ofPageSource(slow, 4)
+                .stream(Paginations.fromStartWithLimit(50))
+                .collect(Collectors.toList());
+
+        assertEquals(range(1000), elements);
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= 4);
+    }
+
+    @Test
+    public void testKnownTotalSizeAndShortPages() {
+        AtomicInteger fetches = new AtomicInteger();
+        ParallelPageFetcher<Integer> fetcher = ParallelPageFetcher.ofPageSource(totalUnaware(range(95), fetches), 3);
+        assertEquals(range(95), fetcher.stream(Paginations.fromStartWithLimit(10)).collect(Collectors.toList()));
+
+        // Speculative fetches past the end of the first run may still be running, so count with another source
+        fetches = new AtomicInteger();
+        fetcher = ParallelPageFetcher.ofPageSource(totalUnaware(range(95), fetches), 3);
+        ParallelPageIterator<Integer> pages = fetcher.fetchPages(Paginations.ofOffsetAndLimit(20, 10), 40);
+        assertEquals(20, pages.next().getPagination().getOffset());
+        assertEquals(30, pages.next().getPagination().getOffset());
+        assertFalse(pages.hasNext());
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    public void testRetriesFailedPage() {
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(100));
+        final ConcurrentMap<Pagination, Boolean> failedOnce = new ConcurrentHashMap<>();
+        PageSource<Integer> flaky = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                if (failedOnce.putIfAbsent(pagination, Boolean.TRUE) == null) {
+                    throw new PageFetchException("Timed out");
+                }
+                return list.fetch(pagination);
+            }
+        };
+        PageSource<Integer> broken = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                throw new PageFetchException("Not available");
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertEquals(range(100), ParallelPageFetcher.ofPageSource(flaky, 2, 2, executor)
+                    .stream(Paginations.fromStartWithLimit(10)).collect(Collectors.toList()));
+
+            try {
+                ParallelPageFetcher.ofPageSource(broken, 2, 3, executor).fetchPages(Paginations.fromStartWithLimit(10)).next();
+                fail("Fetch failure should be propagated after the last attempt");
+            } catch (PageFetchException ex) {
+                assertEquals("Not available", ex.getMessage());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRetriesBackOffAndSkipNonRetryableFailures() {
+        final List<Long> attempts = new CopyOnWriteArrayList<>();
+        PageSource<Integer> broken = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                attempts.add(System.nanoTime());
+                throw new PageFetchException("Rate limited");
+            }
+        };
+        final AtomicInteger invalidAttempts = new AtomicInteger();
+        PageSource<Integer> invalid = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                invalidAttempts.incrementAndGet();
+                throw new IllegalArgumentException("Unknown sort key");
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            try {
+                ParallelPageFetcher.ofPageSource(broken, 2, 3, 20, TimeUnit.MILLISECONDS, executor)
+                        .fetchPages(Paginations.fromStartWithLimit(10)).next();
+                fail("Fetch failure should be propagated after the last attempt");
+            } catch (PageFetchException ex) {
+                assertEquals("Rate limited", ex.getMessage());
+            }
+            assertEquals(3, attempts.size());
+            // Delay doubles between attempts
+            assertTrue(attempts.get(1) - attempts.get(0) >= TimeUnit.MILLISECONDS.toNanos(20));
+            assertTrue(attempts.get(2) - attempts.get(1) >= TimeUnit.MILLISECONDS.toNanos(40));
+
+            try {
+                ParallelPageFetcher.ofPageSource(invalid, 2, 3, 20, TimeUnit.MILLISECONDS, executor)
+                        .fetchPages(Paginations.fromStartWithLimit(10)).next();
+                fail("Non-retryable failure should be propagated");
+            } catch (IllegalArgumentException ex) {
+                assertEquals("Unknown sort key", ex.getMessage());
+            }
+            assertEquals(1, invalidAttempts.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailedPageStopsIteration() {
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(50));
+        PageSource<Integer> failingSecond = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                if (pagination.getOffset() == 10) {
+                    throw new PageFetchException("Page 2 is not available");
+                }
+                return list.fetch(pagination);
+            }
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ParallelPageIterator<Integer> pages = ParallelPageFetcher.ofPageSource(failingSecond, 4, 1, executor)
+                    .fetchPages(Paginations.fromStartWithLimit(10), 50);
+            assertEquals(range(10), pages.next().getPage());
+            for (int i = 0; i < 2; i++) {
+                try {
+                    pages.hasNext();
+                    fail("Failed page should stop iteration instead of being skipped");
+                } catch (PageFetchException ex) {
+                    assertEquals("Page 2 is not available", ex.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClosingCancelsRemainingPages() {
+        final AtomicInteger fetches = new AtomicInteger();
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(10000));
+        PageSource<Integer> counting = new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                fetches.incrementAndGet();
+                return list.fetch(pagination);
+            }
+        };
+
+        List<Integer> firstElements = ParallelPageFetcher.ofPageSource(counting, 4)
+                .stream(Paginations.fromStartWithLimit(10)).limit(15).collect(Collectors.toList());
+
+        assertEquals(range(15), firstElements);
+        assertTrue(fetches.get() <= 2 + 4);
+    }
+
+    private static PageSource<Integer> totalUnaware(List<Integer> values, final AtomicInteger fetches) {
+        final PageSource<Integer> list = Paginations.ofListPageSource(values);
+        return new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                fetches.incrementAndGet();
+                return Paginations.ofResponsePage(list.fetch(pagination).getPage(), pagination);
+            }
+        };
+    }
+}
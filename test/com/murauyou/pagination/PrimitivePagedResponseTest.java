@@ -0,0 +1,99 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.nio.IntBuffer;
+import java.util.PrimitiveIterator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PrimitivePagedResponseTest {
+
+    @Test
+    public void testIntPagedResponse() {
+        int[] ids = {40, 30, 20, 10, 80, 70, 60, 50, 90};
+
+        IntResponsePage responsePage = Paginations.ofIntResponsePage(ids, Paginations.ofOffsetAndLimit(15, 7));
+
+        assertEquals(7, responsePage.size()); // Response page gets cut off
+        assertFalse(responsePage.isEmpty());
+        assertTrue(responsePage.contains(70));
+        assertFalse(responsePage.contains(90));
+        assertEquals(40, responsePage.get(15));
+        assertEquals(60, responsePage.get(21));
+        assertEquals(18, responsePage.indexOf(10));
+        assertEquals(-1, responsePage.indexOf(90));
+        assertEquals(16, responsePage.lastIndexOf(30));
+        assertEquals(310, responsePage.stream().sum());
+
+        PrimitiveIterator.OfInt iterator = responsePage.iterator();
+        assertEquals(40, iterator.nextInt());
+        assertEquals(30, iterator.nextInt());
+
+        // Sub list is indexed from 0 as lists are, sub page keeps element indexes of the page
+        IntBuffer subList = responsePage.subList(16, 19);
+        assertEquals(3, subList.remaining());
+        assertEquals(30, subList.get(0));
+        assertEquals(10, subList.get(2));
+        assertTrue(subList.isReadOnly());
+
+        IntResponsePage subPage = responsePage.subPage(16, 19);
+        assertArrayEquals(new int[]{30, 20, 10}, subPage.toArray());
+        assertEquals(20, subPage.get(17));
+        assertEquals(16, subPage.getPagination().getOffset());
+        assertEquals(18, subPage.indexOf(10));
+
+        try {
+            responsePage.subList(14, 16);
+            fail("Too low for offset of 15");
+        } catch (IndexOutOfBoundsException ex) {
+            // Not tracked
+        }
+
+        try {
+            responsePage.get(14);
+            fail("Too low for offset of 15");
+        } catch (IndexOutOfBoundsException ex) {
+            // Not tracked
+        }
+
+        try {
+            responsePage.get(22);
+            fail("Too high for offset of 15 and limit of 7");
+        } catch (IndexOutOfBoundsException ex) {
+            // Not tracked
+        }
+
+        // Page copy is detached from the source array, view is not
+        ids[0] = 0;
+        assertEquals(40, responsePage.get(15));
+        assertEquals(0, Paginations.ofIntResponsePageView(ids, Paginations.ofOffsetAndLimit(15, 7)).get(15));
+    }
+
+    @Test
+    public void testLongPagedResponse() {
+        long[] ids = {5_000_000_004L, 5_000_000_003L, 5_000_000_002L, 5_000_000_001L};
+
+        LongResponsePage responsePage = Paginations.ofLongResponsePage(ids, Paginations.ofOffsetAndLimit(5_000_000_000L, 3));
+
+        assertEquals(3, responsePage.size());
+        assertEquals(5_000_000_004L, responsePage.get(5_000_000_000L));
+        assertEquals(5_000_000_002L, responsePage.longIndexOf(5_000_000_002L));
+        assertEquals(-1L, responsePage.longIndexOf(5_000_000_001L));
+        assertEquals(3, responsePage.stream().count());
+        assertEquals(5_000_000_003L, responsePage.subList(5_000_000_001L, 5_000_000_002L).get(0));
+        assertArrayEquals(new long[]{5_000_000_003L}, responsePage.subPage(5_000_000_001L, 5_000_000_002L).toArray());
+        assertEquals(5_000_000_001L, responsePage.subPage(5_000_000_001L, 5_000_000_002L).longLastIndexOf(5_000_000_003L));
+
+        try {
+            responsePage.indexOf(5_000_000_003L);
+            fail("Index doesn't fit int");
+        } catch (ArithmeticException ex) {
+            // Not tracked
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ShardedPageSourceTest {
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void testMergedPages() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        List<Integer> all = new ArrayList<>();
+        ShardedPageSource<Integer> source = ShardedPageSource.ofPageSources(shards(4, 1000, all, upstream),
+                Comparator.<Integer>naturalOrder(), 16, DIRECT);
+
+        ResponsePage<Integer> page = source.fetch(Paginations.ofOffsetAndLimit(100, 20));
+        assertEquals(all.subList(100, 120), page.getPage());
+        assertEquals(Integer.valueOf(all.get(110)), page.get(110));
+
+        // Next page resumes from per-shard positions of the previous one
+        upstream.clear();
+        page = source.fetch(page.getPagination().getNext());
+        assertEquals(all.subList(120, 140), page.getPage());
+        for (Pagination pagination : upstream) {
+            assertTrue(pagination.getLongOffset() > 0);
+        }
+
+        page = source.fetch(Paginations.ofOffsetAndLimit(990, 50));
+        assertEquals(all.subList(990, 1000), page.getPage());
+        assertEquals(1000, ((TotalAwareResponsePage<Integer>) page).getTotalSize());
+        assertTrue(source.fetch(Paginations.ofOffsetAndLimit(1000, 50)).isEmpty());
+    }
+
+    @Test
+    public void testShardReadsScaleWithLimit() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        List<Integer> all = new ArrayList<>();
+        ShardedPageSource<Integer> source = ShardedPageSource.ofPageSources(shards(16, 100000, all, upstream),
+                Comparator.<Integer>naturalOrder(), 16, DIRECT);
+
+        int offset = 0;
+        for (int i = 0; i < 50; i++, offset += 50) {
+            assertEquals(all.subList(offset, offset + 50), source.fetch(Paginations.ofOffsetAndLimit(offset, 50)).getPage());
+        }
+
+        long read = 0;
+        for (Pagination pagination : upstream) {
+            read += pagination.getLimit();
+        }
+        // Sequential pages read each shard element about once instead of (offset + limit) per shard per page
+        assertTrue("Read " + read, read < 2 * offset + 16 * 32);
+    }
+
+    @Test
+    public void testEmptyShardsAndKeyset() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        List<Integer> all = new ArrayList<>();
+        List<PageSource<Integer>> shards = new ArrayList<>(shards(2, 30, all, upstream));
+        shards.add(Paginations.ofListPageSource(new ArrayList<Integer>()));
+        ShardedPageSource<Integer> source = ShardedPageSource.ofPageSources(shards, Comparator.<Integer>reverseOrder());
+
+        List<Integer> reversed = new ArrayList<>(all);
+        reversed.sort(Comparator.<Integer>reverseOrder());
+        for (PageSource<Integer> shard : shards.subList(0, 2)) {
+            ((ReversibleShard) shard).reverse();
+        }
+        assertEquals(reversed.subList(0, 30), source.fetch(Paginations.ofOffsetAndLimit(0, 100)).getPage());
+
+        try {
+            source.fetch(Paginations.keysetAfter(Arrays.asList("id"), SortDirection.ASCENDING, Arrays.<Object>asList(1), 0, 10));
+            fail("Keyset seek should not be supported");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    @Test
+    public void testFailedShardCancelsOtherFetches() {
+        List<Pagination> upstream = new CopyOnWriteArrayList<>();
+        List<PageSource<Integer>> shards = new ArrayList<>(shards(2, 100, new ArrayList<Integer>(), upstream));
+        shards.add(new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                throw new PageFetchException("Shard is down");
+            }
+        });
+        // Fetches of the other shards are held until the failed one returns
+        final List<Runnable> held = new ArrayList<>();
+        ShardedPageSource<Integer> source = ShardedPageSource.ofPageSources(shards, Comparator.<Integer>naturalOrder(), 16, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                held.add(command);
+            }
+        });
+
+        try {
+            source.fetch(Paginations.fromStartWithLimit(10));
+            fail("Shard failure should be propagated");
+        } catch (PageFetchException ex) {
+            assertEquals("Shard is down", ex.getMessage());
+        }
+
+        assertEquals(2, held.size());
+        for (Runnable command : held) {
+            command.run();
+        }
+        assertTrue(upstream.isEmpty());
+    }
+
+    /**
+     * Distributes values 0..size-1 between shards unevenly
+     */
+    private static List<PageSource<Integer>> shards(int count, int size, List<Integer> all, List<Pagination> upstream) {
+        List<List<Integer>> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < size; i++) {
+            values.get((i * 7 + i / 3) % count).add(i);
+            all.add(i);
+        }
+
+        List<PageSource<Integer>> shards = new ArrayList<>();
+        for (List<Integer> shardValues : values) {
+            shards.add(new ReversibleShard(shardValues, upstream));
+        }
+        return shards;
+    }
+
+    private static final class ReversibleShard implements PageSource<Integer> {
+        private final List<Integer> values;
+        private final List<Pagination> upstream;
+
+        private ReversibleShard(List<Integer> values, List<Pagination> upstream) {
+            this.values = values;
+            this.upstream = upstream;
+        }
+
+        private void reverse() {
+            values.sort(Comparator.<Integer>reverseOrder());
+        }
+
+        @Override
+        public ResponsePage<Integer> fetch(Pagination pagination) {
+            upstream.add(pagination);
+            return Paginations.ofListPageSource(values).fetch(pagination);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SingleFlightPageSourceTest {
+
+    @Test
+    public void testConcurrentFetchesAreCoalesced() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger fetches = new AtomicInteger();
+        final PageSource<Integer> list = Paginations.ofListPageSource(range(100));
+        final SingleFlightPageSource<Integer> source = SingleFlightPageSource.ofPageSource(new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                fetches.incrementAndGet();
+                await(release);
+                return list.fetch(pagination);
+            }
+        });
+
+        List<CompletableFuture<ResponsePage<Integer>>> pages = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            pages.add(source.fetchAsync(Paginations.ofOffsetAndLimit(10, 10)));
+        }
+        // Equal paginations join the flight
+        pages.add(source.fetchAsync(Paginations.ofPageNumberAndPageSize(2, 10)));
+        CompletableFuture<ResponsePage<Integer>> other = source.fetchAsync(Paginations.ofOffsetAndLimit(20, 10));
+        assertEquals(2, source.getInFlightCount());
+
+        // Blocking caller joins the flight as well
+        ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            Future<ResponsePage<Integer>> blocking = callers.submit(() -> source.fetch(Paginations.ofOffsetAndLimit(20, 10)));
+            awaitCallers(source, Paginations.ofOffsetAndLimit(20, 10), 2);
+            release.countDown();
+
+            ResponsePage<Integer> first = pages.get(0).get(5, TimeUnit.SECONDS);
+            for (CompletableFuture<ResponsePage<Integer>> page : pages) {
+                assertSame(first, page.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(range(100).subList(10, 20), first.getPage());
+            assertEquals(range(100).subList(20, 30), other.get(5, TimeUnit.SECONDS).getPage());
+            assertSame(other.get(), blocking.get(5, TimeUnit.SECONDS));
+            assertEquals(2, fetches.get());
+            assertEquals(0, source.getInFlightCount());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFailureIsPropagatedToAllCallers() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        SingleFlightPageSource<Integer> source = SingleFlightPageSource.ofPageSource(new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                await(release);
+                throw new PageFetchException("Database is down");
+            }
+        });
+
+        CompletableFuture<ResponsePage<Integer>> first = source.fetchAsync(Paginations.fromStartWithLimit(10));
+        CompletableFuture<ResponsePage<Integer>> second = source.fetchAsync(Paginations.fromStartWithLimit(10));
+        release.countDown();
+
+        for (CompletableFuture<ResponsePage<Integer>> caller : new CompletableFuture[]{first, second}) {
+            try {
+                PageFutures.await(caller);
+                fail("Fetch should fail");
+            } catch (PageFetchException ex) {
+                assertEquals("Database is down", ex.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testRejectedFetchLeavesRegistry() throws Exception {
+        SingleFlightPageSource<Integer> source = SingleFlightPageSource.ofPageSource("query", Paginations.ofListPageSource(range(100)), new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                throw new RejectedExecutionException("Executor is shut down");
+            }
+        });
+
+        try {
+            source.fetchAsync(Paginations.fromStartWithLimit(10));
+            fail("Fetch should be rejected");
+        } catch (RejectedExecutionException ex) {
+            // Not tracked
+        }
+        assertEquals(0, source.getInFlightCount());
+
+        // Next fetch of the page starts a new flight instead of joining the rejected one
+        assertEquals(range(10), source.fetch(Paginations.fromStartWithLimit(10)).getPage());
+    }
+
+    @Test
+    public void testCancellation() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger fetches = new AtomicInteger();
+        SingleFlightPageSource<Integer> source = SingleFlightPageSource.ofPageSource("query", new PageSource<Integer>() {
+            @Override
+            public ResponsePage<Integer> fetch(Pagination pagination) {
+                fetches.incrementAndGet();
+                await(release);
+                return Paginations.ofResponsePage(range(10), pagination);
+            }
+        }, PageExecutors.defaultExecutor());
+
+        CompletableFuture<ResponsePage<Integer>> first = source.fetchAsync(Paginations.fromStartWithLimit(10));
+        CompletableFuture<ResponsePage<Integer>> second = source.fetchAsync(Paginations.fromStartWithLimit(10));
+
+        // Cancelled caller detaches while the fetch goes on for the other one
+        first.cancel(false);
+        assertEquals(1, source.getInFlightCount());
+        second.cancel(false);
+        assertEquals(0, source.getInFlightCount());
+
+        CompletableFuture<ResponsePage<Integer>> third = source.fetchAsync(Paginations.fromStartWithLimit(10));
+        release.countDown();
+        assertEquals(range(10), third.get(5, TimeUnit.SECONDS).getPage());
+        assertTrue(second.isCancelled());
+        assertFalse(third.isCancelled());
+
+        // Other queries sharing the registry are fetched separately
+        SingleFlightPageSource<Integer> otherQuery = source.forQuery("other query", Paginations.ofListPageSource(range(5)));
+        assertEquals(range(5), otherQuery.fetch(Paginations.fromStartWithLimit(10)).getPage());
+    }
+
+    private static void awaitCallers(SingleFlightPageSource<?> source, Pagination pagination, int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (source.getCallerCount(pagination) < callers) {
+            if (System.nanoTime() - deadline > 0) {
+                fail("Callers didn't join the flight");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SortedResponsePageTest {
+    // Compares by the first element only, so equal elements are told apart by the second one
+    private static final Comparator<int[]> BY_KEY = new Comparator<int[]>() {
+        @Override
+        public int compare(int[] left, int[] right) {
+            return Integer.compare(left[0], right[0]);
+        }
+    };
+
+    @Test
+    public void testSortedPagesMatchStableSort() {
+        List<int[]> source = random(20000, 500);
+        List<int[]> sorted = new ArrayList<>(source);
+        sorted.sort(BY_KEY);
+
+        for (Pagination pagination : Arrays.asList(Paginations.ofOffsetAndLimit(0, 20), Paginations.ofOffsetAndLimit(1000, 50),
+                Paginations.ofOffsetAndLimit(19990, 50), Paginations.ofOffsetAndLimit(6000, 10000))) {
+            TotalAwareResponsePage<int[]> page = Paginations.ofSortedResponsePage(source, BY_KEY, pagination);
+            assertSamePage(sorted, pagination, page);
+            assertEquals(20000, page.getTotalSize());
+        }
+
+        assertTrue(Paginations.ofSortedResponsePage(source, BY_KEY, Paginations.ofOffsetAndLimit(20000, 10)).isEmpty());
+    }
+
+    @Test
+    public void testParallelSortedPages() {
+        List<int[]> source = random(100000, 1000);
+        List<int[]> sorted = new ArrayList<>(source);
+        sorted.sort(BY_KEY);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (Pagination pagination : Arrays.asList(Paginations.ofOffsetAndLimit(0, 20), Paginations.ofOffsetAndLimit(54321, 100),
+                    Paginations.ofOffsetAndLimit(99990, 100), Paginations.ofOffsetAndLimit(10000, 50000))) {
+                assertSamePage(sorted, pagination, Paginations.ofSortedResponsePageParallel(source, BY_KEY, pagination, pool));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testKeysetIsNotSupported() {
+        try {
+            Paginations.ofSortedResponsePage(Collections.singletonList(1), Comparator.<Integer>naturalOrder(),
+                    Paginations.keysetAfter(Arrays.asList("id"), SortDirection.ASCENDING, Arrays.<Object>asList(1), 0, 10));
+            fail("Keyset seek should not be supported");
+        } catch (IllegalArgumentException ex) {
+            // Not tracked
+        }
+    }
+
+    private static void assertSamePage(List<int[]> sorted, Pagination pagination, ResponsePage<int[]> page) {
+        int from = (int) pagination.getLongOffset();
+        List<int[]> expected = sorted.subList(from, Math.min(from + pagination.getLimit(), sorted.size()));
+        assertEquals(expected.size(), page.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(expected.get(i) == page.getPage().get(i));
+        }
+    }
+
+    private static List<int[]> random(int size, int keys) {
+        Random random = new Random(42);
+        List<int[]> source = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            source.add(new int[]{random.nextInt(keys), i});
+        }
+        return source;
+    }
+}
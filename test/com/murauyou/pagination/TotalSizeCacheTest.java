@@ -0,0 +1,142 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TotalSizeCacheTest {
+
+    @Test
+    public void testTotalSizeIsCountedOncePerMaxAge() {
+        final AtomicLong now = new AtomicLong();
+        final AtomicInteger counts = new AtomicInteger();
+        TotalSizeCache<String> cache = new TotalSizeCache<>(1000, 10, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return now.get();
+            }
+        });
+        LongSupplier counter = new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return 100 + counts.incrementAndGet();
+            }
+        };
+
+        LongSupplier totalSize = cache.totalSize("audit-log", counter);
+        assertFalse(cache.contains("audit-log"));
+        assertEquals(0, counts.get());
+
+        assertEquals(101, totalSize.getAsLong());
+        assertEquals(101, cache.totalSize("audit-log", counter).getAsLong());
+        assertTrue(cache.contains("audit-log"));
+        assertEquals(1, counts.get());
+
+        now.addAndGet(1000);
+        assertFalse(cache.contains("audit-log"));
+        assertEquals(102, totalSize.getAsLong());
+
+        cache.invalidate("audit-log");
+        assertEquals(103, totalSize.getAsLong());
+        assertEquals(3, counts.get());
+    }
+
+    @Test
+    public void testMaxEntries() {
+        TotalSizeCache<Integer> cache = new TotalSizeCache<>(1000, 2, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return 0;
+            }
+        });
+        LongSupplier counter = new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return 1;
+            }
+        };
+
+        for (int i = 0; i < 10; i++) {
+            cache.getOrCount(i, counter);
+        }
+
+        int cached = 0;
+        for (int i = 0; i < 10; i++) {
+            cached += cache.contains(i) ? 1 : 0;
+        }
+        assertEquals(2, cached);
+    }
+
+    @Test
+    public void testLeastRecentlyComputedIsEvicted() {
+        final AtomicLong now = new AtomicLong();
+        TotalSizeCache<Integer> cache = new TotalSizeCache<>(1000, 2, new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return now.get();
+            }
+        });
+        LongSupplier counter = new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                return 1;
+            }
+        };
+
+        // Keys are put in reverse of their hash order
+        for (int key : new int[] {9, 5, 1}) {
+            cache.getOrCount(key, counter);
+            now.incrementAndGet();
+        }
+
+        assertFalse(cache.contains(9));
+        assertTrue(cache.contains(5));
+        assertTrue(cache.contains(1));
+    }
+
+    @Test
+    public void testConcurrentMissesShareCount() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger counts = new AtomicInteger();
+        final TotalSizeCache<String> cache = TotalSizeCache.ofMaxAge(1, TimeUnit.MINUTES, 10);
+        final LongSupplier counter = new LongSupplier() {
+            @Override
+            public long getAsLong() {
+                counts.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return 42;
+            }
+        };
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> first = callers.submit(() -> cache.getOrCount("audit-log", counter));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Long> second = callers.submit(() -> cache.getOrCount("audit-log", counter));
+            release.countDown();
+
+            assertEquals(42L, (long) first.get(5, TimeUnit.SECONDS));
+            assertEquals(42L, (long) second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, counts.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.murauyou.pagination.PageFixtures.range;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class VersionedListTest {
+
+    @Test
+    public void testTraversalSeesSingleVersion() {
+        VersionedList<Integer> list = VersionedList.ofCollection(range(1000));
+
+        VersionedResponsePage<Integer> page = list.fetch(Paginations.fromStartWithLimit(100));
+        long version = page.getVersion();
+        List<Integer> traversed = new ArrayList<>(page.getPage());
+        while (!Paginations.isLastPage(page)) {
+            // Modifications between pages don't affect the traversal
+            list.remove(0);
+            list.add(0, -1);
+            list.add(5000);
+            page = list.fetch(page.getPagination().getNext(), version);
+            assertEquals(version, page.getVersion());
+            assertEquals(1000, page.getTotalSize());
+            traversed.addAll(page.getPage());
+        }
+        assertEquals(range(1000), traversed);
+
+        assertEquals(version + 27, list.getVersion());
+        assertEquals(1009, list.size());
+        assertEquals(Integer.valueOf(-1), list.get(0));
+        assertEquals(Integer.valueOf(5000), list.get(1008));
+        assertEquals(list.size(), list.fetch(Paginations.fromStartWithLimit(10)).getTotalSize());
+    }
+
+    @Test
+    public void testPositionalUpdates() {
+        VersionedList<Integer> list = VersionedList.empty();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int index = (i * 31) % (expected.size() + 1);
+            list.add(index, i);
+            expected.add(index, i);
+        }
+        for (int i = 0; i < 200; i++) {
+            int index = (i * 17) % expected.size();
+            assertEquals(expected.remove(index), list.remove(index));
+            assertEquals(expected.set(index / 2, -i), list.set(index / 2, -i));
+        }
+
+        assertEquals(expected, list);
+        assertEquals(expected.subList(100, 150), list.fetch(Paginations.ofOffsetAndLimit(100, 50)).getPage());
+    }
+
+    @Test
+    public void testRetainedVersions() {
+        VersionedList<Integer> list = VersionedList.ofMaxRetainedVersions(2);
+        ListSnapshot<Integer> first = list.snapshot();
+        list.add(1);
+        list.snapshot();
+        list.add(2);
+        list.snapshot();
+        list.add(3);
+
+        assertNull(list.snapshot(first.getVersion()));
+        assertEquals(1, list.snapshot(1).size());
+        assertSame(list.snapshot(3), list.snapshot());
+
+        // Snapshot referenced by the caller stays usable
+        assertEquals(0, first.fetch(Paginations.fromStartWithLimit(10)).getTotalSize());
+        try {
+            list.fetch(Paginations.fromStartWithLimit(10), first.getVersion());
+            fail("Version should not be retained");
+        } catch (IllegalStateException ex) {
+            // Not tracked
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.murauyou.pagination;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class WeightedPageSourceTest {
+
+    @Test
+    public void testPagesStayWithinBudget() {
+        List<Integer> weights = new ArrayList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 10000; i++) {
+            // Mostly small records with a heavy one now and then
+            weights.add(random.nextInt(20) == 0 ? 200 + random.nextInt(2_000_000) : 200 + random.nextInt(800));
+        }
+        WeightedPageSource<Integer> source = WeightedPageSource.ofList(weights, Integer::longValue, 1_000_000);
+
+        List<Integer> visited = new ArrayList<>();
+        long offset = 0;
+        for (Iterator<TotalAwareResponsePage<Integer>> pages = source.pages(0); pages.hasNext(); ) {
+            TotalAwareResponsePage<Integer> page = pages.next();
+            assertEquals(offset, page.getPagination().getLongOffset());
+            assertEquals(page.size(), page.getPagination().getLimit());
+            assertEquals(10000, page.getTotalSize());
+
+            long bytes = source.getWeight((int) offset, (int) offset + page.size());
+            if (page.size() > 1) {
+                assertTrue(bytes <= 1_000_000);
+            }
+            // Page is filled: the following element doesn't fit
+            if (offset + page.size() < weights.size()) {
+                assertTrue(bytes + weights.get((int) offset + page.size()) > 1_000_000);
+            }
+            visited.addAll(page.getPage());
+            offset += page.size();
+        }
+        assertEquals(weights, visited);
+    }
+
+    @Test
+    public void testPageSourceKeepsConsumersWorking() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            values.add(i % 10 == 0 ? "xxxxxxxxxxxxxxxxxxxx" : "x");
+        }
+        WeightedPageSource<String> source = WeightedPageSource.ofList(values, String::length, 25);
+
+        // Heavy element at 10 ends the page before it
+        TotalAwareResponsePage<String> page = source.fetch(Paginations.ofOffsetAndLimit(1, 50));
+        assertEquals(Paginations.ofOffsetAndLimit(1, 9), page.getPagination());
+        assertEquals(values.subList(1, 10), page.getPage());
+
+        // Limit caps element count
+        assertEquals(3, source.fetch(Paginations.ofOffsetAndLimit(1, 3)).size());
+
+        List<String> visited = new ArrayList<>();
+        Paginations.iterate(source, Paginations.fromStartWithLimit(100)).forEachRemaining(next -> visited.addAll(next.getPage()));
+        assertEquals(values, visited);
+        assertTrue(source.pageAt(100).isEmpty());
+        assertTrue(source.pageAt(1L << 31).isEmpty());
+    }
+}